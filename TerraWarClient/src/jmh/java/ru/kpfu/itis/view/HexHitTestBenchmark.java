@@ -0,0 +1,92 @@
+package ru.kpfu.itis.view;
+
+import javafx.scene.transform.Affine;
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.model.GameMap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(HexHitTestBenchmark.PROBES)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexHitTestBenchmark {
+
+    static final int PROBES = 1024;
+    private static final double SIZE = Hexagon.SIZE;
+    private static final double HEX_WIDTH = SIZE * Math.sqrt(3);
+
+    @Param({"20", "200"})
+    public int mapSize;
+
+    private GameMap gameMap;
+    private HexHitTester hitTester;
+    private HexHitTester zoomedHitTester;
+    private double[][] centers;
+    private final double[] probeX = new double[PROBES];
+    private final double[] probeY = new double[PROBES];
+
+    @Setup(Level.Trial)
+    public void buildMap() {
+        gameMap = new GameMap(mapSize, mapSize);
+        hitTester = new HexHitTester(gameMap);
+        Affine view = new Affine();
+        view.appendTranslation(-137.25, 61.5);
+        view.appendScale(1.7, 1.7);
+        zoomedHitTester = new HexHitTester(gameMap);
+        zoomedHitTester.setViewTransform(view);
+        centers = new double[mapSize * mapSize][];
+        for (int y = 0; y < mapSize; y++) {
+            for (int x = 0; x < mapSize; x++) {
+                centers[gameMap.cell(x, y)] = Hexagon.getCenterCoords(x, y);
+            }
+        }
+        Random random = new Random(1);
+        for (int i = 0; i < PROBES; i++) {
+            probeX[i] = random.nextDouble() * mapSize * HEX_WIDTH;
+            probeY[i] = random.nextDouble() * mapSize * SIZE * 1.5;
+        }
+    }
+
+    @Benchmark
+    public int analytic() {
+        int sum = 0;
+        for (int i = 0; i < PROBES; i++) {
+            sum += hitTester.cellAt(probeX[i], probeY[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int analyticWithTransform() {
+        int sum = 0;
+        for (int i = 0; i < PROBES; i++) {
+            sum += zoomedHitTester.cellAt(probeX[i], probeY[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int sum = 0;
+        for (int i = 0; i < PROBES; i++) {
+            sum += scan(probeX[i], probeY[i]);
+        }
+        return sum;
+    }
+
+    private int scan(double x, double y) {
+        for (int cell = 0; cell < centers.length; cell++) {
+            double dx = Math.abs(x - centers[cell][0]);
+            double dy = Math.abs(y - centers[cell][1]);
+            if (dx <= HEX_WIDTH / 2 && dy <= SIZE - dx / Math.sqrt(3)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,67 @@
+package ru.kpfu.itis.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.layout.StackPane;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitAnimatorBenchmark {
+
+    private static final int FRAMES_PER_MOVE_WAVE = 60;
+    private static final int MOVING_EVERY = 10;
+
+    @Param({"50", "500", "5000"})
+    public int units;
+
+    private UnitAnimator animator;
+    private StackPane[] panes;
+    private int frame;
+
+    @Setup(Level.Trial)
+    public void startAnimations() {
+        animator = new UnitAnimator(new PulseDrivenTimer());
+        panes = new StackPane[units];
+        for (int i = 0; i < units; i++) {
+            panes[i] = new StackPane();
+            animator.startBounce(i, panes[i]);
+        }
+        moveWave();
+    }
+
+    @Benchmark
+    public int frame() {
+        if (++frame % FRAMES_PER_MOVE_WAVE == 0) {
+            moveWave();
+        }
+        animator.onPulse(System.nanoTime());
+        return animator.getActiveCount();
+    }
+
+    private void moveWave() {
+        for (int i = 0; i < units; i += MOVING_EVERY) {
+            animator.move(i, panes[i], frame, i);
+        }
+    }
+
+    private static class PulseDrivenTimer extends AnimationTimer {
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void handle(long now) {
+        }
+    }
+}
@@ -6,24 +6,30 @@ import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.enums.RenderMode;
+import ru.kpfu.itis.enums.WireFormat;
+import ru.kpfu.itis.metrics.ClientMetrics;
 import ru.kpfu.itis.model.GameMap;
-import ru.kpfu.itis.model.Player;
 import ru.kpfu.itis.network.service.NetworkClient;
 import ru.kpfu.itis.network.service.OnlineGameManager;
 import ru.kpfu.itis.service.*;
-import ru.kpfu.itis.service.MapFactory;
 import ru.kpfu.itis.view.ConnectionDialog;
 import ru.kpfu.itis.network.connection.ConnectionResult;
 import ru.kpfu.itis.view.GameMapPane;
 import ru.kpfu.itis.view.WaitingScreen;
 
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class TerraWarClient extends Application {
 
+    private static final long METRICS_LOG_PERIOD_SECONDS = 30;
+
     private GameMap gameMap;
     private GameMapService gameMapService;
     private GameActionService gameActionService;
@@ -36,8 +42,15 @@ public class TerraWarClient extends Application {
     private TowerShop towerShop;
     private GameTurnManager turnManager;
     private PlayerService playerService;
+    private PlacementService placementService;
     private OnlineGameManager onlineGameManager;
     private Stage mainStage;
+    private final ClientMetrics metrics = new ClientMetrics();
+    private final ScheduledExecutorService metricsReporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Override
     public void start(Stage stage) throws Exception {
@@ -62,7 +75,8 @@ public class TerraWarClient extends Application {
         waitingStage.setScene(new Scene(waitingScreen, 400, 300));
         waitingStage.show();
 
-        NetworkClient tempNetworkClient = new NetworkClient(connectionResult.getServerHost(), connectionResult.getServerPort());
+        WireFormat wireFormat = WireFormat.fromArgs(getParameters().getRaw().toArray(new String[0]), WireFormat.BINARY);
+        NetworkClient tempNetworkClient = new NetworkClient(connectionResult.getServerHost(), connectionResult.getServerPort(), wireFormat);
         
         log.info("Пытаемся подключиться к серверу...");
         if (!tempNetworkClient.connect()) {
@@ -115,42 +129,20 @@ public class TerraWarClient extends Application {
     }
 
     private void initializeGame(ConnectionResult connectionResult, List<String> serverPlayers, NetworkClient networkClient) {
-        game = new Game();
-
-        String[] colors = {"RED", "BLUE", "YELLOW", "PINK"};
-        for (int i = 0; i < serverPlayers.size() && i < colors.length; i++) {
-            String playerName = serverPlayers.get(i);
-            Player player = new Player(i, playerName, colors[i]);
-            game.addPlayer(player);
-        }
-
-        game.startGame();
-
-        playerService = new PlayerService();
-        unitManager = new UnitManager(game, playerService);
-        unitShop = new UnitShop();
-        farmManager = new FarmManager(game, playerService);
-        farmShop = new FarmShop(farmManager);
-
-        long seed = serverPlayers.stream().sorted().mapToLong(String::hashCode).sum();
-        Random random = new Random(seed);
-        int mapId = random.nextInt(5);
-        gameMap = MapFactory.getMapById(mapId, seed);
-        gameMapService = new GameMapService(gameMap);
-
-        towerManager = new TowerManager(game, playerService, gameMapService);
-        towerShop = new TowerShop(towerManager);
-
-        turnManager = new GameTurnManager(game, unitManager, unitShop, towerManager);
-
-        gameActionService = new GameActionService(
-                gameMap,
-                gameMapService,
-                unitManager,
-                farmManager,
-                game,
-                towerManager
-        );
+        GameEngine engine = GameEngine.create(serverPlayers);
+        game = engine.getGame();
+        playerService = engine.getPlayerService();
+        unitManager = engine.getUnitManager();
+        unitShop = engine.getUnitShop();
+        farmManager = engine.getFarmManager();
+        farmShop = engine.getFarmShop();
+        gameMap = engine.getGameMap();
+        gameMapService = engine.getGameMapService();
+        towerManager = engine.getTowerManager();
+        towerShop = engine.getTowerShop();
+        turnManager = engine.getTurnManager();
+        gameActionService = engine.getGameActionService();
+        placementService = engine.getPlacementService();
 
         onlineGameManager = new OnlineGameManager(
                 connectionResult.getServerHost(),
@@ -161,7 +153,8 @@ public class TerraWarClient extends Application {
                 farmManager,
                 game,
                 playerService,
-                turnManager
+                turnManager,
+                metrics
         );
 
         int myIndexOnServer = serverPlayers.indexOf(connectionResult.getPlayerName());
@@ -170,10 +163,7 @@ public class TerraWarClient extends Application {
         }
 
         onlineGameManager.setNetworkClient(networkClient, connectionResult.getPlayerName(), myIndexOnServer);
-
-        if (myIndexOnServer == 0) {
-            onlineGameManager.sendStateUpdate();
-        }
+        RenderMode renderMode = RenderMode.fromArgs(getParameters().getRaw().toArray(new String[0]), RenderMode.NODES);
 
         Platform.runLater(() -> {
             GameMapPane gameMapPane = new GameMapPane(
@@ -189,7 +179,11 @@ public class TerraWarClient extends Application {
                     farmShop,
                     towerManager,
                     towerShop,
-                    onlineGameManager
+                    placementService,
+                    engine.getEvents(),
+                    onlineGameManager,
+                    metrics,
+                    renderMode
             );
 
             Scene scene = new Scene(gameMapPane, 1280, 860);
@@ -198,6 +192,8 @@ public class TerraWarClient extends Application {
             mainStage.setTitle("TerraWar");
             mainStage.setMaximized(true);
             mainStage.show();
+            metricsReporter.scheduleAtFixedRate(() -> Platform.runLater(metrics::logSummary),
+                    METRICS_LOG_PERIOD_SECONDS, METRICS_LOG_PERIOD_SECONDS, TimeUnit.SECONDS);
         });
     }
 
@@ -0,0 +1,15 @@
+package ru.kpfu.itis.enums;
+
+public enum RenderMode {
+    NODES,
+    CANVAS;
+
+    public static RenderMode fromArgs(String[] args, RenderMode defaultMode) {
+        for (String arg : args) {
+            if (arg.startsWith("--render=")) {
+                return RenderMode.valueOf(arg.substring("--render=".length()).toUpperCase());
+            }
+        }
+        return defaultMode;
+    }
+}
@@ -0,0 +1,93 @@
+package ru.kpfu.itis.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ClientMetrics {
+
+    private final Histogram initializeMap = new Histogram();
+    private final Histogram stateApply = new Histogram();
+    private final Histogram actionRadius = new Histogram();
+    private final Histogram receiveToRender = new Histogram();
+    private final Histogram layoutPulse = new Histogram();
+    private final Histogram frameInterval = new Histogram();
+    private long initializedNodes;
+    private long stateMessages;
+    private long renderPendingSince = -1;
+
+    public void recordInitializeMap(long nanos, int nodes) {
+        initializeMap.record(nanos);
+        initializedNodes = nodes;
+    }
+
+    public void recordStateApply(long nanos) {
+        stateApply.record(nanos);
+    }
+
+    public void recordActionRadius(long nanos) {
+        actionRadius.record(nanos);
+    }
+
+    public void recordStateReceived(long receivedAt) {
+        stateMessages++;
+        if (renderPendingSince < 0) {
+            renderPendingSince = receivedAt;
+        }
+    }
+
+    public void recordLayoutPulse(long startNanos, long endNanos) {
+        layoutPulse.record(endNanos - startNanos);
+        if (renderPendingSince >= 0) {
+            receiveToRender.record(endNanos - renderPendingSince);
+            renderPendingSince = -1;
+        }
+    }
+
+    public void recordFrame(long intervalNanos) {
+        frameInterval.record(intervalNanos);
+    }
+
+    public void logSummary() {
+        log.info("Клиент: состояний получено {}, последний initializeMap создал узлов {}",
+                stateMessages, initializedNodes);
+        logHistogram("initializeMap", initializeMap);
+        logHistogram("applyFullGameState", stateApply);
+        logHistogram("calculateActionRadius", actionRadius);
+        logHistogram("получение -> отрисовка", receiveToRender);
+        logHistogram("CSS и layout пульса", layoutPulse);
+        logHistogram("интервал кадров", frameInterval);
+        initializeMap.reset();
+        stateApply.reset();
+        actionRadius.reset();
+        receiveToRender.reset();
+        layoutPulse.reset();
+        frameInterval.reset();
+    }
+
+    public String describe() {
+        return "initializeMap: " + format(initializeMap) + ", узлов " + initializedNodes + "\n"
+                + "applyFullGameState: " + format(stateApply) + "\n"
+                + "calculateActionRadius: " + format(actionRadius) + "\n"
+                + "получение -> отрисовка: " + format(receiveToRender) + "\n"
+                + "CSS и layout пульса: " + format(layoutPulse) + "\n"
+                + "интервал кадров: " + format(frameInterval);
+    }
+
+    private void logHistogram(String name, Histogram histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        log.info("{}: {} замеров, средняя {} мкс, p50 {} мкс, p99 {} мкс, максимум {} мкс",
+                name, histogram.getCount(), histogram.meanMicros(), histogram.percentileMicros(0.5),
+                histogram.percentileMicros(0.99), histogram.maxMicros());
+    }
+
+    private String format(Histogram histogram) {
+        if (histogram.getCount() == 0) {
+            return "нет данных";
+        }
+        return String.format("n=%d ср %.2f мс p99 %.2f мс макс %.2f мс", histogram.getCount(),
+                histogram.meanMicros() / 1_000.0, histogram.percentileMicros(0.99) / 1_000.0,
+                histogram.maxMicros() / 1_000.0);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.kpfu.itis.metrics;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+public class Histogram {
+    private static final int BUCKETS = 32;
+
+    private final long[] buckets = new long[BUCKETS];
+    @Getter
+    private long count;
+    private long sumNanos;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros | 1));
+        buckets[bucket]++;
+        count++;
+        sumNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public long meanMicros() {
+        return count == 0 ? 0 : sumNanos / count / 1_000;
+    }
+
+    public long maxMicros() {
+        return maxNanos / 1_000;
+    }
+
+    public long percentileMicros(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min((2L << i) - 1, maxMicros());
+            }
+        }
+        return maxMicros();
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0);
+        count = 0;
+        sumNanos = 0;
+        maxNanos = 0;
+    }
+}
@@ -1,20 +1,26 @@
 package ru.kpfu.itis.network.service;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.enums.WireFormat;
 import ru.kpfu.itis.message.*;
+import ru.kpfu.itis.network.codec.BinaryMessageCodec;
+import ru.kpfu.itis.network.codec.JsonEnvelopeDecoder;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.io.StringReader;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -25,25 +31,40 @@ public class NetworkClient {
 
     private final String serverHost;
     private final int serverPort;
+    private final WireFormat wireFormat;
     private final Gson gson = new Gson();
+    private final BinaryMessageCodec binaryCodec = new BinaryMessageCodec();
+    private final JsonEnvelopeDecoder jsonDecoder = new JsonEnvelopeDecoder(gson, NetworkClient::dataClassOf);
     private Socket socket;
-    private PrintWriter writer;
+    private OutputStream writer;
     private BufferedReader reader;
+    private DataInputStream binaryReader;
     private Thread readerThread;
     private final AtomicBoolean connected = new AtomicBoolean(false);
     private Consumer<GameStateMessage> onStateReceived;
+    private Consumer<GameStateDeltaMessage> onDeltaReceived;
     private Consumer<MessageResponse<String>> onResponseReceived;
     
     public NetworkClient(String serverHost, int serverPort) {
+        this(serverHost, serverPort, WireFormat.BINARY);
+    }
+
+    public NetworkClient(String serverHost, int serverPort, WireFormat wireFormat) {
         this.serverHost = serverHost;
         this.serverPort = serverPort;
+        this.wireFormat = wireFormat;
     }
 
     public boolean connect() {
         try {
             socket = new Socket(serverHost, serverPort);
-            writer = new PrintWriter(socket.getOutputStream(), true);
-            reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            writer = new BufferedOutputStream(socket.getOutputStream());
+            if (wireFormat == WireFormat.BINARY) {
+                binaryReader = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                writer.write(BinaryMessageCodec.MAGIC);
+            } else {
+                reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            }
             connected.set(true);
             
             readerThread = new Thread(this::readMessages);
@@ -59,12 +80,16 @@ public class NetworkClient {
     }
 
     public void sendConnect(String nickName, int playerIndex) {
-        ConnectPlayerMessage msg = new ConnectPlayerMessage(nickName, playerIndex);
+        ConnectPlayerMessage msg = new ConnectPlayerMessage(nickName, playerIndex, ConnectPlayerMessage.PROTOCOL_VERSION);
         sendMessage("connect", msg);
     }
 
-    public void sendStateUpdate(FullGameState state) {
-        sendMessage("stateUpdate", state);
+    public void sendIntent(IntentMessage intent) {
+        sendMessage("intent", intent);
+    }
+
+    public void sendSync() {
+        sendMessage("sync", null);
     }
 
     public void sendEndTurn() {
@@ -79,8 +104,11 @@ public class NetworkClient {
     private void sendMessage(String type, Object data) {
         try {
             MessageEnvelope envelope = new MessageEnvelope(type, data);
-            String json = gson.toJson(envelope);
-            writer.println(json);
+            if (wireFormat == WireFormat.BINARY) {
+                writer.write(binaryCodec.encode(envelope));
+            } else {
+                writer.write((gson.toJson(envelope) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
             writer.flush();
         } catch (Exception e) {
             log.error("Ошибка отправки сообщения: {}", e.getMessage(), e);
@@ -90,25 +118,14 @@ public class NetworkClient {
 
     private void readMessages() {
         try {
-            String line;
-            while (connected.get() && (line = reader.readLine()) != null) {
+            while (connected.get()) {
                 try {
-                    JsonElement jsonElement = JsonParser.parseString(line);
-                    JsonObject jsonObject = jsonElement.getAsJsonObject();
-                    String type = jsonObject.has("type") ? jsonObject.get("type").getAsString() : null;
-                    JsonElement dataEl = jsonObject.get("data");
-                    if ("state".equals(type)) {
-                        GameStateMessage stateMsg = gson.fromJson(dataEl, GameStateMessage.class);
-                        if (onStateReceived != null) {
-                            onStateReceived.accept(stateMsg);
-                        }
-                    } else if ("response".equals(type)) {
-                        MessageResponse<String> response = gson.fromJson(dataEl, MessageResponse.class);
-                        if (onResponseReceived != null) {
-                            onResponseReceived.accept(response);
-                        }
+                    MessageEnvelope envelope = readEnvelope();
+                    if (envelope == null) {
+                        break;
                     }
-                } catch (Exception e) {
+                    dispatch(envelope);
+                } catch (RuntimeException e) {
                     log.error("Ошибка получения сообщения от сервера: {}", e.getMessage(), e);
                 }
             }
@@ -121,10 +138,80 @@ public class NetworkClient {
         }
     }
 
+    private MessageEnvelope readEnvelope() throws IOException {
+        if (wireFormat == WireFormat.BINARY) {
+            int length;
+            try {
+                length = readVarInt();
+            } catch (EOFException e) {
+                return null;
+            }
+            byte[] frame = new byte[length];
+            binaryReader.readFully(frame);
+            return binaryCodec.decode(frame, 0, length);
+        }
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        try {
+            MessageEnvelope envelope = jsonDecoder.decode(new StringReader(line));
+            return envelope != null ? envelope : new MessageEnvelope(null, null);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static Class<?> dataClassOf(String type) {
+        if ("state".equals(type)) {
+            return GameStateMessage.class;
+        } else if ("stateDelta".equals(type)) {
+            return GameStateDeltaMessage.class;
+        } else if ("response".equals(type)) {
+            return MessageResponse.class;
+        }
+        return null;
+    }
+
+    private int readVarInt() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = binaryReader.readUnsignedByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Некорректная длина кадра");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(MessageEnvelope envelope) {
+        String type = envelope.getType();
+        if ("state".equals(type)) {
+            if (onStateReceived != null) {
+                onStateReceived.accept((GameStateMessage) envelope.getData());
+            }
+        } else if ("stateDelta".equals(type)) {
+            if (onDeltaReceived != null) {
+                onDeltaReceived.accept((GameStateDeltaMessage) envelope.getData());
+            }
+        } else if ("response".equals(type)) {
+            if (onResponseReceived != null) {
+                onResponseReceived.accept((MessageResponse<String>) envelope.getData());
+            }
+        }
+    }
+
     public void disconnect() {
         connected.set(false);
         try {
-            reader.close();
+            if (reader != null) {
+                reader.close();
+            }
+            if (binaryReader != null) {
+                binaryReader.close();
+            }
             writer.close();
             socket.close();
         } catch (IOException e) {
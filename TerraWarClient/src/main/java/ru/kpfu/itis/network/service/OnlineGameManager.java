@@ -1,17 +1,23 @@
 package ru.kpfu.itis.network.service;
 
 import javafx.application.Platform;
+import lombok.extern.slf4j.Slf4j;
 import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.StateDelta;
+import ru.kpfu.itis.dto.StateDeltas;
+import ru.kpfu.itis.message.GameStateDeltaMessage;
 import ru.kpfu.itis.message.GameStateMessage;
+import ru.kpfu.itis.message.IntentMessage;
 import ru.kpfu.itis.message.MessageResponse;
+import ru.kpfu.itis.metrics.ClientMetrics;
 import ru.kpfu.itis.model.GameMap;
 import ru.kpfu.itis.model.Player;
 import ru.kpfu.itis.service.*;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
+@Slf4j
 public class OnlineGameManager {
 
     private NetworkClient networkClient;
@@ -22,11 +28,14 @@ public class OnlineGameManager {
     private final Game game;
     private final PlayerService playerService;
     private final GameTurnManager turnManager;
+    private final ClientMetrics metrics;
     private String myNickName;
     private int myPlayerIndex;
     private boolean isMyTurn = false;
     private int lastServerTurn = -1;
     private List<String> serverPlayers;
+    private FullGameState serverState;
+    private long serverVersion = -1;
     private Consumer<String> onErrorCallback;
     private Runnable onStateUpdatedCallback;
     
@@ -39,7 +48,8 @@ public class OnlineGameManager {
             FarmManager farmManager,
             Game game,
             PlayerService playerService,
-            GameTurnManager turnManager) {
+            GameTurnManager turnManager,
+            ClientMetrics metrics) {
         
         this.gameMap = gameMap;
         this.unitManager = unitManager;
@@ -48,6 +58,7 @@ public class OnlineGameManager {
         this.game = game;
         this.playerService = playerService;
         this.turnManager = turnManager;
+        this.metrics = metrics;
         
         this.networkClient = new NetworkClient(serverHost, serverPort);
         setupNetworkCallbacks();
@@ -62,13 +73,15 @@ public class OnlineGameManager {
 
     private void setupNetworkCallbacks() {
         networkClient.setOnStateReceived(this::handleStateMessage);
+        networkClient.setOnDeltaReceived(this::handleDeltaMessage);
         networkClient.setOnResponseReceived(this::handleResponse);
     }
 
-    public void sendStateUpdate() {
-        FullGameState state = StateConverter.toFullGameState(
-                gameMap, unitManager, towerManager, farmManager, game);
-        networkClient.sendStateUpdate(state);
+    public void sendIntent(IntentMessage intent) {
+        if (!networkClient.isConnected()) {
+            return;
+        }
+        networkClient.sendIntent(intent);
     }
 
     public void sendEndTurn() {
@@ -86,42 +99,68 @@ public class OnlineGameManager {
     }
 
     private void handleStateMessage(GameStateMessage stateMsg) {
+        long receivedAt = System.nanoTime();
         Platform.runLater(() -> {
-            serverPlayers = stateMsg.getPlayers();
-            
-            if (stateMsg.getStateSnapshot() != null) {
-                StateConverter.applyFullGameState(
-                        stateMsg.getStateSnapshot(),
-                        gameMap, unitManager, towerManager, farmManager,
-                        game, playerService, serverPlayers);
+            serverState = stateMsg.getStateSnapshot();
+            serverVersion = stateMsg.getStateVersion();
+            applyServerUpdate(stateMsg.getPlayers(), stateMsg.getCurrentTurn(), serverState, receivedAt);
+        });
+    }
+
+    private void handleDeltaMessage(GameStateDeltaMessage deltaMsg) {
+        long receivedAt = System.nanoTime();
+        Platform.runLater(() -> {
+            StateDelta delta = deltaMsg.getDelta();
+            FullGameState changedState = null;
+            if (delta != null && delta.getVersion() > serverVersion) {
+                if (serverState == null || delta.getBaseVersion() != serverVersion) {
+                    networkClient.sendSync();
+                    return;
+                }
+                StateDeltas.apply(serverState, delta);
+                serverVersion = delta.getVersion();
+                changedState = serverState;
             }
+            applyServerUpdate(deltaMsg.getPlayers(), deltaMsg.getCurrentTurn(), changedState, receivedAt);
+        });
+    }
+
+    private void applyServerUpdate(List<String> players, int serverCurrentTurn, FullGameState snapshot, long receivedAt) {
+        serverPlayers = players;
+        
+        if (snapshot != null) {
+            long applyStart = System.nanoTime();
+            StateConverter.applyFullGameState(
+                    snapshot,
+                    gameMap, unitManager, towerManager, farmManager,
+                    game, playerService, serverPlayers);
+            metrics.recordStateApply(System.nanoTime() - applyStart);
+        }
+
+        if (serverPlayers != null && !serverPlayers.isEmpty() &&
+            serverCurrentTurn >= 0 && serverCurrentTurn < serverPlayers.size()) {
+            syncLocalGameState(serverPlayers, serverCurrentTurn);
             
-            int serverCurrentTurn = stateMsg.getCurrentTurn();
-            
-            if (serverPlayers != null && !serverPlayers.isEmpty() &&
-                serverCurrentTurn >= 0 && serverCurrentTurn < serverPlayers.size()) {
-                syncLocalGameState(serverPlayers, serverCurrentTurn);
+            int myIndexOnServer = findMyPlayerIndex(serverPlayers, myNickName);
+            if (myIndexOnServer >= 0) {
+                myPlayerIndex = myIndexOnServer;
                 
-                int myIndexOnServer = findMyPlayerIndex(serverPlayers, myNickName);
-                if (myIndexOnServer >= 0) {
-                    myPlayerIndex = myIndexOnServer;
-                    
-                    isMyTurn = (serverCurrentTurn == myIndexOnServer);
-                    if (isMyTurn && serverCurrentTurn != lastServerTurn) {
-                        turnManager.startPlayerTurn();
-                    } else {
-                        turnManager.setPlayerTurnActive(false);
-                    }
-                    lastServerTurn = serverCurrentTurn;
+                isMyTurn = (serverCurrentTurn == myIndexOnServer);
+                if (isMyTurn && serverCurrentTurn != lastServerTurn) {
+                    turnManager.startPlayerTurn();
                 } else {
-                    isMyTurn = false;
                     turnManager.setPlayerTurnActive(false);
                 }
+                lastServerTurn = serverCurrentTurn;
+            } else {
+                isMyTurn = false;
+                turnManager.setPlayerTurnActive(false);
             }
-            if (onStateUpdatedCallback != null) {
-                onStateUpdatedCallback.run();
-            }
-        });
+        }
+        if (onStateUpdatedCallback != null) {
+            onStateUpdatedCallback.run();
+        }
+        metrics.recordStateReceived(receivedAt);
     }
 
     private int findMyPlayerIndex(List<String> serverPlayers, String myNickName) {
@@ -143,21 +182,7 @@ public class OnlineGameManager {
         if (serverPlayers == null || serverPlayers.isEmpty()) {
             return;
         }
-        List<Player> localPlayers = game.getPlayers();
-        localPlayers.removeIf(player -> !serverPlayers.contains(player.getName()));
-
-        List<Player> orderedPlayers = new ArrayList<>();
-        for (String serverPlayerName : serverPlayers) {
-            Player localPlayer = localPlayers.stream()
-                    .filter(p -> p.getName().equals(serverPlayerName))
-                    .findFirst()
-                    .orElse(null);
-            if (localPlayer != null) {
-                orderedPlayers.add(localPlayer);
-            }
-        }
-        localPlayers.clear();
-        localPlayers.addAll(orderedPlayers);
+        game.reorderPlayers(serverPlayers);
         if (serverCurrentTurn >= 0 && serverCurrentTurn < serverPlayers.size()) {
             String currentPlayerName = serverPlayers.get(serverCurrentTurn);
             int localIndex = -1;
@@ -201,10 +226,8 @@ public class OnlineGameManager {
         if (myNickName == null || game == null) {
             return game != null ? game.getCurrentPlayer() : null;
         }
-        return game.getPlayers().stream()
-                .filter(p -> myNickName.equals(p.getName()))
-                .findFirst()
-                .orElse(game.getCurrentPlayer());
+        Player myPlayer = game.getPlayerByName(myNickName);
+        return myPlayer != null ? myPlayer : game.getCurrentPlayer();
     }
     
     public List<String> getServerPlayers() {
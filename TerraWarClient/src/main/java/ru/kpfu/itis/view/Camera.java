@@ -0,0 +1,88 @@
+package ru.kpfu.itis.view;
+
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.Transform;
+import lombok.Getter;
+import ru.kpfu.itis.model.GameMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Camera {
+    private static final double DEFAULT_PAN_X = 450;
+    private static final double DEFAULT_PAN_Y = 120;
+    private static final double MIN_ZOOM = 0.25;
+    private static final double MAX_ZOOM = 3.0;
+
+    @Getter
+    private double panX = DEFAULT_PAN_X;
+    @Getter
+    private double panY = DEFAULT_PAN_Y;
+    @Getter
+    private double zoom = 1.0;
+    private final Affine transform = new Affine();
+    private final List<Runnable> listeners = new ArrayList<>();
+
+    public Camera() {
+        updateTransform();
+    }
+
+    public Transform getTransform() {
+        return transform;
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void panBy(double dx, double dy) {
+        if (dx == 0 && dy == 0) {
+            return;
+        }
+        panX += dx;
+        panY += dy;
+        changed();
+    }
+
+    public void zoomAt(double factor, double screenX, double screenY) {
+        double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+        if (newZoom == zoom) {
+            return;
+        }
+        panX = screenX - (screenX - panX) * newZoom / zoom;
+        panY = screenY - (screenY - panY) * newZoom / zoom;
+        zoom = newZoom;
+        changed();
+    }
+
+    public double toMapX(double screenX) {
+        return (screenX - panX) / zoom;
+    }
+
+    public double toMapY(double screenY) {
+        return (screenY - panY) / zoom;
+    }
+
+    public double toScreenX(double mapX) {
+        return mapX * zoom + panX;
+    }
+
+    public double toScreenY(double mapY) {
+        return mapY * zoom + panY;
+    }
+
+    public CellRange getVisibleRange(GameMap gameMap, double viewWidth, double viewHeight) {
+        return CellRange.covering(gameMap, toMapX(0), toMapY(0), toMapX(viewWidth), toMapY(viewHeight));
+    }
+
+    private void changed() {
+        updateTransform();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).run();
+        }
+    }
+
+    private void updateTransform() {
+        transform.setToTransform(zoom, 0, panX, 0, zoom, panY);
+    }
+}
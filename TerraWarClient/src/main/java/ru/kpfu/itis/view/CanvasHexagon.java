@@ -0,0 +1,81 @@
+package ru.kpfu.itis.view;
+
+import javafx.scene.paint.Color;
+import lombok.Getter;
+
+public class CanvasHexagon implements HexView {
+    private final CanvasMapRenderer renderer;
+    @Getter
+    private final int gridX;
+    @Getter
+    private final int gridY;
+    @Getter
+    private final int cell;
+    @Getter
+    private boolean highlighted = false;
+    @Getter
+    private boolean selected = false;
+    @Getter
+    private Color stroke = Color.TRANSPARENT;
+    @Getter
+    private double strokeWidth = 0.0;
+
+    CanvasHexagon(CanvasMapRenderer renderer, int gridX, int gridY, int cell) {
+        this.renderer = renderer;
+        this.gridX = gridX;
+        this.gridY = gridY;
+        this.cell = cell;
+    }
+
+    @Override
+    public double[] getActualCenter() {
+        return Hexagon.getCenterCoords(gridX, gridY);
+    }
+
+    @Override
+    public void setHighlighted(boolean highlighted) {
+        this.highlighted = highlighted;
+        if (highlighted) {
+            applyBorder(Color.LIMEGREEN, 2.5);
+        } else if (selected) {
+            applyBorder(Color.YELLOW, 3.0);
+        } else {
+            applyBorder(Color.TRANSPARENT, 0.0);
+        }
+    }
+
+    @Override
+    public void setSelected(boolean selected) {
+        this.selected = selected;
+        if (selected) {
+            applyBorder(Color.YELLOW, 3.0);
+        } else if (highlighted) {
+            applyBorder(Color.LIMEGREEN, 2.5);
+        } else {
+            applyBorder(Color.TRANSPARENT, 0.0);
+        }
+    }
+
+    @Override
+    public void setStroke(Color color) {
+        applyBorder(color, strokeWidth);
+    }
+
+    @Override
+    public void setStrokeWidth(double width) {
+        applyBorder(stroke, width);
+    }
+
+    public boolean hasBorder() {
+        return strokeWidth > 0 && stroke.getOpacity() > 0;
+    }
+
+    private void applyBorder(Color color, double width) {
+        if (color.equals(stroke) && width == strokeWidth) {
+            return;
+        }
+        stroke = color;
+        strokeWidth = width;
+        renderer.invalidateCell(cell);
+    }
+}
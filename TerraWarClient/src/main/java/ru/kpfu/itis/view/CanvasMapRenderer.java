@@ -0,0 +1,659 @@
+package ru.kpfu.itis.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import ru.kpfu.itis.model.Farm;
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.Player;
+import ru.kpfu.itis.model.Tower;
+import ru.kpfu.itis.model.Unit;
+import ru.kpfu.itis.service.FarmManager;
+import ru.kpfu.itis.service.Game;
+import ru.kpfu.itis.service.TowerManager;
+import ru.kpfu.itis.service.UnitManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CanvasMapRenderer implements MapView {
+    private static final double SIZE = Hexagon.SIZE;
+    private static final double HEX_WIDTH = SIZE * Math.sqrt(3);
+    private static final double ROW_STEP = SIZE * 1.5;
+    private static final double TILE_WIDTH = HexTileAtlas.TILE_WIDTH;
+    private static final double TILE_HEIGHT = HexTileAtlas.TILE_HEIGHT;
+    private static final double UNIT_IMAGE_SIZE = SIZE * 1.5;
+    private static final double TOWER_IMAGE_SIZE = SIZE * 1.4;
+    private static final double FARM_IMAGE_SIZE = SIZE * 1.2;
+    private static final double JUMP_HEIGHT = SIZE * 0.15;
+    private static final long MOVE_NANOS = 800_000_000L;
+    private static final long BOUNCE_NANOS = 800_000_000L;
+    private static final double DIRTY_TILE_SIZE = 128.0;
+    private static final Font LEVEL_FONT = Font.font("Arial", FontWeight.BOLD, 12);
+    private static final double[] CORNER_COS = new double[6];
+    private static final double[] CORNER_SIN = new double[6];
+
+    static {
+        for (int i = 0; i < 6; i++) {
+            double angle = 2 * Math.PI / 6 * (i + 0.5);
+            CORNER_COS[i] = Math.cos(angle);
+            CORNER_SIN[i] = Math.sin(angle);
+        }
+    }
+
+    private final GameMap gameMap;
+    private final Game game;
+    private final UnitManager unitManager;
+    private final FarmManager farmManager;
+    private final TowerManager towerManager;
+    private final Pane mapPane;
+    private final Camera camera;
+    private final ImageCache imageCache;
+    private final CanvasHexagon[] hexagonsByCell;
+    private final List<CanvasHexagon> materializedHexagons = new ArrayList<>();
+    private final Collection<CanvasHexagon> hexagons = Collections.unmodifiableList(materializedHexagons);
+    private PlacementHighlights placementHighlights;
+    private final HexHitTester hitTester;
+    private final Canvas terrainCanvas = new Canvas();
+    private final Canvas spriteCanvas = new Canvas();
+    private final DirtyRegion terrainDirty;
+    private final DirtyRegion spriteDirty;
+    private final Map<Integer, UnitSprite> unitSprites = new HashMap<>();
+    private final Map<Integer, Sprite> towerSprites = new HashMap<>();
+    private final Map<Integer, Sprite> farmSprites = new HashMap<>();
+    private final UnitSprite[] unitsByCell;
+    private final Sprite[] towersByCell;
+    private final Sprite[] farmsByCell;
+    private final List<UnitSprite> animatedUnits = new ArrayList<>();
+    private double visibleMinX;
+    private double visibleMinY;
+    private double visibleMaxX;
+    private double visibleMaxY;
+    private double clipMinX;
+    private double clipMinY;
+    private double clipMaxX;
+    private double clipMaxY;
+    private boolean fullRedraw;
+    private boolean running;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse(System.nanoTime());
+        }
+    };
+
+    public CanvasMapRenderer(GameMap gameMap,
+                             Game game,
+                             UnitManager unitManager,
+                             FarmManager farmManager,
+                             TowerManager towerManager,
+                             Pane mapPane,
+                             Camera camera,
+                             ImageCache imageCache) {
+        this.gameMap = gameMap;
+        this.game = game;
+        this.unitManager = unitManager;
+        this.farmManager = farmManager;
+        this.towerManager = towerManager;
+        this.mapPane = mapPane;
+        this.camera = camera;
+        this.imageCache = imageCache;
+        this.hexagonsByCell = new CanvasHexagon[gameMap.getWidth() * gameMap.getHeight()];
+        this.unitsByCell = new UnitSprite[hexagonsByCell.length];
+        this.towersByCell = new Sprite[hexagonsByCell.length];
+        this.farmsByCell = new Sprite[hexagonsByCell.length];
+        double mapWidth = gameMap.getWidth() * HEX_WIDTH + 2 * TILE_WIDTH;
+        double mapHeight = gameMap.getHeight() * ROW_STEP + 2 * TILE_HEIGHT;
+        this.terrainDirty = new DirtyRegion(-TILE_WIDTH, -TILE_HEIGHT, mapWidth, mapHeight, DIRTY_TILE_SIZE);
+        this.spriteDirty = new DirtyRegion(-TILE_WIDTH, -TILE_HEIGHT, mapWidth, mapHeight, DIRTY_TILE_SIZE);
+        this.hitTester = new HexHitTester(gameMap);
+        hitTester.setViewTransform(camera.getTransform());
+        camera.addListener(this::invalidateAll);
+
+        for (Canvas canvas : new Canvas[]{terrainCanvas, spriteCanvas}) {
+            canvas.setManaged(false);
+            canvas.widthProperty().bind(mapPane.widthProperty());
+            canvas.heightProperty().bind(mapPane.heightProperty());
+        }
+        spriteCanvas.setMouseTransparent(true);
+        mapPane.widthProperty().addListener((obs, oldValue, newValue) -> invalidateAll());
+        mapPane.heightProperty().addListener((obs, oldValue, newValue) -> invalidateAll());
+    }
+
+    @Override
+    public void initializeMap() {
+        unitSprites.clear();
+        towerSprites.clear();
+        farmSprites.clear();
+        animatedUnits.clear();
+        Arrays.fill(unitsByCell, null);
+        Arrays.fill(towersByCell, null);
+        Arrays.fill(farmsByCell, null);
+        Arrays.fill(hexagonsByCell, null);
+        materializedHexagons.clear();
+        mapPane.getChildren().setAll(terrainCanvas, spriteCanvas);
+
+        for (Unit unit : unitManager.getAllUnits()) {
+            placeUnit(unit);
+        }
+        for (Player player : game.getPlayers()) {
+            for (Farm farm : farmManager.getPlayerFarms(player.getId())) {
+                farmAdded(farm);
+            }
+            for (Tower tower : towerManager.getPlayerTowers(player.getId())) {
+                towerAdded(tower);
+            }
+        }
+
+        invalidateAll();
+    }
+
+    @Override
+    public CanvasHexagon getHexagonAt(int gridX, int gridY) {
+        return getOrCreateHexagon(gameMap.cell(gridX, gridY));
+    }
+
+    @Override
+    public CanvasHexagon getHexAtPixel(double mouseX, double mouseY) {
+        return getOrCreateHexagon(hitTester.cellAt(mouseX, mouseY));
+    }
+
+    @Override
+    public Collection<CanvasHexagon> getHexagons() {
+        return hexagons;
+    }
+
+    @Override
+    public void showPlacementHighlights(PlacementHighlights highlights) {
+        placementHighlights = highlights;
+        for (CanvasHexagon hexagon : materializedHexagons) {
+            if (hexagon.isHighlighted()) {
+                hexagon.setHighlighted(false);
+            }
+        }
+        terrainDirty.addAll();
+        ensureRunning();
+    }
+
+    @Override
+    public void refreshUnitAnimations() {
+        for (Unit unit : unitManager.getAllUnits()) {
+            UnitSprite sprite = unitSprites.get(unit.getId());
+            if (sprite != null) {
+                updateUnitBounce(unit, sprite);
+            }
+        }
+    }
+
+    @Override
+    public void ownerChanged(int cell, int previousOwnerId, int ownerId) {
+        invalidateCell(cell);
+    }
+
+    @Override
+    public void hexChanged(int cell) {
+        invalidateCell(cell);
+    }
+
+    @Override
+    public void unitAdded(Unit unit) {
+        placeUnit(unit);
+    }
+
+    @Override
+    public void unitMoved(Unit unit, int fromX, int fromY) {
+        placeUnit(unit);
+    }
+
+    @Override
+    public void unitUpdated(Unit unit) {
+        placeUnit(unit);
+    }
+
+    @Override
+    public void unitRemoved(Unit unit) {
+        removeUnitSprite(unit.getId());
+    }
+
+    @Override
+    public void towerAdded(Tower tower) {
+        placeSprite(towerSprites, towersByCell, tower.getId(), tower.getHexX(), tower.getHexY(),
+                "tower_" + tower.getLevel(), TOWER_IMAGE_SIZE);
+    }
+
+    @Override
+    public void towerRemoved(Tower tower) {
+        removeSprite(towerSprites, towersByCell, tower.getId());
+    }
+
+    @Override
+    public void farmAdded(Farm farm) {
+        placeSprite(farmSprites, farmsByCell, farm.getId(), farm.getHexX(), farm.getHexY(), "farm", FARM_IMAGE_SIZE);
+    }
+
+    @Override
+    public void farmRemoved(Farm farm) {
+        removeSprite(farmSprites, farmsByCell, farm.getId());
+    }
+
+    private CanvasHexagon getOrCreateHexagon(int cell) {
+        if (cell < 0) {
+            return null;
+        }
+        CanvasHexagon hexagon = hexagonsByCell[cell];
+        if (hexagon == null) {
+            hexagon = new CanvasHexagon(this, gameMap.cellX(cell), gameMap.cellY(cell), cell);
+            hexagonsByCell[cell] = hexagon;
+            materializedHexagons.add(hexagon);
+        }
+        return hexagon;
+    }
+
+    void invalidateCell(int cell) {
+        double x = centerX(gameMap.cellX(cell), gameMap.cellY(cell));
+        double y = centerY(gameMap.cellY(cell));
+        terrainDirty.add(x - TILE_WIDTH / 2, y - TILE_HEIGHT / 2, x + TILE_WIDTH / 2, y + TILE_HEIGHT / 2);
+        ensureRunning();
+    }
+
+    private void invalidateAll() {
+        fullRedraw = true;
+        terrainDirty.addAll();
+        spriteDirty.addAll();
+        ensureRunning();
+    }
+
+    private void placeSprite(Map<Integer, Sprite> sprites, Sprite[] spritesByCell, int id, int hexX, int hexY,
+                             String imageKey, double imageSize) {
+        removeSprite(sprites, spritesByCell, id);
+        int cell = gameMap.cell(hexX, hexY);
+        Image image = imageCache.get(imageKey);
+        if (cell < 0 || image == null) {
+            return;
+        }
+        Sprite sprite = new Sprite(image, imageSize, centerX(hexX, hexY), centerY(hexY), cell);
+        sprites.put(id, sprite);
+        spritesByCell[cell] = sprite;
+        invalidateSprite(sprite);
+    }
+
+    private void removeSprite(Map<Integer, Sprite> sprites, Sprite[] spritesByCell, int id) {
+        Sprite sprite = sprites.remove(id);
+        if (sprite == null) {
+            return;
+        }
+        if (spritesByCell[sprite.cell] == sprite) {
+            spritesByCell[sprite.cell] = null;
+        }
+        invalidateSprite(sprite);
+    }
+
+    private void placeUnit(Unit unit) {
+        int cell = gameMap.cell(unit.getHexX(), unit.getHexY());
+        if (cell < 0) {
+            removeUnitSprite(unit.getId());
+            return;
+        }
+        double targetX = centerX(unit.getHexX(), unit.getHexY());
+        double targetY = centerY(unit.getHexY());
+
+        UnitSprite sprite = unitSprites.get(unit.getId());
+        if (sprite == null) {
+            sprite = new UnitSprite(targetX, targetY, cell);
+            unitSprites.put(unit.getId(), sprite);
+        } else {
+            invalidateUnit(sprite);
+            if (Math.abs(sprite.targetX - targetX) > 0.5 || Math.abs(sprite.targetY - targetY) > 0.5) {
+                sprite.startX = sprite.x;
+                sprite.startY = sprite.y;
+                sprite.targetX = targetX;
+                sprite.targetY = targetY;
+                sprite.moveStart = System.nanoTime();
+                startAnimating(sprite);
+            }
+            if (unitsByCell[sprite.cell] == sprite) {
+                unitsByCell[sprite.cell] = null;
+            }
+            sprite.cell = cell;
+        }
+        unitsByCell[cell] = sprite;
+        sprite.level = unit.getLevel();
+        invalidateUnit(sprite);
+        updateUnitBounce(unit, sprite);
+    }
+
+    private void removeUnitSprite(int unitId) {
+        UnitSprite sprite = unitSprites.remove(unitId);
+        if (sprite != null) {
+            if (unitsByCell[sprite.cell] == sprite) {
+                unitsByCell[sprite.cell] = null;
+            }
+            stopAnimating(sprite);
+            invalidateUnit(sprite);
+        }
+    }
+
+    private void startAnimating(UnitSprite sprite) {
+        if (sprite.animationIndex < 0) {
+            sprite.animationIndex = animatedUnits.size();
+            animatedUnits.add(sprite);
+        }
+        ensureRunning();
+    }
+
+    private void stopAnimating(UnitSprite sprite) {
+        int index = sprite.animationIndex;
+        if (index < 0) {
+            return;
+        }
+        UnitSprite last = animatedUnits.remove(animatedUnits.size() - 1);
+        if (last != sprite) {
+            animatedUnits.set(index, last);
+            last.animationIndex = index;
+        }
+        sprite.animationIndex = -1;
+    }
+
+    private void updateUnitBounce(Unit unit, UnitSprite sprite) {
+        Player currentPlayer = game.getCurrentPlayer();
+        boolean isCurrentPlayersUnit = currentPlayer != null && unit.getOwnerId() == currentPlayer.getId();
+        boolean shouldBounce = isCurrentPlayersUnit && unit.canAct();
+
+        if (!shouldBounce) {
+            if (sprite.bounceStart >= 0) {
+                invalidateUnit(sprite);
+                sprite.bounceStart = -1;
+                sprite.offsetY = 0;
+                if (sprite.moveStart < 0) {
+                    stopAnimating(sprite);
+                }
+            }
+            return;
+        }
+        if (sprite.bounceStart < 0) {
+            sprite.bounceStart = System.nanoTime();
+            startAnimating(sprite);
+        }
+    }
+
+    private void onPulse(long now) {
+        visibleMinX = camera.toMapX(0);
+        visibleMinY = camera.toMapY(0);
+        visibleMaxX = camera.toMapX(terrainCanvas.getWidth());
+        visibleMaxY = camera.toMapY(terrainCanvas.getHeight());
+
+        for (int i = animatedUnits.size() - 1; i >= 0; i--) {
+            UnitSprite sprite = animatedUnits.get(i);
+            boolean wasVisible = isUnitVisible(sprite);
+            if (wasVisible) {
+                invalidateUnit(sprite);
+            }
+            if (sprite.moveStart >= 0) {
+                double progress = Math.min(1.0, (now - sprite.moveStart) / (double) MOVE_NANOS);
+                sprite.x = sprite.startX + (sprite.targetX - sprite.startX) * progress;
+                sprite.y = sprite.startY + (sprite.targetY - sprite.startY) * progress;
+                if (progress >= 1.0) {
+                    sprite.moveStart = -1;
+                }
+            }
+            if (sprite.bounceStart >= 0) {
+                double phase = ((now - sprite.bounceStart) % BOUNCE_NANOS) / (double) BOUNCE_NANOS;
+                sprite.offsetY = -JUMP_HEIGHT * (phase < 0.5 ? phase * 2 : (1 - phase) * 2);
+            } else if (sprite.moveStart < 0) {
+                stopAnimating(sprite);
+            }
+            if (wasVisible || isUnitVisible(sprite)) {
+                invalidateUnit(sprite);
+            }
+        }
+        if (fullRedraw) {
+            fullRedraw = false;
+            clearCanvas(terrainCanvas);
+            clearCanvas(spriteCanvas);
+        }
+        terrainDirty.drain(this::redrawTerrain);
+        spriteDirty.drain(this::redrawSprites);
+        if (animatedUnits.isEmpty() && terrainDirty.isEmpty() && spriteDirty.isEmpty()) {
+            stop();
+        }
+    }
+
+    private void redrawTerrain(double x0, double y0, double x1, double y1) {
+        GraphicsContext gc = terrainCanvas.getGraphicsContext2D();
+        if (!beginRedraw(gc, x0, y0, x1, y1)) {
+            return;
+        }
+        CellRange range = CellRange.covering(gameMap, clipMinX, clipMinY, clipMaxX, clipMaxY);
+        for (int row = range.getMinRow(); row <= range.getMaxRow(); row++) {
+            for (int col = range.getMinCol(); col <= range.getMaxCol(); col++) {
+                drawHexagon(gc, col, row);
+            }
+        }
+        gc.restore();
+    }
+
+    private void redrawSprites(double x0, double y0, double x1, double y1) {
+        GraphicsContext gc = spriteCanvas.getGraphicsContext2D();
+        if (!beginRedraw(gc, x0, y0, x1, y1)) {
+            return;
+        }
+        CellRange range = CellRange.covering(gameMap, clipMinX - SIZE, clipMinY - SIZE,
+                clipMaxX + SIZE, clipMaxY + SIZE + JUMP_HEIGHT);
+        drawSprites(gc, range, farmsByCell);
+        drawSprites(gc, range, towersByCell);
+        gc.setFont(LEVEL_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setLineWidth(1.0);
+        for (int row = range.getMinRow(); row <= range.getMaxRow(); row++) {
+            for (int col = range.getMinCol(); col <= range.getMaxCol(); col++) {
+                UnitSprite sprite = unitsByCell[gameMap.cell(col, row)];
+                if (sprite != null && sprite.moveStart < 0) {
+                    drawUnit(gc, sprite);
+                }
+            }
+        }
+        for (UnitSprite sprite : animatedUnits) {
+            if (sprite.moveStart >= 0) {
+                drawUnit(gc, sprite);
+            }
+        }
+        gc.restore();
+    }
+
+    private void clearCanvas(Canvas canvas) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    private boolean beginRedraw(GraphicsContext gc, double x0, double y0, double x1, double y1) {
+        clipMinX = Math.max(visibleMinX, x0);
+        clipMinY = Math.max(visibleMinY, y0);
+        clipMaxX = Math.min(visibleMaxX, x1);
+        clipMaxY = Math.min(visibleMaxY, y1);
+        if (clipMinX >= clipMaxX || clipMinY >= clipMaxY) {
+            return false;
+        }
+
+        double screenX0 = Math.floor(camera.toScreenX(clipMinX));
+        double screenY0 = Math.floor(camera.toScreenY(clipMinY));
+        double screenX1 = Math.ceil(camera.toScreenX(clipMaxX));
+        double screenY1 = Math.ceil(camera.toScreenY(clipMaxY));
+
+        gc.save();
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.beginPath();
+        gc.rect(screenX0, screenY0, screenX1 - screenX0, screenY1 - screenY0);
+        gc.clip();
+        gc.clearRect(screenX0, screenY0, screenX1 - screenX0, screenY1 - screenY0);
+        gc.setTransform(camera.getZoom(), 0, 0, camera.getZoom(), camera.getPanX(), camera.getPanY());
+        return true;
+    }
+
+    private void drawHexagon(GraphicsContext gc, int col, int row) {
+        int cell = gameMap.cell(col, row);
+        double x = centerX(col, row);
+        double y = centerY(row);
+        HexTile tile = imageCache.getHexTile(gameMap.getHexByCell(cell));
+        gc.drawImage(tile.getAtlas(), tile.getX(), tile.getY(), TILE_WIDTH, TILE_HEIGHT,
+                x - TILE_WIDTH / 2, y - TILE_HEIGHT / 2, TILE_WIDTH, TILE_HEIGHT);
+
+        CanvasHexagon hexagon = hexagonsByCell[cell];
+        if (placementHighlights != null && placementHighlights.contains(cell)) {
+            strokeBorder(gc, x, y, placementHighlights.getStroke(cell), placementHighlights.getStrokeWidth(cell));
+        } else if (hexagon != null && hexagon.hasBorder()) {
+            strokeBorder(gc, x, y, hexagon.getStroke(), hexagon.getStrokeWidth());
+        }
+    }
+
+    private void strokeBorder(GraphicsContext gc, double x, double y, Color stroke, double width) {
+        gc.setStroke(stroke);
+        gc.setLineWidth(width / 2);
+        traceHexagon(gc, x, y, SIZE - width / 4);
+        gc.stroke();
+    }
+
+    private void drawSprites(GraphicsContext gc, CellRange range, Sprite[] spritesByCell) {
+        for (int row = range.getMinRow(); row <= range.getMaxRow(); row++) {
+            for (int col = range.getMinCol(); col <= range.getMaxCol(); col++) {
+                Sprite sprite = spritesByCell[gameMap.cell(col, row)];
+                if (sprite == null) {
+                    continue;
+                }
+                double half = sprite.size / 2;
+                if (intersectsClip(sprite.x - half, sprite.y - half, sprite.x + half, sprite.y + half)) {
+                    drawFitted(gc, sprite.image, sprite.x, sprite.y, sprite.size);
+                }
+            }
+        }
+    }
+
+    private void drawUnit(GraphicsContext gc, UnitSprite sprite) {
+        double x = sprite.x;
+        double y = sprite.y + sprite.offsetY;
+        if (!intersectsClip(x - SIZE, y - SIZE, x + SIZE, y + SIZE)) {
+            return;
+        }
+        Image image = imageCache.get("unit_" + sprite.level);
+        if (image == null) {
+            return;
+        }
+        drawFitted(gc, image, x, y, UNIT_IMAGE_SIZE);
+        String levelText = String.valueOf(sprite.level);
+        gc.setFill(Color.WHITE);
+        gc.fillText(levelText, x, y);
+        gc.setStroke(Color.BLACK);
+        gc.strokeText(levelText, x, y);
+    }
+
+    private void drawFitted(GraphicsContext gc, Image image, double x, double y, double size) {
+        double scale = Math.min(size / image.getWidth(), size / image.getHeight());
+        double width = image.getWidth() * scale;
+        double height = image.getHeight() * scale;
+        gc.drawImage(image, x - width / 2, y - height / 2, width, height);
+    }
+
+    private boolean intersectsClip(double x0, double y0, double x1, double y1) {
+        return x1 > clipMinX && x0 < clipMaxX && y1 > clipMinY && y0 < clipMaxY;
+    }
+
+    private boolean isUnitVisible(UnitSprite sprite) {
+        return sprite.x + SIZE > visibleMinX && sprite.x - SIZE < visibleMaxX
+                && sprite.y + SIZE > visibleMinY && sprite.y - SIZE - JUMP_HEIGHT < visibleMaxY;
+    }
+
+    private void invalidateUnit(UnitSprite sprite) {
+        spriteDirty.add(sprite.x - SIZE, sprite.y - SIZE - JUMP_HEIGHT, sprite.x + SIZE, sprite.y + SIZE);
+        ensureRunning();
+    }
+
+    private void invalidateSprite(Sprite sprite) {
+        double half = sprite.size / 2;
+        spriteDirty.add(sprite.x - half, sprite.y - half, sprite.x + half, sprite.y + half);
+        ensureRunning();
+    }
+
+    private void ensureRunning() {
+        if (!running) {
+            running = true;
+            timer.start();
+        }
+    }
+
+    private void stop() {
+        if (running) {
+            running = false;
+            timer.stop();
+        }
+    }
+
+    private void traceHexagon(GraphicsContext gc, double x, double y, double radius) {
+        gc.beginPath();
+        gc.moveTo(x + radius * CORNER_COS[0], y + radius * CORNER_SIN[0]);
+        for (int i = 1; i < 6; i++) {
+            gc.lineTo(x + radius * CORNER_COS[i], y + radius * CORNER_SIN[i]);
+        }
+        gc.closePath();
+    }
+
+    private double centerX(int gridX, int gridY) {
+        double x = gridX * HEX_WIDTH;
+        return gridY % 2 == 1 ? x + HEX_WIDTH / 2 : x;
+    }
+
+    private double centerY(int gridY) {
+        return gridY * ROW_STEP;
+    }
+
+    private static final class Sprite {
+        private final Image image;
+        private final double size;
+        private final double x;
+        private final double y;
+        private final int cell;
+
+        private Sprite(Image image, double size, double x, double y, int cell) {
+            this.image = image;
+            this.size = size;
+            this.x = x;
+            this.y = y;
+            this.cell = cell;
+        }
+    }
+
+    private static final class UnitSprite {
+        private int level;
+        private double x;
+        private double y;
+        private double startX;
+        private double startY;
+        private double targetX;
+        private double targetY;
+        private double offsetY;
+        private long moveStart = -1;
+        private long bounceStart = -1;
+        private int cell;
+        private int animationIndex = -1;
+
+        private UnitSprite(double x, double y, int cell) {
+            this.x = x;
+            this.y = y;
+            this.targetX = x;
+            this.targetY = y;
+            this.cell = cell;
+        }
+    }
+}
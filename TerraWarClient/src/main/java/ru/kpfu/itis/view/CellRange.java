@@ -0,0 +1,39 @@
+package ru.kpfu.itis.view;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.kpfu.itis.model.GameMap;
+
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class CellRange {
+    private static final double HEX_WIDTH = Hexagon.SIZE * Math.sqrt(3);
+    private static final double ROW_STEP = Hexagon.SIZE * 1.5;
+
+    private final int minCol;
+    private final int minRow;
+    private final int maxCol;
+    private final int maxRow;
+
+    public static CellRange covering(GameMap gameMap, double x0, double y0, double x1, double y1) {
+        int minRow = Math.max(0, (int) Math.floor((y0 - Hexagon.SIZE) / ROW_STEP));
+        int maxRow = Math.min(gameMap.getHeight() - 1, (int) Math.ceil((y1 + Hexagon.SIZE) / ROW_STEP));
+        int minCol = Math.max(0, (int) Math.floor((x0 - HEX_WIDTH) / HEX_WIDTH));
+        int maxCol = Math.min(gameMap.getWidth() - 1, (int) Math.ceil(x1 / HEX_WIDTH));
+        return new CellRange(minCol, minRow, maxCol, maxRow);
+    }
+
+    public boolean isEmpty() {
+        return minCol > maxCol || minRow > maxRow;
+    }
+
+    public boolean contains(int col, int row) {
+        return col >= minCol && col <= maxCol && row >= minRow && row <= maxRow;
+    }
+
+    public int size() {
+        return isEmpty() ? 0 : (maxCol - minCol + 1) * (maxRow - minRow + 1);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.kpfu.itis.view;
+
+import lombok.Getter;
+
+import java.util.BitSet;
+
+public class DirtyRegion {
+    private final double originX;
+    private final double originY;
+    private final double tileSize;
+    @Getter
+    private final int cols;
+    @Getter
+    private final int rows;
+    private final BitSet tiles;
+    private final BitSet pending;
+
+    public DirtyRegion(double originX, double originY, double width, double height, double tileSize) {
+        this.originX = originX;
+        this.originY = originY;
+        this.tileSize = tileSize;
+        this.cols = Math.max(1, (int) Math.ceil(width / tileSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / tileSize));
+        this.tiles = new BitSet(cols * rows);
+        this.pending = new BitSet(cols * rows);
+    }
+
+    public void add(double x0, double y0, double x1, double y1) {
+        if (x0 >= x1 || y0 >= y1) {
+            return;
+        }
+        int minCol = col(x0);
+        int maxCol = col(x1);
+        for (int row = row(y0); row <= row(y1); row++) {
+            tiles.set(row * cols + minCol, row * cols + maxCol + 1);
+        }
+    }
+
+    public void addAll() {
+        tiles.set(0, cols * rows);
+    }
+
+    public boolean isEmpty() {
+        return tiles.isEmpty();
+    }
+
+    public void clear() {
+        tiles.clear();
+    }
+
+    public void drain(RectConsumer consumer) {
+        pending.clear();
+        pending.or(tiles);
+        tiles.clear();
+        for (int tile = pending.nextSetBit(0); tile >= 0; tile = pending.nextSetBit(tile + 1)) {
+            int minRow = tile / cols;
+            int minCol = tile % cols;
+            int maxCol = minCol;
+            while (maxCol + 1 < cols && pending.get(minRow * cols + maxCol + 1)) {
+                maxCol++;
+            }
+            int maxRow = minRow;
+            while (maxRow + 1 < rows && pending.nextClearBit((maxRow + 1) * cols + minCol) > (maxRow + 1) * cols + maxCol) {
+                maxRow++;
+            }
+            for (int row = minRow; row <= maxRow; row++) {
+                pending.clear(row * cols + minCol, row * cols + maxCol + 1);
+            }
+            consumer.accept(originX + minCol * tileSize, originY + minRow * tileSize,
+                    originX + (maxCol + 1) * tileSize, originY + (maxRow + 1) * tileSize);
+        }
+    }
+
+    private int col(double x) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor((x - originX) / tileSize)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - originY) / tileSize)));
+    }
+
+    public interface RectConsumer {
+        void accept(double x0, double y0, double x1, double y1);
+    }
+}
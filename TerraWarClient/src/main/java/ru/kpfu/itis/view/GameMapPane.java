@@ -7,11 +7,20 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import ru.kpfu.itis.enums.RenderMode;
+import ru.kpfu.itis.message.IntentMessage;
+import ru.kpfu.itis.metrics.ClientMetrics;
+import ru.kpfu.itis.model.GameEventBus;
 import ru.kpfu.itis.model.GameMap;
 import ru.kpfu.itis.model.Hex;
 import ru.kpfu.itis.model.Player;
@@ -20,20 +29,20 @@ import ru.kpfu.itis.network.service.OnlineGameManager;
 import ru.kpfu.itis.service.*;
 import ru.kpfu.itis.state.GameState;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class GameMapPane extends VBox {
 
     private final Game game;
     private final GameState gameState;
     private final GameActionService gameActionService;
+    private final PlayerService playerService;
     private final GameTurnManager turnManager;
     private final UnitManager unitManager;
     private final TowerManager towerManager;
     private final GameMap gameMap;
     private final Pane mapPane;
+    private final Camera camera;
     private final Label playerNameLabel;
     private final Label moneyLabel;
     private final Label incomeLabel;
@@ -42,13 +51,17 @@ public class GameMapPane extends VBox {
     private final Label towersLabel;
     private final Button endTurnButton;
     private final Button surrenderButton;
-    private final MapRenderer mapRenderer;
+    private final MapView mapRenderer;
     private final PlacementController placementController;
     private final ImageCache imageCache;
     private final OnlineGameManager onlineGameManager;
+    private final ClientMetrics metrics;
+    private final MetricsOverlay metricsOverlay;
     private boolean gameFinished = false;
     private Unit selectedUnit = null;
     private List<Hex> actionHexes = null;
+    private double dragX;
+    private double dragY;
 
     public GameMapPane(GameMap gameMap,
                        GameActionService gameActionService, PlayerService playerService,
@@ -60,31 +73,33 @@ public class GameMapPane extends VBox {
                        FarmShop farmShop,
                        TowerManager towerManager,
                        TowerShop towerShop,
-                       OnlineGameManager onlineGameManager) {
+                       PlacementService placementService,
+                       GameEventBus events,
+                       OnlineGameManager onlineGameManager,
+                       ClientMetrics metrics,
+                       RenderMode renderMode) {
         this.gameMap = gameMap;
         this.gameActionService = gameActionService;
+        this.playerService = playerService;
         this.game = game;
         this.turnManager = turnManager;
         this.unitManager = unitManager;
         this.towerManager = towerManager;
         this.onlineGameManager = onlineGameManager;
+        this.metrics = metrics;
+        this.metricsOverlay = new MetricsOverlay(metrics);
         this.gameState = new GameState();
         this.mapPane = new Pane();
+        this.camera = new Camera();
         this.imageCache = new ImageCache();
-        this.mapRenderer = new MapRenderer(
-                gameMap,
-                game,
-                unitManager,
-                farmManager,
-                towerManager,
-                mapPane,
-                imageCache
-        );
+        this.mapRenderer = renderMode == RenderMode.CANVAS
+                ? new CanvasMapRenderer(gameMap, game, unitManager, farmManager, towerManager, mapPane, camera, imageCache)
+                : new MapRenderer(gameMap, game, unitManager, farmManager, towerManager, mapPane, camera, imageCache);
+        events.subscribe(mapRenderer);
         this.placementController = new PlacementController(
                 gameMap,
                 game,
-                gameActionService,
-                gameMapService,
+                placementService,
                 unitManager,
                 unitShop,
                 farmManager,
@@ -97,11 +112,11 @@ public class GameMapPane extends VBox {
         );
         
         placementController.setCallbacks(
-                this::initializeMap,
+                this::refreshMap,
                 this::updateTurnInfo,
                 this::refreshHighlights,
                 this::showAlert,
-                this::sendStateUpdateIfOnline,
+                this::sendIntentIfOnline,
                 () -> onlineGameManager != null && onlineGameManager.isConnected() 
                         ? onlineGameManager.isMyTurn() 
                         : false
@@ -123,13 +138,13 @@ public class GameMapPane extends VBox {
         if (onlineGameManager != null) {
             onlineGameManager.setOnStateUpdated(() -> {
                 updateCurrentPlayer();
-                initializeMap();
+                refreshMap();
                 updateTurnInfo();
                 if (selectedUnit != null) {
                     Unit updatedUnit = unitManager.getUnitAt(selectedUnit.getHexX(), selectedUnit.getHexY());
                     if (updatedUnit != null && updatedUnit.getId() == selectedUnit.getId()) {
                         selectedUnit = updatedUnit;
-                        actionHexes = gameActionService.calculateActionRadius(selectedUnit);
+                        actionHexes = calculateActionRadius(selectedUnit);
                     } else {
                         selectedUnit = null;
                         actionHexes = null;
@@ -175,8 +190,22 @@ public class GameMapPane extends VBox {
 
         mapPane.setPrefSize(1100, 700);
         mapPane.setStyle("-fx-background-color: #2b2b2b;");
+        Rectangle mapClip = new Rectangle();
+        mapClip.widthProperty().bind(mapPane.widthProperty());
+        mapClip.heightProperty().bind(mapPane.heightProperty());
+        mapPane.setClip(mapClip);
+        StackPane mapArea = new StackPane(mapPane, metricsOverlay);
+        StackPane.setAlignment(metricsOverlay, Pos.TOP_LEFT);
+        StackPane.setMargin(metricsOverlay, new Insets(8));
+        VBox.setVgrow(mapArea, Priority.ALWAYS);
         this.setStyle("-fx-background-color: #2b2b2b;");
-        this.getChildren().addAll(controlPanel, mapPane);
+        this.getChildren().addAll(controlPanel, mapArea);
+        this.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.F3) {
+                metricsOverlay.toggle();
+                event.consume();
+            }
+        });
     }
 
     private VBox createPlayerInfoSection() {
@@ -329,7 +358,31 @@ public class GameMapPane extends VBox {
 
 
     private void initializeMap() {
+        long start = System.nanoTime();
         mapRenderer.initializeMap();
+        metrics.recordInitializeMap(System.nanoTime() - start, countNodes(mapPane));
+    }
+
+    private int countNodes(Parent parent) {
+        int count = 0;
+        for (Node child : parent.getChildrenUnmodifiable()) {
+            count++;
+            if (child instanceof Parent childParent) {
+                count += countNodes(childParent);
+            }
+        }
+        return count;
+    }
+
+    private List<Hex> calculateActionRadius(Unit unit) {
+        long start = System.nanoTime();
+        List<Hex> radius = gameActionService.calculateActionRadius(unit);
+        metrics.recordActionRadius(System.nanoTime() - start);
+        return radius;
+    }
+
+    private void refreshMap() {
+        mapRenderer.refreshUnitAnimations();
     }
 
     private void updateTurnInfo() {
@@ -417,11 +470,21 @@ public class GameMapPane extends VBox {
     }
 
     private void setupEventHandlers() {
+        mapPane.setOnMousePressed(event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        mapPane.setOnMouseDragged(event -> {
+            camera.panBy(event.getX() - dragX, event.getY() - dragY);
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        mapPane.setOnScroll(event -> camera.zoomAt(Math.pow(1.0015, event.getDeltaY()), event.getX(), event.getY()));
         mapPane.setOnMouseClicked(event -> {
-            if (gameFinished) {
+            if (gameFinished || !event.isStillSincePress()) {
                 return;
             }
-            TexturedHexagon clickedHex = getHexAtPixel(event.getX(), event.getY());
+            HexView clickedHex = getHexAtPixel(event.getX(), event.getY());
             if (clickedHex != null) {
                 handleHexClick(clickedHex);
             }
@@ -430,7 +493,7 @@ public class GameMapPane extends VBox {
         surrenderButton.setOnAction(event -> handleSurrender());
     }
 
-    private void handleHexClick(TexturedHexagon clickedHex) {
+    private void handleHexClick(HexView clickedHex) {
         if (gameFinished) {
             return;
         }
@@ -460,6 +523,8 @@ public class GameMapPane extends VBox {
 
         if (selectedUnit != null && actionHexes != null &&
                 gameActionService.isHexInRadius(actionHexes, clickedHex.getGridX(), clickedHex.getGridY())) {
+            int fromX = selectedUnit.getHexX();
+            int fromY = selectedUnit.getHexY();
             boolean success = gameActionService.actWithUnit(
                     selectedUnit,
                     clickedHex.getGridX(),
@@ -468,8 +533,8 @@ public class GameMapPane extends VBox {
             if (success) {
                 deselectUnit();
                 updateTurnInfo();
-                initializeMap();
-                sendStateUpdateIfOnline();
+                refreshMap();
+                sendIntentIfOnline(IntentMessage.move(fromX, fromY, clickedHex.getGridX(), clickedHex.getGridY()));
                 checkGameEndCondition();
             }
             return;
@@ -480,18 +545,18 @@ public class GameMapPane extends VBox {
 
     private void selectUnit(Unit unit) {
         selectedUnit = unit;
-        TexturedHexagon hexagon = mapRenderer.getHexagonAt(unit.getHexX(), unit.getHexY());
+        HexView hexagon = mapRenderer.getHexagonAt(unit.getHexX(), unit.getHexY());
         if (hexagon != null) {
             hexagon.setSelected(true);
         }
 
-        actionHexes = gameActionService.calculateActionRadius(unit);
+        actionHexes = calculateActionRadius(unit);
         refreshHighlights();
     }
 
     private void deselectUnit() {
         if (selectedUnit != null) {
-            TexturedHexagon hexagon = mapRenderer.getHexagonAt(selectedUnit.getHexX(), selectedUnit.getHexY());
+            HexView hexagon = mapRenderer.getHexagonAt(selectedUnit.getHexX(), selectedUnit.getHexY());
             if (hexagon != null) {
                 hexagon.setSelected(false);
             }
@@ -509,7 +574,7 @@ public class GameMapPane extends VBox {
             return;
         }
 
-        mapRenderer.getHexagons().values().forEach(hexagon -> {
+        mapRenderer.getHexagons().forEach(hexagon -> {
             Hex hexData = gameMap.getHex(hexagon.getGridX(), hexagon.getGridY());
             if (hexData != null) {
                 hexagon.setHighlighted(false);
@@ -519,13 +584,13 @@ public class GameMapPane extends VBox {
 
         if (selectedUnit != null && actionHexes != null) {
             for (Hex hex : actionHexes) {
-                TexturedHexagon hexagon = mapRenderer.getHexagonAt(hex.getX(), hex.getY());
+                HexView hexagon = mapRenderer.getHexagonAt(hex.getX(), hex.getY());
                 if (hexagon != null) {
                     hexagon.setHighlighted(true);
                 }
             }
 
-            TexturedHexagon unitHex = mapRenderer.getHexagonAt(selectedUnit.getHexX(), selectedUnit.getHexY());
+            HexView unitHex = mapRenderer.getHexagonAt(selectedUnit.getHexX(), selectedUnit.getHexY());
             if (unitHex != null) {
                 unitHex.setSelected(true);
             }
@@ -553,13 +618,11 @@ public class GameMapPane extends VBox {
             turnManager.updatePlayerMoneyForTurnEnd(currentPlayer.getId());
         }
         
-        sendStateUpdateIfOnline();
-        
         onlineGameManager.sendEndTurn();
         
         refreshHighlights();
         updateTurnInfo();
-        initializeMap();
+        refreshMap();
         checkGameEndCondition();
     }
 
@@ -589,42 +652,11 @@ public class GameMapPane extends VBox {
             return;
         }
 
-        Map<Integer, Integer> playerCells = new HashMap<>();
-
-        for (Player player : game.getPlayers()) {
-            playerCells.put(player.getId(), 0);
-        }
-
-        for (int y = 0; y < gameMap.getHeight(); y++) {
-            for (int x = 0; x < gameMap.getWidth(); x++) {
-                Hex hex = gameMap.getHex(x, y);
-                if (hex != null && hex.getOwnerId() != -1) {
-                    int ownerId = hex.getOwnerId();
-                    playerCells.put(ownerId, playerCells.get(ownerId) + 1);
-                }
-            }
-        }
-
-        int playersWithCells = 0;
-        int lastPlayerWithCellsId = -1;
-
-        for (Map.Entry<Integer, Integer> entry : playerCells.entrySet()) {
-            if (entry.getValue() > 0) {
-                playersWithCells++;
-                lastPlayerWithCellsId = entry.getKey();
-            }
-        }
-
-        if (playersWithCells == 1) {
+        Player winner = playerService.getTerritoryWinner();
+        if (winner != null) {
             gameFinished = true;
 
-            int winnerId = lastPlayerWithCellsId;
-            String winnerName = game.getPlayers().stream()
-                    .filter(player -> player.getId() == winnerId)
-                    .findFirst()
-                    .map(Player::getName)
-                    .orElse("Игрок победил");
-
+            String winnerName = winner.getName();
             Platform.runLater(() -> {
                 showAlert("Игра окончена", "Победил " + winnerName + "!");
                 Platform.exit();
@@ -632,9 +664,9 @@ public class GameMapPane extends VBox {
         }
     }
 
-    private void sendStateUpdateIfOnline() {
+    private void sendIntentIfOnline(IntentMessage intent) {
         if (onlineGameManager != null && onlineGameManager.isConnected() && onlineGameManager.isMyTurn()) {
-            onlineGameManager.sendStateUpdate();
+            onlineGameManager.sendIntent(intent);
         }
     }
 
@@ -702,7 +734,7 @@ public class GameMapPane extends VBox {
         }
     }
 
-    public TexturedHexagon getHexAtPixel(double mouseX, double mouseY) {
+    public HexView getHexAtPixel(double mouseX, double mouseY) {
         return mapRenderer.getHexAtPixel(mouseX, mouseY);
     }
 
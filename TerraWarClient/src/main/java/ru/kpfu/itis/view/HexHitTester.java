@@ -0,0 +1,60 @@
+package ru.kpfu.itis.view;
+
+import javafx.geometry.Point2D;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+import lombok.Setter;
+import ru.kpfu.itis.model.GameMap;
+
+public class HexHitTester {
+    private static final double SIZE = Hexagon.SIZE;
+    private static final double SQRT3 = Math.sqrt(3);
+
+    private final GameMap gameMap;
+    @Setter
+    private Transform viewTransform;
+
+    public HexHitTester(GameMap gameMap) {
+        this.gameMap = gameMap;
+    }
+
+    public int cellAt(double screenX, double screenY) {
+        double x = screenX;
+        double y = screenY;
+        if (viewTransform != null && !viewTransform.isIdentity()) {
+            try {
+                Point2D local = viewTransform.inverseTransform(screenX, screenY);
+                x = local.getX();
+                y = local.getY();
+            } catch (NonInvertibleTransformException e) {
+                return -1;
+            }
+        }
+        return cellAtMapPoint(x, y);
+    }
+
+    public int cellAtMapPoint(double x, double y) {
+        double q = (SQRT3 / 3 * x - y / 3) / SIZE;
+        double r = (2.0 / 3 * y) / SIZE;
+        double s = -q - r;
+
+        long roundedQ = Math.round(q);
+        long roundedR = Math.round(r);
+        long roundedS = Math.round(s);
+        double diffQ = Math.abs(roundedQ - q);
+        double diffR = Math.abs(roundedR - r);
+        double diffS = Math.abs(roundedS - s);
+        if (diffQ > diffR && diffQ > diffS) {
+            roundedQ = -roundedR - roundedS;
+        } else if (diffR > diffS) {
+            roundedR = -roundedQ - roundedS;
+        }
+
+        long row = roundedR;
+        long col = roundedQ + (roundedR - (roundedR & 1)) / 2;
+        if (col < 0 || col >= gameMap.getWidth() || row < 0 || row >= gameMap.getHeight()) {
+            return -1;
+        }
+        return gameMap.cell((int) col, (int) row);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.kpfu.itis.view;
+
+import javafx.scene.image.Image;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class HexTile {
+
+    private final Image atlas;
+    private final int slot;
+    private final double x;
+    private final double y;
+
+}
@@ -0,0 +1,108 @@
+package ru.kpfu.itis.view;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HexTileAtlas {
+    public static final int TILE_WIDTH = (int) Math.ceil(Hexagon.SIZE * Math.sqrt(3)) + 2;
+    public static final int TILE_HEIGHT = (int) Math.ceil(Hexagon.SIZE * 2) + 2;
+    private static final double TEX_WIDTH = Hexagon.SIZE * Math.sqrt(3) * 3;
+    private static final double TEX_HEIGHT = Hexagon.SIZE * 3;
+    private static final int SAMPLES = 4;
+    private static final double TINT_STRENGTH = 0.55;
+
+    private final List<WritableImage> pages = new ArrayList<>();
+    @Getter
+    private final int pageCapacity;
+    private final int columns;
+    private final int rows;
+    private final int[] pixels = new int[TILE_WIDTH * TILE_HEIGHT];
+
+    public HexTileAtlas(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.pageCapacity = columns * rows;
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    public HexTile render(int slot, Image texture, Color tint) {
+        PixelReader reader = texture != null && !texture.isError() ? texture.getPixelReader() : null;
+        double centerX = TILE_WIDTH / 2.0;
+        double centerY = TILE_HEIGHT / 2.0;
+        double halfWidth = Hexagon.SIZE * Math.sqrt(3) / 2;
+
+        for (int py = 0; py < TILE_HEIGHT; py++) {
+            for (int px = 0; px < TILE_WIDTH; px++) {
+                int covered = 0;
+                double red = 0;
+                double green = 0;
+                double blue = 0;
+                for (int sy = 0; sy < SAMPLES; sy++) {
+                    for (int sx = 0; sx < SAMPLES; sx++) {
+                        double dx = px + (sx + 0.5) / SAMPLES - centerX;
+                        double dy = py + (sy + 0.5) / SAMPLES - centerY;
+                        double absX = Math.abs(dx);
+                        if (absX > halfWidth || Math.abs(dy) > Hexagon.SIZE - absX / Math.sqrt(3)) {
+                            continue;
+                        }
+                        int argb = sample(reader, texture, dx, dy);
+                        red += (argb >> 16) & 0xFF;
+                        green += (argb >> 8) & 0xFF;
+                        blue += argb & 0xFF;
+                        covered++;
+                    }
+                }
+                if (covered == 0) {
+                    pixels[py * TILE_WIDTH + px] = 0;
+                    continue;
+                }
+                red /= covered;
+                green /= covered;
+                blue /= covered;
+                if (tint != null) {
+                    double luminance = (0.299 * red + 0.587 * green + 0.114 * blue) / 255;
+                    red = red * (1 - TINT_STRENGTH) + luminance * tint.getRed() * 255 * TINT_STRENGTH;
+                    green = green * (1 - TINT_STRENGTH) + luminance * tint.getGreen() * 255 * TINT_STRENGTH;
+                    blue = blue * (1 - TINT_STRENGTH) + luminance * tint.getBlue() * 255 * TINT_STRENGTH;
+                }
+                int alpha = covered * 255 / (SAMPLES * SAMPLES);
+                pixels[py * TILE_WIDTH + px] = alpha << 24 | (int) red << 16 | (int) green << 8 | (int) blue;
+            }
+        }
+
+        WritableImage page = page(slot / pageCapacity);
+        int x = (slot % columns) * TILE_WIDTH;
+        int y = (slot % pageCapacity / columns) * TILE_HEIGHT;
+        page.getPixelWriter().setPixels(x, y, TILE_WIDTH, TILE_HEIGHT,
+                PixelFormat.getIntArgbInstance(), pixels, 0, TILE_WIDTH);
+        return new HexTile(page, slot, x, y);
+    }
+
+    private WritableImage page(int index) {
+        while (pages.size() <= index) {
+            pages.add(new WritableImage(columns * TILE_WIDTH, rows * TILE_HEIGHT));
+        }
+        return pages.get(index);
+    }
+
+    private int sample(PixelReader reader, Image texture, double dx, double dy) {
+        if (reader == null) {
+            return 0xFFD2B48C;
+        }
+        int u = (int) ((dx / TEX_WIDTH + 0.5) * texture.getWidth());
+        int v = (int) ((dy / TEX_HEIGHT + 0.5) * texture.getHeight());
+        u = Math.max(0, Math.min((int) texture.getWidth() - 1, u));
+        v = Math.max(0, Math.min((int) texture.getHeight() - 1, v));
+        return reader.getArgb(u, v);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.kpfu.itis.view;
+
+import javafx.scene.paint.Color;
+
+public interface HexView {
+
+    int getGridX();
+
+    int getGridY();
+
+    double[] getActualCenter();
+
+    boolean isHighlighted();
+
+    void setHighlighted(boolean highlighted);
+
+    void setSelected(boolean selected);
+
+    void setStroke(Color color);
+
+    void setStrokeWidth(double width);
+}
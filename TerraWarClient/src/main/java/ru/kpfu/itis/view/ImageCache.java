@@ -1,6 +1,8 @@
 package ru.kpfu.itis.view;
 
 import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import ru.kpfu.itis.model.Hex;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -8,17 +10,66 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ImageCache {
+    private static final int ATLAS_COLUMNS = 8;
+    private static final int ATLAS_ROWS = 4;
+    private static final int SEA_SLOT = 0;
+    private static final int DESERT_SLOT = 1;
+    private static final String[] OWNER_TEXTURES = {"hex_grass_red", "hex_grass_blue", "hex_grass_yellow", "hex_grass_pink"};
+    private static final Color[] OWNER_COLORS = {Color.RED, Color.ROYALBLUE, Color.GOLD, Color.HOTPINK};
+
     private final Map<String, Image> cache = new HashMap<>();
+    private final HexTileAtlas atlas = new HexTileAtlas(ATLAS_COLUMNS, ATLAS_ROWS);
+    private final Map<Integer, HexTile> ownerTiles = new HashMap<>();
+    private final HexTile seaTile;
+    private final HexTile desertTile;
+    private int nextOwnerSlot = DESERT_SLOT + 1;
 
     public ImageCache() {
         loadImages();
         loadHexTextures();
+        seaTile = atlas.render(SEA_SLOT, cache.get("sea_texture"), null);
+        desertTile = atlas.render(DESERT_SLOT, cache.get("hex_desert"), null);
     }
 
     public Image get(String key) {
         return cache.get(key);
     }
 
+    public HexTile getHexTile(Hex hexData) {
+        if (hexData == null) {
+            return seaTile;
+        }
+        if (hexData.getOwnerId() < 0) {
+            return desertTile;
+        }
+        return getOwnerTile(hexData.getOwnerId());
+    }
+
+    private HexTile getOwnerTile(int ownerId) {
+        HexTile tile = ownerTiles.get(ownerId);
+        if (tile != null) {
+            return tile;
+        }
+
+        int slot = nextOwnerSlot++;
+        Image ownTexture = ownerId < OWNER_TEXTURES.length ? cache.get(OWNER_TEXTURES[ownerId]) : null;
+        tile = ownTexture != null
+                ? atlas.render(slot, ownTexture, null)
+                : atlas.render(slot, cache.get("hex_desert"), getOwnerColor(ownerId));
+        ownerTiles.put(ownerId, tile);
+        if (slot > 0 && slot % atlas.getPageCapacity() == 0) {
+            log.info("Атлас гексов расширен до {} страниц", atlas.getPageCount());
+        }
+        return tile;
+    }
+
+    private Color getOwnerColor(int ownerId) {
+        if (ownerId < OWNER_COLORS.length) {
+            return OWNER_COLORS[ownerId];
+        }
+        return Color.hsb((ownerId * 137.508) % 360, 0.65, 0.9);
+    }
+
     private void loadImages() {
         loadSafe("unit_1.png", "unit_1");
         loadSafe("unit_2.png", "unit_2");
@@ -29,25 +80,12 @@ public class ImageCache {
     }
 
     private void loadHexTextures() {
-        Image desertTexture = loadSafe("hex_desert.png", "hex_desert");
-        Image redTexture = loadSafe("hex_grass_red.png", "hex_grass_red");
-        Image blueTexture = loadSafe("hex_grass_blue.png", "hex_grass_blue");
-        Image yellowTexture = loadSafe("hex_grass_yellow.png", "hex_grass_yellow");
-        Image pinkTexture = loadSafe("hex_grass_pink.png", "hex_grass_pink");
+        loadSafe("hex_desert.png", "hex_desert");
+        loadSafe("hex_grass_red.png", "hex_grass_red");
+        loadSafe("hex_grass_blue.png", "hex_grass_blue");
+        loadSafe("hex_grass_yellow.png", "hex_grass_yellow");
+        loadSafe("hex_grass_pink.png", "hex_grass_pink");
         loadSafe("sea_texture.png", "sea_texture");
-
-        if (redTexture == null && desertTexture != null) {
-            cache.put("hex_grass_red", desertTexture);
-        }
-        if (blueTexture == null && desertTexture != null) {
-            cache.put("hex_grass_blue", desertTexture);
-        }
-        if (yellowTexture == null && desertTexture != null) {
-            cache.put("hex_grass_yellow", desertTexture);
-        }
-        if (pinkTexture == null && desertTexture != null) {
-            cache.put("hex_grass_pink", desertTexture);
-        }
     }
 
     private Image loadSafe(String fileName, String key) {
@@ -1,11 +1,8 @@
 package ru.kpfu.itis.view;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import javafx.scene.Node;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
@@ -14,7 +11,6 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import ru.kpfu.itis.model.Farm;
 import ru.kpfu.itis.model.GameMap;
-import ru.kpfu.itis.model.Hex;
 import ru.kpfu.itis.model.Player;
 import ru.kpfu.itis.model.Tower;
 import ru.kpfu.itis.model.Unit;
@@ -23,6 +19,8 @@ import ru.kpfu.itis.service.Game;
 import ru.kpfu.itis.service.TowerManager;
 import ru.kpfu.itis.service.UnitManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -30,17 +28,26 @@ import java.util.Map;
 import java.util.Set;
 
 
-public class MapRenderer {
+public class MapRenderer implements MapView {
     private final GameMap gameMap;
     private final Game game;
     private final UnitManager unitManager;
     private final FarmManager farmManager;
     private final TowerManager towerManager;
     private final Pane mapPane;
-    private final Map<String, TexturedHexagon> hexagons = new HashMap<>();
+    private final Camera camera;
+    private final Pane worldPane = new Pane();
+    private final Pane hexLayer = new Pane();
+    private final Pane entityLayer = new Pane();
+    private final Map<Integer, TexturedHexagon> hexagonsByCell = new HashMap<>();
     private final ImageCache imageCache;
+    private final HexHitTester hitTester;
+    private CellRange visibleRange;
+    private PlacementHighlights placementHighlights;
     private final Map<Integer, StackPane> unitPanes = new HashMap<>();
-    private final Map<Integer, Timeline> unitBounceAnimations = new HashMap<>();
+    private final Map<Integer, StackPane> towerPanes = new HashMap<>();
+    private final Map<Integer, StackPane> farmPanes = new HashMap<>();
+    private final UnitAnimator unitAnimator = new UnitAnimator();
 
     public MapRenderer(GameMap gameMap,
                        Game game,
@@ -48,6 +55,7 @@ public class MapRenderer {
                        FarmManager farmManager,
                        TowerManager towerManager,
                        Pane mapPane,
+                       Camera camera,
                        ImageCache imageCache) {
         this.gameMap = gameMap;
         this.game = game;
@@ -55,88 +63,260 @@ public class MapRenderer {
         this.farmManager = farmManager;
         this.towerManager = towerManager;
         this.mapPane = mapPane;
+        this.camera = camera;
         this.imageCache = imageCache;
+        this.hitTester = new HexHitTester(gameMap);
+        hitTester.setViewTransform(camera.getTransform());
+
+        worldPane.getChildren().addAll(hexLayer, entityLayer);
+        worldPane.getTransforms().add(camera.getTransform());
+        camera.addListener(this::updateVisibleRange);
+        mapPane.widthProperty().addListener((obs, oldValue, newValue) -> updateVisibleRange());
+        mapPane.heightProperty().addListener((obs, oldValue, newValue) -> updateVisibleRange());
     }
 
+    @Override
     public void initializeMap() {
-        for (Timeline timeline : unitBounceAnimations.values()) {
-            timeline.stop();
-        }
-        unitBounceAnimations.clear();
+        unitAnimator.clear();
 
-        for (StackPane pane : unitPanes.values()) {
-            mapPane.getChildren().remove(pane);
-        }
-        
-        mapPane.getChildren().clear();
-        hexagons.clear();
+        mapPane.getChildren().setAll(worldPane);
+        hexLayer.getChildren().clear();
+        entityLayer.getChildren().clear();
+        hexagonsByCell.clear();
         unitPanes.clear();
+        towerPanes.clear();
+        farmPanes.clear();
+        visibleRange = null;
 
-        for (int y = 0; y < gameMap.getHeight(); y++) {
-            for (int x = 0; x < gameMap.getWidth(); x++) {
-                Hex hexData = gameMap.getHex(x, y);
-
-                Image baseTexture;
-                boolean isSea = false;
-                if (hexData == null) {
-                    baseTexture = imageCache.get("sea_texture");
-                    isSea = true;
-                } else {
-                    baseTexture = getTextureForHex(hexData);
-                }
+        drawUnits();
+        drawFarms();
+        drawTowers();
+        updateVisibleRange();
+    }
 
-                if (baseTexture == null) {
-                    baseTexture = new WritableImage(1, 1);
-                }
+    @Override
+    public TexturedHexagon getHexagonAt(int gridX, int gridY) {
+        return getOrCreateHexagon(gameMap.cell(gridX, gridY));
+    }
+
+    @Override
+    public TexturedHexagon getHexAtPixel(double mouseX, double mouseY) {
+        return getOrCreateHexagon(hitTester.cellAt(mouseX, mouseY));
+    }
 
-                TexturedHexagon hexagon = new TexturedHexagon(x, y, baseTexture);
-                
-                if (isSea) {
-                    hexagon.setStroke(Color.TRANSPARENT);
-                    hexagon.setStrokeWidth(0);
+    @Override
+    public Collection<TexturedHexagon> getHexagons() {
+        return hexagonsByCell.values();
+    }
+
+    @Override
+    public void showPlacementHighlights(PlacementHighlights highlights) {
+        placementHighlights = highlights;
+        for (TexturedHexagon hexagon : hexagonsByCell.values()) {
+            if (hexagon.isHighlighted()) {
+                hexagon.setHighlighted(false);
+            }
+        }
+        if (visibleRange == null || highlights.isEmpty()) {
+            return;
+        }
+        for (int y = visibleRange.getMinRow(); y <= visibleRange.getMaxRow(); y++) {
+            for (int x = visibleRange.getMinCol(); x <= visibleRange.getMaxCol(); x++) {
+                int cell = gameMap.cell(x, y);
+                if (highlights.contains(cell)) {
+                    applyPlacementHighlight(getOrCreateHexagon(cell), cell);
                 }
+            }
+        }
+    }
 
-                String key = x + "," + y;
-                hexagons.put(key, hexagon);
-                mapPane.getChildren().add(hexagon);
+    @Override
+    public void refreshUnitAnimations() {
+        for (Unit unit : unitManager.getAllUnits()) {
+            StackPane stackPane = unitPanes.get(unit.getId());
+            if (stackPane != null) {
+                updateUnitBounceAnimation(unit, stackPane);
             }
         }
+    }
 
-        drawUnits();
-        drawFarms();
-        drawTowers();
+    @Override
+    public void ownerChanged(int cell, int previousOwnerId, int ownerId) {
+        hexChanged(cell);
     }
 
-    public TexturedHexagon getHexagonAt(int gridX, int gridY) {
-        return hexagons.get(gridKey(gridX, gridY));
+    @Override
+    public void hexChanged(int cell) {
+        TexturedHexagon hexagon = hexagonsByCell.get(cell);
+        if (hexagon != null) {
+            hexagon.setTile(imageCache.getHexTile(gameMap.getHexByCell(cell)));
+        }
     }
 
-    public TexturedHexagon getHexAtPixel(double mouseX, double mouseY) {
-        return hexagons.values().stream()
-                .filter(hexagon -> hexagon.getBoundsInParent().contains(mouseX, mouseY))
-                .findFirst()
-                .orElse(null);
+    @Override
+    public void unitAdded(Unit unit) {
+        drawUnitImageWithNumber(unit);
+    }
+
+    @Override
+    public void unitMoved(Unit unit, int fromX, int fromY) {
+        drawUnitImageWithNumber(unit);
+    }
+
+    @Override
+    public void unitUpdated(Unit unit) {
+        drawUnitImageWithNumber(unit);
+    }
+
+    @Override
+    public void unitRemoved(Unit unit) {
+        removeUnitPane(unit.getId());
+    }
+
+    @Override
+    public void towerAdded(Tower tower) {
+        removePane(towerPanes.remove(tower.getId()));
+        StackPane stackPane = drawObject(tower.getHexX(), tower.getHexY(), "tower_" + tower.getLevel(), Hexagon.SIZE * 1.4);
+        if (stackPane != null) {
+            towerPanes.put(tower.getId(), stackPane);
+        }
+    }
+
+    @Override
+    public void towerRemoved(Tower tower) {
+        removePane(towerPanes.remove(tower.getId()));
+    }
+
+    @Override
+    public void farmAdded(Farm farm) {
+        removePane(farmPanes.remove(farm.getId()));
+        StackPane stackPane = drawObject(farm.getHexX(), farm.getHexY(), "farm", Hexagon.SIZE * 1.2);
+        if (stackPane != null) {
+            farmPanes.put(farm.getId(), stackPane);
+        }
     }
 
-    public Map<String, TexturedHexagon> getHexagons() {
-        return hexagons;
+    @Override
+    public void farmRemoved(Farm farm) {
+        removePane(farmPanes.remove(farm.getId()));
     }
 
-    private Image getTextureForHex(Hex hexData) {
-        if (hexData.getOwnerId() == -1) {
-            return imageCache.get("hex_desert");
+    private TexturedHexagon getOrCreateHexagon(int cell) {
+        if (cell < 0) {
+            return null;
         }
-        return switch (hexData.getOwnerId()) {
-            case 0 -> imageCache.get("hex_grass_red");
-            case 1 -> imageCache.get("hex_grass_blue");
-            case 2 -> imageCache.get("hex_grass_yellow");
-            case 3 -> imageCache.get("hex_grass_pink");
-            default -> imageCache.get("hex_desert");
-        };
+        TexturedHexagon hexagon = hexagonsByCell.get(cell);
+        if (hexagon == null) {
+            hexagon = new TexturedHexagon(gameMap.cellX(cell), gameMap.cellY(cell),
+                    imageCache.getHexTile(gameMap.getHexByCell(cell)));
+            hexagonsByCell.put(cell, hexagon);
+        }
+        return hexagon;
     }
 
-    private String gridKey(int x, int y) {
-        return x + "," + y;
+    private boolean isPlacementHighlighted(int cell) {
+        return placementHighlights != null && placementHighlights.contains(cell);
+    }
+
+    private void applyPlacementHighlight(TexturedHexagon hexagon, int cell) {
+        hexagon.setHighlighted(true);
+        hexagon.setStroke(placementHighlights.getStroke(cell));
+        hexagon.setStrokeWidth(placementHighlights.getStrokeWidth(cell));
+    }
+
+    private void updateVisibleRange() {
+        if (mapPane.getWidth() <= 0 || mapPane.getHeight() <= 0) {
+            return;
+        }
+        CellRange range = camera.getVisibleRange(gameMap, mapPane.getWidth(), mapPane.getHeight());
+        if (range.equals(visibleRange)) {
+            return;
+        }
+        CellRange previousRange = visibleRange;
+        visibleRange = range;
+
+        Set<Node> leaving = new HashSet<>();
+        Set<Node> hidden = new HashSet<>();
+        for (Node node : hexLayer.getChildren()) {
+            TexturedHexagon hexagon = (TexturedHexagon) node;
+            if (!range.contains(hexagon.getGridX(), hexagon.getGridY())) {
+                int cell = gameMap.cell(hexagon.getGridX(), hexagon.getGridY());
+                leaving.add(hexagon);
+                updateEntityVisibility(hexagon.getGridX(), hexagon.getGridY(), hidden);
+                if (isPlacementHighlighted(cell)) {
+                    hexagon.setHighlighted(false);
+                }
+                if (!hexagon.isDecorated()) {
+                    hexagonsByCell.remove(cell);
+                }
+            }
+        }
+        List<TexturedHexagon> entering = new ArrayList<>();
+        for (int y = range.getMinRow(); y <= range.getMaxRow(); y++) {
+            for (int x = range.getMinCol(); x <= range.getMaxCol(); x++) {
+                if (previousRange == null || !previousRange.contains(x, y)) {
+                    int cell = gameMap.cell(x, y);
+                    TexturedHexagon hexagon = getOrCreateHexagon(cell);
+                    if (isPlacementHighlighted(cell)) {
+                        applyPlacementHighlight(hexagon, cell);
+                    }
+                    entering.add(hexagon);
+                    updateEntityVisibility(x, y, hidden);
+                }
+            }
+        }
+        if (!leaving.isEmpty()) {
+            hexLayer.getChildren().removeAll(leaving);
+        }
+        hexLayer.getChildren().addAll(entering);
+        if (!hidden.isEmpty()) {
+            entityLayer.getChildren().removeAll(hidden);
+        }
+        if (hexagonsByCell.size() > 2 * range.size()) {
+            hexagonsByCell.values().removeIf(hexagon ->
+                    !range.contains(hexagon.getGridX(), hexagon.getGridY()) && !hexagon.isDecorated());
+        }
+    }
+
+    private void updateEntityVisibility(int hexX, int hexY, Set<Node> hidden) {
+        Farm farm = farmManager.getFarmAt(hexX, hexY);
+        if (farm != null) {
+            updatePaneVisibility(farmPanes.get(farm.getId()), hexX, hexY, hidden);
+        }
+        Tower tower = towerManager.getTowerAt(hexX, hexY);
+        if (tower != null) {
+            updatePaneVisibility(towerPanes.get(tower.getId()), hexX, hexY, hidden);
+        }
+        Unit unit = unitManager.getUnitAt(hexX, hexY);
+        if (unit != null) {
+            updatePaneVisibility(unitPanes.get(unit.getId()), hexX, hexY, hidden);
+        }
+    }
+
+    private void updatePaneVisibility(StackPane stackPane, int hexX, int hexY, Set<Node> hidden) {
+        if (stackPane == null) {
+            return;
+        }
+        if (!visibleRange.contains(hexX, hexY)) {
+            if (stackPane.getParent() != null) {
+                hidden.add(stackPane);
+            }
+        } else if (stackPane.getParent() == null) {
+            entityLayer.getChildren().add(stackPane);
+        }
+    }
+
+    private void syncVisibility(StackPane stackPane, int hexX, int hexY) {
+        if (visibleRange == null) {
+            return;
+        }
+        if (visibleRange.contains(hexX, hexY)) {
+            if (stackPane.getParent() == null) {
+                entityLayer.getChildren().add(stackPane);
+            }
+        } else if (stackPane.getParent() != null) {
+            entityLayer.getChildren().remove(stackPane);
+        }
     }
 
     private void drawUnits() {
@@ -148,35 +328,31 @@ public class MapRenderer {
             drawUnitImageWithNumber(unit);
         }
         
-        unitPanes.entrySet().removeIf(entry -> {
-            int unitId = entry.getKey();
+        for (Integer unitId : new ArrayList<>(unitPanes.keySet())) {
             if (!currentUnitIds.contains(unitId)) {
-                mapPane.getChildren().remove(entry.getValue());
-                Timeline timeline = unitBounceAnimations.remove(unitId);
-                if (timeline != null) {
-                    timeline.stop();
-                }
-                return true;
+                removeUnitPane(unitId);
             }
-            return false;
-        });
+        }
+    }
+
+    private void removeUnitPane(int unitId) {
+        removePane(unitPanes.remove(unitId));
+        unitAnimator.cancel(unitId);
+    }
+
+    private void removePane(StackPane stackPane) {
+        if (stackPane != null) {
+            entityLayer.getChildren().remove(stackPane);
+        }
     }
 
     private void drawUnitImageWithNumber(Unit unit) {
-        TexturedHexagon hexagon = getHexagonAt(unit.getHexX(), unit.getHexY());
-        if (hexagon == null) {
-            StackPane oldPane = unitPanes.remove(unit.getId());
-            if (oldPane != null) {
-                mapPane.getChildren().remove(oldPane);
-            }
-            Timeline oldTimeline = unitBounceAnimations.remove(unit.getId());
-            if (oldTimeline != null) {
-                oldTimeline.stop();
-            }
+        if (gameMap.cell(unit.getHexX(), unit.getHexY()) < 0) {
+            removeUnitPane(unit.getId());
             return;
         }
 
-        double[] center = hexagon.getActualCenter();
+        double[] center = Hexagon.getCenterCoords(unit.getHexX(), unit.getHexY());
         double centerX = center[0];
         double centerY = center[1];
 
@@ -217,9 +393,7 @@ public class MapRenderer {
             stackPane.setTranslateY(0);
             
             unitPanes.put(unit.getId(), stackPane);
-            if (!mapPane.getChildren().contains(stackPane)) {
-                mapPane.getChildren().add(stackPane);
-            }
+            syncVisibility(stackPane, unit.getHexX(), unit.getHexY());
         } else {
             Text levelText = (Text) stackPane.getChildren().stream()
                     .filter(node -> "UNIT_LEVEL_TEXT".equals(node.getUserData()))
@@ -240,31 +414,14 @@ public class MapRenderer {
                 }
             }
             
-            if (!mapPane.getChildren().contains(stackPane)) {
-                mapPane.getChildren().add(stackPane);
-            }
+ 
+            syncVisibility(stackPane, unit.getHexX(), unit.getHexY());
             
             double currentX = stackPane.getLayoutX();
             double currentY = stackPane.getLayoutY();
             
             if (Math.abs(currentX - targetX) > 0.5 || Math.abs(currentY - targetY) > 0.5) {
-                Timeline timeline = new Timeline();
-                
-                KeyFrame startFrame = new KeyFrame(
-                    javafx.util.Duration.ZERO,
-                    new KeyValue(stackPane.layoutXProperty(), currentX),
-                    new KeyValue(stackPane.layoutYProperty(), currentY)
-                );
-                
-                KeyFrame endFrame = new KeyFrame(
-                    javafx.util.Duration.millis(800),
-                    new KeyValue(stackPane.layoutXProperty(), targetX),
-                    new KeyValue(stackPane.layoutYProperty(), targetY)
-                );
-                
-                timeline.getKeyFrames().addAll(startFrame, endFrame);
-                timeline.setCycleCount(1);
-                timeline.play();
+                unitAnimator.move(unit.getId(), stackPane, targetX, targetY);
             } else {
                 stackPane.setLayoutX(targetX);
                 stackPane.setLayoutY(targetY);
@@ -276,85 +433,41 @@ public class MapRenderer {
     }
 
     private void updateUnitBounceAnimation(Unit unit, StackPane stackPane) {
-        boolean isCurrentPlayersUnit = unit.getOwnerId() == game.getCurrentPlayer().getId();
+        Player currentPlayer = game.getCurrentPlayer();
+        boolean isCurrentPlayersUnit = currentPlayer != null && unit.getOwnerId() == currentPlayer.getId();
         boolean shouldBounce = isCurrentPlayersUnit && unit.canAct();
-        int unitId = unit.getId();
-
-        Timeline existingTimeline = unitBounceAnimations.get(unitId);
 
         if (!shouldBounce) {
-            if (existingTimeline != null) {
-                existingTimeline.stop();
-                unitBounceAnimations.remove(unitId);
-            }
+            unitAnimator.stopBounce(unit.getId());
             stackPane.setTranslateY(0);
             return;
         }
-
-        if (existingTimeline != null) {
-            if (existingTimeline.getStatus() != Timeline.Status.RUNNING) {
-                existingTimeline.play();
-            }
-            return;
-        }
-
-        double jumpHeight = Hexagon.SIZE * 0.15;
-
-        Timeline bounce = new Timeline(
-                new KeyFrame(
-                        javafx.util.Duration.ZERO,
-                        new KeyValue(stackPane.translateYProperty(), 0)
-                ),
-                new KeyFrame(
-                        javafx.util.Duration.millis(400),
-                        new KeyValue(stackPane.translateYProperty(), -jumpHeight)
-                ),
-                new KeyFrame(
-                        javafx.util.Duration.millis(800),
-                        new KeyValue(stackPane.translateYProperty(), 0)
-                )
-        );
-        bounce.setCycleCount(Timeline.INDEFINITE);
-        bounce.play();
-
-        unitBounceAnimations.put(unitId, bounce);
+        unitAnimator.startBounce(unit.getId(), stackPane);
     }
 
     private void drawFarms() {
-        removeObjectsByPrefix("FARM_STACK_");
         for (Player player : game.getPlayers()) {
             for (Farm farm : farmManager.getPlayerFarms(player.getId())) {
-                drawObject(farm.getHexX(), farm.getHexY(), "farm", "FARM_STACK_", Hexagon.SIZE * 1.2);
+                farmAdded(farm);
             }
         }
     }
 
     private void drawTowers() {
-        removeObjectsByPrefix("TOWER_STACK_");
         for (Player player : game.getPlayers()) {
             for (Tower tower : towerManager.getPlayerTowers(player.getId())) {
-                drawObject(tower.getHexX(), tower.getHexY(), "tower_" + tower.getLevel(), "TOWER_STACK_", Hexagon.SIZE * 1.4);
+                towerAdded(tower);
             }
         }
     }
 
-    private void removeObjectsByPrefix(String prefix) {
-        mapPane.getChildren().removeIf(node ->
-                node instanceof StackPane &&
-                node.getUserData() != null &&
-                ((String) node.getUserData()).startsWith(prefix)
-        );
-    }
-
-    private void drawObject(int hexX, int hexY, String imageKey, String userDataPrefix, double imageSize) {
-        TexturedHexagon hexagon = getHexagonAt(hexX, hexY);
-        if (hexagon == null) return;
+    private StackPane drawObject(int hexX, int hexY, String imageKey, double imageSize) {
+        if (gameMap.cell(hexX, hexY) < 0) return null;
 
         Image image = imageCache.get(imageKey);
-        if (image == null) return;
+        if (image == null) return null;
 
         StackPane stackPane = new StackPane();
-        stackPane.setUserData(userDataPrefix + hexX + "_" + hexY);
         stackPane.setPickOnBounds(false);
 
         ImageView imageView = new ImageView(image);
@@ -363,11 +476,12 @@ public class MapRenderer {
         imageView.setPreserveRatio(true);
         stackPane.getChildren().add(imageView);
 
-        double[] center = hexagon.getActualCenter();
+        double[] center = Hexagon.getCenterCoords(hexX, hexY);
         stackPane.setPrefSize(imageSize, imageSize);
         stackPane.setLayoutX(center[0] - imageSize / 2);
         stackPane.setLayoutY(center[1] - imageSize / 2);
 
-        mapPane.getChildren().add(stackPane);
+        syncVisibility(stackPane, hexX, hexY);
+        return stackPane;
     }
-}
\ No newline at end of file
+}
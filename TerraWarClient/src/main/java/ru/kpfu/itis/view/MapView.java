@@ -0,0 +1,20 @@
+package ru.kpfu.itis.view;
+
+import ru.kpfu.itis.model.GameEventListener;
+
+import java.util.Collection;
+
+public interface MapView extends GameEventListener {
+
+    void initializeMap();
+
+    HexView getHexagonAt(int gridX, int gridY);
+
+    HexView getHexAtPixel(double mouseX, double mouseY);
+
+    Collection<? extends HexView> getHexagons();
+
+    void showPlacementHighlights(PlacementHighlights highlights);
+
+    void refreshUnitAnimations();
+}
@@ -0,0 +1,57 @@
+package ru.kpfu.itis.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Label;
+import javafx.scene.text.Font;
+import ru.kpfu.itis.metrics.ClientMetrics;
+
+public class MetricsOverlay extends Label {
+    private static final long REFRESH_NANOS = 500_000_000L;
+
+    private final ClientMetrics metrics;
+    private long pulseStart;
+    private long lastFrame = -1;
+    private long lastRefresh;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onFrame(System.nanoTime());
+        }
+    };
+
+    public MetricsOverlay(ClientMetrics metrics) {
+        this.metrics = metrics;
+        setFont(Font.font("Monospaced", 12));
+        setStyle("-fx-text-fill: #ecf0f1; -fx-background-color: rgba(0,0,0,0.6); -fx-padding: 6px;");
+        setMouseTransparent(true);
+        setVisible(false);
+        sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                newScene.addPreLayoutPulseListener(() -> pulseStart = System.nanoTime());
+                newScene.addPostLayoutPulseListener(() -> metrics.recordLayoutPulse(pulseStart, System.nanoTime()));
+            }
+        });
+    }
+
+    public void toggle() {
+        setVisible(!isVisible());
+        if (isVisible()) {
+            lastFrame = -1;
+            setText(metrics.describe());
+            timer.start();
+        } else {
+            timer.stop();
+        }
+    }
+
+    private void onFrame(long now) {
+        if (lastFrame >= 0) {
+            metrics.recordFrame(now - lastFrame);
+        }
+        lastFrame = now;
+        if (now - lastRefresh >= REFRESH_NANOS) {
+            lastRefresh = now;
+            setText(metrics.describe());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ru.kpfu.itis.view;
 
 import javafx.scene.paint.Color;
 import ru.kpfu.itis.enums.PlacementMode;
+import ru.kpfu.itis.message.IntentMessage;
 import ru.kpfu.itis.model.Farm;
 import ru.kpfu.itis.model.GameMap;
 import ru.kpfu.itis.model.Hex;
@@ -11,51 +12,48 @@ import ru.kpfu.itis.model.Unit;
 import ru.kpfu.itis.network.service.OnlineGameManager;
 import ru.kpfu.itis.service.*;
 
-import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class PlacementController {
 
     private final GameMap gameMap;
     private final Game game;
-    private final GameActionService gameActionService;
-    private final GameMapService gameMapService;
+    private final PlacementService placementService;
     private final UnitManager unitManager;
     private final UnitShop unitShop;
     private final FarmManager farmManager;
     private final FarmShop farmShop;
     private final TowerManager towerManager;
     private final TowerShop towerShop;
-    private final MapRenderer mapRenderer;
+    private final MapView mapRenderer;
     private final ImageCache imageCache;
     private final OnlineGameManager onlineGameManager;
+    private final PlacementHighlights placementHighlights;
     private Runnable onMapRefresh;
     private Runnable onTurnInfoRefresh;
     private Runnable onHighlightsRefresh;
     private java.util.function.BiConsumer<String, String> onShowAlert;
-    private Runnable onStateUpdate;
+    private Consumer<IntentMessage> onIntent;
     private java.util.function.Supplier<Boolean> onCheckMyTurn;
     private PlacementMode placementMode = PlacementMode.NONE;
     private Integer placementLevel = null;
-    private Integer placementPrice = null;
 
     public PlacementController(GameMap gameMap,
                                Game game,
-                               GameActionService gameActionService,
-                               GameMapService gameMapService,
+                               PlacementService placementService,
                                UnitManager unitManager,
                                UnitShop unitShop,
                                FarmManager farmManager,
                                FarmShop farmShop,
                                TowerManager towerManager,
                                TowerShop towerShop,
-                               MapRenderer mapRenderer,
+                               MapView mapRenderer,
                                ImageCache imageCache,
                                OnlineGameManager onlineGameManager) {
         this.gameMap = gameMap;
         this.game = game;
-        this.gameActionService = gameActionService;
-        this.gameMapService = gameMapService;
+        this.placementService = placementService;
         this.unitManager = unitManager;
         this.unitShop = unitShop;
         this.farmManager = farmManager;
@@ -65,19 +63,20 @@ public class PlacementController {
         this.mapRenderer = mapRenderer;
         this.imageCache = imageCache;
         this.onlineGameManager = onlineGameManager;
+        this.placementHighlights = new PlacementHighlights(gameMap.getWidth() * gameMap.getHeight());
     }
 
     public void setCallbacks(Runnable onMapRefresh,
                             Runnable onTurnInfoRefresh,
                             Runnable onHighlightsRefresh,
                             java.util.function.BiConsumer<String, String> onShowAlert,
-                            Runnable onStateUpdate,
+                            Consumer<IntentMessage> onIntent,
                             java.util.function.Supplier<Boolean> onCheckMyTurn) {
         this.onMapRefresh = onMapRefresh;
         this.onTurnInfoRefresh = onTurnInfoRefresh;
         this.onHighlightsRefresh = onHighlightsRefresh;
         this.onShowAlert = onShowAlert;
-        this.onStateUpdate = onStateUpdate;
+        this.onIntent = onIntent;
         this.onCheckMyTurn = onCheckMyTurn;
     }
     
@@ -101,7 +100,7 @@ public class PlacementController {
         }
     }
 
-    public boolean handleHexClick(TexturedHexagon clickedHex) {
+    public boolean handleHexClick(HexView clickedHex) {
         if (!isMyTurn()) {
             return false;
         }
@@ -152,7 +151,7 @@ public class PlacementController {
                 }
                 return;
             }
-            enableUnitPlacementMode(selectedLevel, price);
+            enableUnitPlacementMode(selectedLevel);
         }
     }
 
@@ -185,7 +184,7 @@ public class PlacementController {
                 }
                 return;
             }
-            enableFarmPlacementMode(price);
+            enableFarmPlacementMode();
         }
     }
 
@@ -218,11 +217,11 @@ public class PlacementController {
                 }
                 return;
             }
-            enableTowerPlacementMode(selectedLevel, price);
+            enableTowerPlacementMode(selectedLevel);
         }
     }
 
-    private void enableUnitPlacementMode(int level, int price) {
+    private void enableUnitPlacementMode(int level) {
         if (placementMode == PlacementMode.FARM) {
             disableFarmPlacementMode();
         } else if (placementMode == PlacementMode.TOWER) {
@@ -231,7 +230,6 @@ public class PlacementController {
 
         placementMode = PlacementMode.UNIT;
         placementLevel = level;
-        placementPrice = price;
         highlightAvailableHexesForPlacement(this::highlightUnitPlacementHex);
         if (onShowAlert != null) {
             onShowAlert.accept("Размещение юнита", "Выберите гекс на своей территории для размещения юнита уровня " + level);
@@ -241,131 +239,65 @@ public class PlacementController {
     private void disableUnitPlacementMode() {
         placementMode = PlacementMode.NONE;
         placementLevel = null;
-        placementPrice = null;
         clearPlacementHighlights();
         if (onHighlightsRefresh != null) {
             onHighlightsRefresh.run();
         }
     }
 
-    private void handleUnitPlacement(TexturedHexagon clickedHex) {
+    private void handleUnitPlacement(HexView clickedHex) {
         Player currentPlayer = game.getCurrentPlayer();
         if (currentPlayer == null) return;
 
         int x = clickedHex.getGridX();
         int y = clickedHex.getGridY();
-        Hex hex = gameMap.getHex(x, y);
+        int level = placementLevel;
 
-        if (!canPlaceUnitOnHex(currentPlayer.getId(), x, y)) {
+        String error = placementService.placeUnit(currentPlayer, x, y, level);
+        if (error != null) {
             if (onShowAlert != null) {
-                onShowAlert.accept("Ошибка",
-                        "Можно размещать юнитов только на своей территории ИЛИ на соседних с вашей базой гексах!");
+                onShowAlert.accept("Ошибка", error);
             }
             return;
         }
 
-        if (farmManager.getFarmAt(x, y) != null) return;
-        if (towerManager.getTowerAt(x, y) != null) return;
-
-        Unit existingUnit = unitManager.getUnitAt(x, y);
-        if (existingUnit != null) {
-            if (existingUnit.getOwnerId() != currentPlayer.getId()) {
-                Unit tempUnitForCheck = new Unit(-1, currentPlayer.getId(), x, y, placementLevel);
-                if (tempUnitForCheck.canDefeat(existingUnit)) {
-                    unitManager.removeUnit(existingUnit.getId());
-                } else {
-                    if (onShowAlert != null) {
-                        onShowAlert.accept("Ошибка",
-                                "Нельзя разместить юнита уровня " + placementLevel +
-                                        " на вражеского юнита уровня " + existingUnit.getLevel() + "!");
-                    }
-                    return;
-                }
-            } else {
-                return;
-            }
-        }
-
-        boolean canActThisTurn = (hex.getOwnerId() == currentPlayer.getId());
-        Unit tempUnit = new Unit(-1, currentPlayer.getId(), x, y, placementLevel);
-        gameActionService.captureTerritory(tempUnit, hex);
-        Unit newUnit = unitShop.purchaseUnit(unitManager, currentPlayer.getId(), x, y, placementLevel);
-        newUnit.setHasActed(!canActThisTurn);
-
-        currentPlayer.setMoney(currentPlayer.getMoney() - placementPrice);
         disableUnitPlacementMode();
         if (onTurnInfoRefresh != null) onTurnInfoRefresh.run();
         if (onMapRefresh != null) onMapRefresh.run();
-        if (onStateUpdate != null) onStateUpdate.run();
+        if (onIntent != null) onIntent.accept(IntentMessage.placeUnit(x, y, level));
     }
 
-    private boolean canPlaceUnitOnHex(int playerId, int hexX, int hexY) {
-        Hex targetHex = gameMap.getHex(hexX, hexY);
-        if (targetHex == null) return false;
-        if (farmManager.getFarmAt(hexX, hexY) != null) return false;
-        if (towerManager.getTowerAt(hexX, hexY) != null) return false;
-
-        if (targetHex.getOwnerId() == playerId) {
-            return true;
-        }
-
-        List<Hex> baseHexes = getPlayerBaseHexes(playerId);
-        for (Hex baseHex : baseHexes) {
-            List<Hex> neighbors = gameMapService.getNeighbors(baseHex.getX(), baseHex.getY());
-            for (Hex neighbor : neighbors) {
-                if (neighbor.getX() == hexX && neighbor.getY() == hexY) {
-                    Unit existingUnit = unitManager.getUnitAt(hexX, hexY);
-                    if (existingUnit != null && existingUnit.getOwnerId() != playerId) {
-                        Unit tempUnitForCheck = new Unit(-1, playerId, hexX, hexY, placementLevel);
-                        return tempUnitForCheck.canDefeat(existingUnit);
-                    }
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    private void enableFarmPlacementMode(int price) {
+    private void enableFarmPlacementMode() {
         placementMode = PlacementMode.FARM;
-        placementPrice = price;
         highlightAvailableHexesForPlacement(this::highlightFarmPlacementHex);
     }
 
-    private void handleFarmPlacement(TexturedHexagon clickedHex) {
+    private void handleFarmPlacement(HexView clickedHex) {
         Player currentPlayer = game.getCurrentPlayer();
         if (currentPlayer == null) return;
 
         int x = clickedHex.getGridX();
         int y = clickedHex.getGridY();
-        Hex hex = gameMap.getHex(x, y);
 
-        if (hex.getOwnerId() != currentPlayer.getId()) {
+        if (placementService.placeFarm(currentPlayer, x, y) != null) {
             return;
         }
 
-        if (unitManager.getUnitAt(x, y) != null) return;
-        if (farmManager.getFarmAt(x, y) != null) return;
-        if (towerManager.getTowerAt(x, y) != null) return;
-
-        farmShop.purchaseFarm(currentPlayer.getId(), x, y);
-        currentPlayer.setMoney(currentPlayer.getMoney() - placementPrice);
         disableFarmPlacementMode();
         if (onTurnInfoRefresh != null) onTurnInfoRefresh.run();
         if (onMapRefresh != null) onMapRefresh.run();
-        if (onStateUpdate != null) onStateUpdate.run();
+        if (onIntent != null) onIntent.accept(IntentMessage.placeFarm(x, y));
     }
 
     private void disableFarmPlacementMode() {
         placementMode = PlacementMode.NONE;
-        placementPrice = null;
         clearPlacementHighlights();
         if (onHighlightsRefresh != null) {
             onHighlightsRefresh.run();
         }
     }
 
-    private void enableTowerPlacementMode(int level, int price) {
+    private void enableTowerPlacementMode(int level) {
         if (placementMode == PlacementMode.UNIT) {
             disableUnitPlacementMode();
         } else if (placementMode == PlacementMode.FARM) {
@@ -374,7 +306,6 @@ public class PlacementController {
 
         placementMode = PlacementMode.TOWER;
         placementLevel = level;
-        placementPrice = price;
         highlightAvailableHexesForPlacement(this::highlightTowerPlacementHex);
         if (onShowAlert != null) {
             onShowAlert.accept("Размещение башни",
@@ -382,164 +313,99 @@ public class PlacementController {
         }
     }
 
-    private void handleTowerPlacement(TexturedHexagon clickedHex) {
+    private void handleTowerPlacement(HexView clickedHex) {
         Player currentPlayer = game.getCurrentPlayer();
         if (currentPlayer == null) return;
 
         int x = clickedHex.getGridX();
         int y = clickedHex.getGridY();
-        Hex hex = gameMap.getHex(x, y);
+        int level = placementLevel;
 
-        if (hex.getOwnerId() != currentPlayer.getId()) {
+        String error = placementService.placeTower(currentPlayer, x, y, level);
+        if (error != null) {
             if (onShowAlert != null) {
-                onShowAlert.accept("Ошибка", "Башню можно ставить только на свою территорию!");
+                onShowAlert.accept("Ошибка", error);
             }
             return;
         }
 
-        if (unitManager.getUnitAt(x, y) != null) {
-            if (onShowAlert != null) {
-                onShowAlert.accept("Ошибка", "На этом гексе уже стоит юнит!");
-            }
-            return;
-        }
-
-        if (farmManager.getFarmAt(x, y) != null) {
-            if (onShowAlert != null) {
-                onShowAlert.accept("Ошибка", "На этом гексе уже стоит ферма!");
-            }
-            return;
-        }
-
-        if (towerManager.getTowerAt(x, y) != null) {
-            if (onShowAlert != null) {
-                onShowAlert.accept("Ошибка", "На этом гексе уже стоит башня!");
-            }
-            return;
-        }
-
-        towerShop.purchaseTower(currentPlayer.getId(), x, y, placementLevel);
-        currentPlayer.setMoney(currentPlayer.getMoney() - placementPrice);
         disableTowerPlacementMode();
         if (onTurnInfoRefresh != null) onTurnInfoRefresh.run();
         if (onMapRefresh != null) onMapRefresh.run();
-        if (onStateUpdate != null) onStateUpdate.run();
+        if (onIntent != null) onIntent.accept(IntentMessage.placeTower(x, y, level));
     }
 
     private void disableTowerPlacementMode() {
         placementMode = PlacementMode.NONE;
         placementLevel = null;
-        placementPrice = null;
         clearPlacementHighlights();
         if (onHighlightsRefresh != null) {
             onHighlightsRefresh.run();
         }
     }
 
-    private void highlightAvailableHexesForPlacement(BiConsumer<TexturedHexagon, Player> highlightStrategy) {
-        clearPlacementHighlights();
+    private void highlightAvailableHexesForPlacement(BiConsumer<Hex, Player> highlightStrategy) {
+        placementHighlights.clear();
         Player currentPlayer = game.getCurrentPlayer();
-        if (currentPlayer == null) return;
-
-        for (int y = 0; y < gameMap.getHeight(); y++) {
-            for (int x = 0; x < gameMap.getWidth(); x++) {
-                Hex hex = gameMap.getHex(x, y);
-                if (hex != null && hex.getOwnerId() == currentPlayer.getId()) {
-                    TexturedHexagon hexagon = mapRenderer.getHexagonAt(x, y);
-                    if (hexagon != null) {
-                        highlightStrategy.accept(hexagon, currentPlayer);
+        if (currentPlayer != null) {
+            for (int y = 0; y < gameMap.getHeight(); y++) {
+                for (int x = 0; x < gameMap.getWidth(); x++) {
+                    Hex hex = gameMap.getHex(x, y);
+                    if (hex != null && hex.getOwnerId() == currentPlayer.getId()) {
+                        highlightStrategy.accept(hex, currentPlayer);
                     }
                 }
             }
         }
+        mapRenderer.showPlacementHighlights(placementHighlights);
     }
 
-    private void highlightUnitPlacementHex(TexturedHexagon hexagon, Player currentPlayer) {
-        Hex hex = gameMap.getHex(hexagon.getGridX(), hexagon.getGridY());
-        if (hex == null) return;
-
-        Unit unit = unitManager.getUnitAt(hexagon.getGridX(), hexagon.getGridY());
-        Farm farm = farmManager.getFarmAt(hexagon.getGridX(), hexagon.getGridY());
-        Tower tower = towerManager.getTowerAt(hexagon.getGridX(), hexagon.getGridY());
+    private void highlightUnitPlacementHex(Hex hex, Player currentPlayer) {
+        Unit unit = unitManager.getUnitAt(hex.getX(), hex.getY());
+        Farm farm = farmManager.getFarmAt(hex.getX(), hex.getY());
+        Tower tower = towerManager.getTowerAt(hex.getX(), hex.getY());
 
         if (farm != null || tower != null) {
             return;
         }
 
-        Set<Hex> availableHexes = new HashSet<>();
-        List<Hex> baseHexes = getPlayerBaseHexes(currentPlayer.getId());
-        availableHexes.addAll(baseHexes);
-
-        for (Hex baseHex : baseHexes) {
-            List<Hex> neighbors = gameMapService.getNeighbors(baseHex.getX(), baseHex.getY());
-            availableHexes.addAll(neighbors);
-        }
-
-        boolean isAvailable = availableHexes.stream()
-                .anyMatch(h -> h.getX() == hexagon.getGridX() && h.getY() == hexagon.getGridY());
+        boolean isAvailable = hex.getOwnerId() == currentPlayer.getId()
+                || placementService.isAdjacentToTerritory(currentPlayer.getId(), hex.getX(), hex.getY());
 
         if (!isAvailable) return;
 
         boolean hasEnemyUnit = unit != null && unit.getOwnerId() != currentPlayer.getId();
 
         if (hex.getOwnerId() == currentPlayer.getId()) {
-            hexagon.setHighlighted(true);
-            hexagon.setStroke(Color.LIMEGREEN);
-            hexagon.setStrokeWidth(2.0);
+            placementHighlights.add(hex.getCell(), Color.LIMEGREEN, 2.0);
         } else if (hasEnemyUnit) {
-            Unit tempUnitForCheck = new Unit(-1, currentPlayer.getId(), hexagon.getGridX(), hexagon.getGridY(), placementLevel);
+            Unit tempUnitForCheck = new Unit(-1, currentPlayer.getId(), hex.getX(), hex.getY(), placementLevel);
             if (tempUnitForCheck.canDefeat(unit)) {
-                hexagon.setHighlighted(true);
-                hexagon.setStroke(Color.ORANGE);
-                hexagon.setStrokeWidth(3.0);
+                placementHighlights.add(hex.getCell(), Color.ORANGE, 3.0);
             }
         } else {
-            hexagon.setHighlighted(true);
-            hexagon.setStroke(Color.PURPLE);
-            hexagon.setStrokeWidth(2.0);
+            placementHighlights.add(hex.getCell(), Color.PURPLE, 2.0);
         }
     }
 
-    private void highlightFarmPlacementHex(TexturedHexagon hexagon, Player currentPlayer) {
-        if (unitManager.getUnitAt(hexagon.getGridX(), hexagon.getGridY()) != null) return;
-        if (farmManager.getFarmAt(hexagon.getGridX(), hexagon.getGridY()) != null) return;
-        if (towerManager.getTowerAt(hexagon.getGridX(), hexagon.getGridY()) != null) return;
+    private void highlightFarmPlacementHex(Hex hex, Player currentPlayer) {
+        if (unitManager.getUnitAt(hex.getX(), hex.getY()) != null) return;
+        if (farmManager.getFarmAt(hex.getX(), hex.getY()) != null) return;
+        if (towerManager.getTowerAt(hex.getX(), hex.getY()) != null) return;
 
-        hexagon.setHighlighted(true);
-        hexagon.setStroke(Color.DARKGREEN);
-        hexagon.setStrokeWidth(3.0);
+        placementHighlights.add(hex.getCell(), Color.DARKGREEN, 3.0);
     }
 
-    private void highlightTowerPlacementHex(TexturedHexagon hexagon, Player currentPlayer) {
-        if (unitManager.getUnitAt(hexagon.getGridX(), hexagon.getGridY()) != null) return;
-        if (farmManager.getFarmAt(hexagon.getGridX(), hexagon.getGridY()) != null) return;
-        if (towerManager.getTowerAt(hexagon.getGridX(), hexagon.getGridY()) != null) return;
+    private void highlightTowerPlacementHex(Hex hex, Player currentPlayer) {
+        if (unitManager.getUnitAt(hex.getX(), hex.getY()) != null) return;
+        if (farmManager.getFarmAt(hex.getX(), hex.getY()) != null) return;
+        if (towerManager.getTowerAt(hex.getX(), hex.getY()) != null) return;
 
-        hexagon.setHighlighted(true);
-        hexagon.setStroke(Color.PURPLE);
-        hexagon.setStrokeWidth(3.0);
-    }
-
-    private List<Hex> getPlayerBaseHexes(int playerId) {
-        List<Hex> baseHexes = new ArrayList<>();
-        for (int y = 0; y < gameMap.getHeight(); y++) {
-            for (int x = 0; x < gameMap.getWidth(); x++) {
-                Hex hex = gameMap.getHex(x, y);
-                if (hex != null && hex.getOwnerId() == playerId) {
-                    baseHexes.add(hex);
-                }
-            }
-        }
-        return baseHexes;
+        placementHighlights.add(hex.getCell(), Color.PURPLE, 3.0);
     }
 
     private void clearPlacementHighlights() {
-        mapRenderer.getHexagons().values().forEach(hexagon -> {
-            if (hexagon.isHighlighted()) {
-                hexagon.setHighlighted(false);
-                hexagon.setStroke(Color.BLACK);
-                hexagon.setStrokeWidth(1.0);
-            }
-        });
+        placementHighlights.clear();
+        mapRenderer.showPlacementHighlights(placementHighlights);
     }
 }
@@ -0,0 +1,43 @@
+package ru.kpfu.itis.view;
+
+import javafx.scene.paint.Color;
+
+import java.util.BitSet;
+
+public class PlacementHighlights {
+    private final BitSet cells;
+    private final Color[] strokes;
+    private final double[] strokeWidths;
+
+    public PlacementHighlights(int cellCount) {
+        this.cells = new BitSet(cellCount);
+        this.strokes = new Color[cellCount];
+        this.strokeWidths = new double[cellCount];
+    }
+
+    public void add(int cell, Color stroke, double strokeWidth) {
+        cells.set(cell);
+        strokes[cell] = stroke;
+        strokeWidths[cell] = strokeWidth;
+    }
+
+    public boolean contains(int cell) {
+        return cell >= 0 && cells.get(cell);
+    }
+
+    public Color getStroke(int cell) {
+        return strokes[cell];
+    }
+
+    public double getStrokeWidth(int cell) {
+        return strokeWidths[cell];
+    }
+
+    public boolean isEmpty() {
+        return cells.isEmpty();
+    }
+
+    public void clear() {
+        cells.clear();
+    }
+}
@@ -1,72 +1,68 @@
 package ru.kpfu.itis.view;
 
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Polygon;
+import javafx.scene.shape.StrokeType;
 
-public class TexturedHexagon extends Pane {
+public class TexturedHexagon extends Pane implements HexView {
     public static final double SIZE = Hexagon.SIZE;
-    private static final double OFFSET_X = 450;
-    private static final double OFFSET_Y = 120;
 
     private final int gridX;
     private final int gridY;
     private boolean highlighted = false;
     private boolean selected = false;
 
-    private final Canvas textureCanvas;
+    private final ImageView texture;
     private final Polygon border;
-    private final Polygon clipShape;
 
     private final double texWidth;
     private final double texHeight;
 
-    private Image baseTextureImage;
+    private HexTile tile;
 
-    public TexturedHexagon(int gridX, int gridY, Image baseTextureImage) {
+    public TexturedHexagon(int gridX, int gridY, HexTile tile) {
         this.gridX = gridX;
         this.gridY = gridY;
-        this.baseTextureImage = baseTextureImage;
+        this.tile = tile;
 
-        texWidth = SIZE * Math.sqrt(3) * 3;
-        texHeight = SIZE * 3;
+        texWidth = HexTileAtlas.TILE_WIDTH;
+        texHeight = HexTileAtlas.TILE_HEIGHT;
 
         this.setPrefSize(texWidth, texHeight);
         this.setMaxSize(texWidth, texHeight);
         this.setMinSize(texWidth, texHeight);
         this.setStyle("-fx-padding: 0;");
 
-        textureCanvas = new Canvas(texWidth, texHeight);
-        drawTextureOnCanvas();
-
-        clipShape = createHexagonPolygon();
-        clipShape.setTranslateX(texWidth / 2);
-        clipShape.setTranslateY(texHeight / 2);
-        this.setClip(clipShape);
+        texture = new ImageView();
+        showTile();
 
         border = createHexagonPolygon();
         border.setFill(Color.TRANSPARENT);
         border.setStroke(Color.TRANSPARENT);
         border.setStrokeWidth(0.0);
+        border.setStrokeType(StrokeType.INSIDE);
         border.setTranslateX(texWidth / 2);
         border.setTranslateY(texHeight / 2);
 
-        this.getChildren().addAll(textureCanvas, border);
+        this.getChildren().addAll(texture, border);
 
         positionAtGridCoords();
     }
 
-    private void drawTextureOnCanvas() {
-        GraphicsContext gc = textureCanvas.getGraphicsContext2D();
-        if (baseTextureImage != null && !baseTextureImage.isError()) {
-            gc.drawImage(baseTextureImage, 0, 0, texWidth, texHeight);
-        } else {
-            gc.setFill(Color.TAN);
-            gc.fillRect(0, 0, texWidth, texHeight);
+    private void showTile() {
+        texture.setImage(tile.getAtlas());
+        texture.setViewport(new Rectangle2D(tile.getX(), tile.getY(), texWidth, texHeight));
+    }
+
+    public void setTile(HexTile tile) {
+        if (tile == this.tile) {
+            return;
         }
+        this.tile = tile;
+        showTile();
     }
 
     private Polygon createHexagonPolygon() {
@@ -82,10 +78,11 @@ public class TexturedHexagon extends Pane {
 
     public void positionAtGridCoords() {
         double[] center = Hexagon.getCenterCoords(gridX, gridY);
-        this.setTranslateX(center[0] + OFFSET_X - texWidth / 2);
-        this.setTranslateY(center[1] + OFFSET_Y - texHeight / 2);
+        this.setTranslateX(center[0] - texWidth / 2);
+        this.setTranslateY(center[1] - texHeight / 2);
     }
 
+    @Override
     public double[] getActualCenter() {
         return new double[]{
                 getTranslateX() + texWidth / 2,
@@ -93,24 +90,27 @@ public class TexturedHexagon extends Pane {
         };
     }
 
+    @Override
     public int getGridX() {
         return gridX;
     }
 
+    @Override
     public int getGridY() {
         return gridY;
     }
 
 
+    @Override
     public void setHighlighted(boolean highlighted) {
         this.highlighted = highlighted;
         if (highlighted) {
             border.setStroke(Color.LIMEGREEN);
-            border.setStrokeWidth(2.5);
+            setStrokeWidth(2.5);
         } else {
             if (selected) {
                 border.setStroke(Color.YELLOW);
-                border.setStrokeWidth(3.0);
+                setStrokeWidth(3.0);
             } else {
                 border.setStroke(Color.TRANSPARENT);
                 border.setStrokeWidth(0.0);
@@ -118,29 +118,37 @@ public class TexturedHexagon extends Pane {
         }
     }
 
+    @Override
     public boolean isHighlighted() {
         return highlighted;
     }
 
+    public boolean isDecorated() {
+        return highlighted || selected || (border.getStrokeWidth() > 0 && !Color.TRANSPARENT.equals(border.getStroke()));
+    }
+
+    @Override
     public void setSelected(boolean selected) {
         this.selected = selected;
         if (selected) {
             border.setStroke(Color.YELLOW);
-            border.setStrokeWidth(3.0);
+            setStrokeWidth(3.0);
         } else if (highlighted) {
             border.setStroke(Color.LIMEGREEN);
-            border.setStrokeWidth(2.5);
+            setStrokeWidth(2.5);
         } else {
             border.setStroke(Color.TRANSPARENT);
             border.setStrokeWidth(0.0);
         }
     }
 
+    @Override
     public void setStroke(Color color) {
         border.setStroke(color);
     }
 
+    @Override
     public void setStrokeWidth(double width) {
-        border.setStrokeWidth(width);
+        border.setStrokeWidth(width / 2);
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package ru.kpfu.itis.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class UnitAnimator {
+    private static final long MOVE_NANOS = 800_000_000L;
+    private static final long BOUNCE_NANOS = 800_000_000L;
+    private static final double JUMP_HEIGHT = Hexagon.SIZE * 0.15;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<Integer, Integer> slotsByUnit = new HashMap<>();
+    private Node[] nodes = new Node[INITIAL_CAPACITY];
+    private int[] unitIds = new int[INITIAL_CAPACITY];
+    private double[] fromX = new double[INITIAL_CAPACITY];
+    private double[] fromY = new double[INITIAL_CAPACITY];
+    private double[] toX = new double[INITIAL_CAPACITY];
+    private double[] toY = new double[INITIAL_CAPACITY];
+    private long[] moveStart = new long[INITIAL_CAPACITY];
+    private long[] bounceStart = new long[INITIAL_CAPACITY];
+    private int[] activeIndex = new int[INITIAL_CAPACITY];
+    private int[] activeSlots = new int[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    @Getter
+    private int activeCount;
+    private int freeCount;
+    private int slotCount;
+    private boolean running;
+    private final AnimationTimer timer;
+
+    public UnitAnimator() {
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(System.nanoTime());
+            }
+        };
+    }
+
+    UnitAnimator(AnimationTimer timer) {
+        this.timer = timer;
+    }
+
+    public void move(int unitId, Node node, double targetX, double targetY) {
+        int slot = acquire(unitId, node);
+        fromX[slot] = node.getLayoutX();
+        fromY[slot] = node.getLayoutY();
+        toX[slot] = targetX;
+        toY[slot] = targetY;
+        moveStart[slot] = System.nanoTime();
+        ensureRunning();
+    }
+
+    public void startBounce(int unitId, Node node) {
+        int slot = acquire(unitId, node);
+        if (bounceStart[slot] < 0) {
+            bounceStart[slot] = System.nanoTime();
+        }
+        ensureRunning();
+    }
+
+    public void stopBounce(int unitId) {
+        Integer slot = slotsByUnit.get(unitId);
+        if (slot == null) {
+            return;
+        }
+        bounceStart[slot] = -1;
+        nodes[slot].setTranslateY(0);
+        if (moveStart[slot] < 0) {
+            release(slot);
+        }
+    }
+
+    public void cancel(int unitId) {
+        Integer slot = slotsByUnit.get(unitId);
+        if (slot != null) {
+            release(slot);
+        }
+    }
+
+    public void clear() {
+        while (activeCount > 0) {
+            release(activeSlots[activeCount - 1]);
+        }
+        stop();
+    }
+
+    void onPulse(long now) {
+        for (int i = activeCount - 1; i >= 0; i--) {
+            int slot = activeSlots[i];
+            Node node = nodes[slot];
+            if (moveStart[slot] >= 0) {
+                double progress = Math.min(1.0, (now - moveStart[slot]) / (double) MOVE_NANOS);
+                node.setLayoutX(fromX[slot] + (toX[slot] - fromX[slot]) * progress);
+                node.setLayoutY(fromY[slot] + (toY[slot] - fromY[slot]) * progress);
+                if (progress >= 1.0) {
+                    moveStart[slot] = -1;
+                }
+            }
+            if (bounceStart[slot] >= 0) {
+                double phase = ((now - bounceStart[slot]) % BOUNCE_NANOS) / (double) BOUNCE_NANOS;
+                node.setTranslateY(-JUMP_HEIGHT * (phase < 0.5 ? phase * 2 : (1 - phase) * 2));
+            } else if (moveStart[slot] < 0) {
+                release(slot);
+            }
+        }
+        if (activeCount == 0) {
+            stop();
+        }
+    }
+
+    private int acquire(int unitId, Node node) {
+        Integer existing = slotsByUnit.get(unitId);
+        if (existing != null) {
+            nodes[existing] = node;
+            return existing;
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == nodes.length) {
+                grow();
+            }
+            slot = slotCount++;
+        }
+        nodes[slot] = node;
+        unitIds[slot] = unitId;
+        moveStart[slot] = -1;
+        bounceStart[slot] = -1;
+        activeIndex[slot] = activeCount;
+        activeSlots[activeCount++] = slot;
+        slotsByUnit.put(unitId, slot);
+        return slot;
+    }
+
+    private void release(int slot) {
+        int index = activeIndex[slot];
+        int last = activeSlots[--activeCount];
+        activeSlots[index] = last;
+        activeIndex[last] = index;
+        slotsByUnit.remove(unitIds[slot]);
+        nodes[slot] = null;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void grow() {
+        int capacity = nodes.length * 2;
+        nodes = Arrays.copyOf(nodes, capacity);
+        unitIds = Arrays.copyOf(unitIds, capacity);
+        fromX = Arrays.copyOf(fromX, capacity);
+        fromY = Arrays.copyOf(fromY, capacity);
+        toX = Arrays.copyOf(toX, capacity);
+        toY = Arrays.copyOf(toY, capacity);
+        moveStart = Arrays.copyOf(moveStart, capacity);
+        bounceStart = Arrays.copyOf(bounceStart, capacity);
+        activeIndex = Arrays.copyOf(activeIndex, capacity);
+        activeSlots = Arrays.copyOf(activeSlots, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+    }
+
+    private void ensureRunning() {
+        if (!running) {
+            running = true;
+            timer.start();
+        }
+    }
+
+    private void stop() {
+        if (running) {
+            running = false;
+            timer.stop();
+        }
+    }
+}
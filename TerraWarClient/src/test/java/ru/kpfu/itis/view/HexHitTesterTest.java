@@ -0,0 +1,85 @@
+package ru.kpfu.itis.view;
+
+import javafx.geometry.Point2D;
+import javafx.scene.transform.Affine;
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.model.GameMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HexHitTesterTest {
+
+    private static final double SIZE = Hexagon.SIZE;
+    private static final double HEX_WIDTH = SIZE * Math.sqrt(3);
+    private static final double EPSILON = 1e-6;
+    private static final int AMBIGUOUS = -2;
+
+    private final GameMap gameMap = new GameMap(7, 6);
+    private final HexHitTester hitTester = new HexHitTester(gameMap);
+
+    @Test
+    void everyPixelMatchesExactHexagon() {
+        int checked = 0;
+        for (int y = (int) (-SIZE * 2); y < gameMap.getHeight() * SIZE * 1.5 + SIZE * 2; y++) {
+            for (int x = (int) (-HEX_WIDTH); x < gameMap.getWidth() * HEX_WIDTH + HEX_WIDTH; x++) {
+                double mapX = x + 0.5;
+                double mapY = y + 0.5;
+                int expected = exactCellAt(mapX, mapY);
+                if (expected == AMBIGUOUS) {
+                    continue;
+                }
+                assertEquals(expected, hitTester.cellAtMapPoint(mapX, mapY), "точка " + mapX + ", " + mapY);
+                checked++;
+            }
+        }
+        assertTrue(checked > 0);
+    }
+
+    @Test
+    void transformedCameraMatchesExactHexagon() {
+        Affine view = new Affine();
+        view.appendTranslation(-137.25, 61.5);
+        view.appendScale(1.7, 1.7);
+        hitTester.setViewTransform(view);
+        int checked = 0;
+        for (double mapY = -SIZE * 2; mapY < gameMap.getHeight() * SIZE * 1.5 + SIZE * 2; mapY += 0.37) {
+            for (double mapX = -HEX_WIDTH; mapX < gameMap.getWidth() * HEX_WIDTH + HEX_WIDTH; mapX += 0.37) {
+                int expected = exactCellAt(mapX, mapY);
+                if (expected == AMBIGUOUS) {
+                    continue;
+                }
+                Point2D screen = view.transform(mapX, mapY);
+                assertEquals(expected, hitTester.cellAt(screen.getX(), screen.getY()), "точка " + mapX + ", " + mapY);
+                checked++;
+            }
+        }
+        assertTrue(checked > 0);
+    }
+
+    private int exactCellAt(double x, double y) {
+        int strictly = cellContaining(x, y, EPSILON);
+        if (strictly != -1) {
+            return strictly;
+        }
+        return cellContaining(x, y, -EPSILON) == -1 ? -1 : AMBIGUOUS;
+    }
+
+    private int cellContaining(double x, double y, double inset) {
+        int found = -1;
+        for (int row = 0; row < gameMap.getHeight(); row++) {
+            for (int col = 0; col < gameMap.getWidth(); col++) {
+                double[] center = Hexagon.getCenterCoords(col, row);
+                double dx = Math.abs(x - center[0]);
+                double dy = Math.abs(y - center[1]);
+                if (dx < HEX_WIDTH / 2 - inset && dy < SIZE - dx / Math.sqrt(3) - inset) {
+                    if (found != -1) {
+                        return AMBIGUOUS;
+                    }
+                    found = gameMap.cell(col, row);
+                }
+            }
+        }
+        return found;
+    }
+}
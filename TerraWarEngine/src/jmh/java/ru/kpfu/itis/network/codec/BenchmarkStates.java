@@ -0,0 +1,44 @@
+package ru.kpfu.itis.network.codec;
+
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.model.GameMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkStates {
+
+    static final List<String> PLAYERS = List.of("alice", "bob", "carol", "dave");
+
+    private BenchmarkStates() {
+    }
+
+    static FullGameState populated(double occupancy, long seed) {
+        Random random = new Random(seed);
+        GameEngine engine = GameEngine.create(PLAYERS);
+        GameMap map = engine.getGameMap();
+        List<int[]> cells = new ArrayList<>();
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                if (map.getHex(x, y) != null) {
+                    cells.add(new int[]{x, y});
+                }
+            }
+        }
+        for (int[] cell : cells) {
+            int owner = random.nextInt(PLAYERS.size());
+            map.getHex(cell[0], cell[1]).setOwnerId(owner);
+            if (random.nextDouble() >= occupancy) {
+                continue;
+            }
+            switch (random.nextInt(3)) {
+                case 0 -> engine.getUnitManager().createUnit(owner, cell[0], cell[1], 1 + random.nextInt(4));
+                case 1 -> engine.getTowerManager().createTower(owner, cell[0], cell[1], 1 + random.nextInt(2));
+                default -> engine.getFarmManager().createFarm(owner, cell[0], cell[1]);
+            }
+        }
+        return engine.snapshot();
+    }
+}
@@ -0,0 +1,63 @@
+package ru.kpfu.itis.network.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.StateDelta;
+import ru.kpfu.itis.dto.StateDeltas;
+import ru.kpfu.itis.message.GameStateDeltaMessage;
+import ru.kpfu.itis.message.GameStateMessage;
+import ru.kpfu.itis.message.MessageEnvelope;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonEnvelopeBenchmark {
+
+    @Param({"state", "stateDelta"})
+    public String type;
+
+    private final Gson gson = new Gson();
+    private final JsonEnvelopeDecoder decoder = new JsonEnvelopeDecoder(gson, JsonEnvelopeBenchmark::dataClassOf);
+    private String line;
+
+    @Setup(Level.Trial)
+    public void buildLine() {
+        FullGameState base = BenchmarkStates.populated(0.3, 1);
+        MessageEnvelope envelope;
+        if ("state".equals(type)) {
+            envelope = new MessageEnvelope(type, new GameStateMessage(BenchmarkStates.PLAYERS, 1, base, 42));
+        } else {
+            StateDelta delta = StateDeltas.diff(base, BenchmarkStates.populated(0.3, 2));
+            delta.setBaseVersion(42);
+            delta.setVersion(43);
+            envelope = new MessageEnvelope(type, new GameStateDeltaMessage(BenchmarkStates.PLAYERS, 1, delta));
+        }
+        line = gson.toJson(envelope);
+    }
+
+    @Benchmark
+    public MessageEnvelope streaming() throws IOException {
+        return decoder.decode(new StringReader(line));
+    }
+
+    @Benchmark
+    public MessageEnvelope tree() {
+        JsonObject object = JsonParser.parseString(line).getAsJsonObject();
+        String envelopeType = object.get("type").getAsString();
+        return new MessageEnvelope(envelopeType, gson.fromJson(object.get("data"), dataClassOf(envelopeType)));
+    }
+
+    private static Class<?> dataClassOf(String type) {
+        return "state".equals(type) ? GameStateMessage.class : GameStateDeltaMessage.class;
+    }
+}
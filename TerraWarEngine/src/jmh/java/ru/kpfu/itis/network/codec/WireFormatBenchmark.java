@@ -0,0 +1,64 @@
+package ru.kpfu.itis.network.codec;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.message.GameStateMessage;
+import ru.kpfu.itis.message.MessageEnvelope;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"0.1", "0.5"})
+    public double occupancy;
+
+    private final Gson gson = new Gson();
+    private final BinaryMessageCodec binary = new BinaryMessageCodec();
+    private final JsonEnvelopeDecoder json = new JsonEnvelopeDecoder(gson,
+            type -> "state".equals(type) ? GameStateMessage.class : null);
+    private MessageEnvelope envelope;
+    private byte[] binaryPayload;
+    private byte[] jsonLine;
+
+    @Setup(Level.Trial)
+    public void buildState() {
+        envelope = new MessageEnvelope("state", new GameStateMessage(BenchmarkStates.PLAYERS, 1, BenchmarkStates.populated(occupancy, 1), 42));
+        byte[] frame = binary.encode(envelope);
+        int length = new BinaryReader(frame, 0, frame.length).readVarInt();
+        binaryPayload = Arrays.copyOfRange(frame, frame.length - length, frame.length);
+        jsonLine = gson.toJson(envelope).getBytes(StandardCharsets.UTF_8);
+        System.out.printf("FullGameState: бинарный кадр %d байт, JSON %d байт (%.1fx)%n",
+                frame.length, jsonLine.length, (double) jsonLine.length / frame.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binary.encode(envelope);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return gson.toJson(envelope).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public MessageEnvelope decodeBinary() {
+        return binary.decode(binaryPayload, 0, binaryPayload.length);
+    }
+
+    @Benchmark
+    public MessageEnvelope decodeJson() throws IOException {
+        return json.decode(new InputStreamReader(new ByteArrayInputStream(jsonLine), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,61 @@
+package ru.kpfu.itis.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.model.Hex;
+import ru.kpfu.itis.model.Unit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionRangeBenchmark {
+
+    private static final int ENTITY_SPACING = 20;
+
+    @Param({"32", "256"})
+    public int mapSize;
+
+    @Param({"1", "2", "3", "8"})
+    public int radius;
+
+    private GameEngine engine;
+    private ActionRangeCalculator calculator;
+    private Unit unit;
+    private int targetX;
+    private int targetY;
+
+    @Setup(Level.Trial)
+    public void placeUnit() {
+        engine = BenchmarkMaps.grassland(mapSize);
+        int x = mapSize / 4;
+        int y = mapSize / 4;
+        unit = engine.getUnitManager().createUnit(engine.getGameMap().getHex(x, y).getOwnerId(), x, y, 3);
+        unit.setActionRadius(radius);
+        BenchmarkMaps.populate(engine, mapSize * mapSize / ENTITY_SPACING, 1);
+        calculator = new ActionRangeCalculator(engine.getGameMap(), engine.getGameMapService(),
+                engine.getUnitManager(), engine.getFarmManager(), engine.getZoneOfControl());
+        targetX = x + radius;
+        targetY = y;
+    }
+
+    @Benchmark
+    public int calculate() {
+        return calculator.calculate(unit);
+    }
+
+    @Benchmark
+    public boolean isInActionRadius() {
+        return engine.getGameActionService().isInActionRadius(unit, targetX, targetY);
+    }
+
+    @Benchmark
+    public List<Hex> calculateActionRadius() {
+        return engine.getGameActionService().calculateActionRadius(unit);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.kpfu.itis.service;
+
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.HexState;
+import ru.kpfu.itis.dto.PlayerState;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.enums.Type;
+import ru.kpfu.itis.model.GameMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkMaps {
+
+    static final List<String> PLAYERS = List.of("alice", "bob", "carol", "dave");
+    private static final String[] COLORS = {"RED", "BLUE", "YELLOW", "PINK"};
+
+    private BenchmarkMaps() {
+    }
+
+    static GameEngine grassland(int size) {
+        List<HexState> hexes = new ArrayList<>(size * size);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                hexes.add(new HexState(x, y, Type.GRASS.name(), quadrant(x, y, size), 0, false));
+            }
+        }
+        List<PlayerState> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS.size(); i++) {
+            players.add(new PlayerState(i, PLAYERS.get(i), COLORS[i], 1_000, 0, 0, 0, 0, 0));
+        }
+        FullGameState state = new FullGameState(size, size, hexes, List.of(), List.of(), List.of(), players);
+        return GameEngine.restore(state, 0);
+    }
+
+    static void populate(GameEngine engine, int entities, long seed) {
+        Random random = new Random(seed);
+        GameMap map = engine.getGameMap();
+        int created = 0;
+        while (created < entities) {
+            int x = random.nextInt(map.getWidth());
+            int y = random.nextInt(map.getHeight());
+            if (engine.getUnitManager().getUnitAt(x, y) != null || engine.getTowerManager().getTowerAt(x, y) != null
+                    || engine.getFarmManager().getFarmAt(x, y) != null) {
+                continue;
+            }
+            int owner = map.getHex(x, y).getOwnerId();
+            switch (created % 3) {
+                case 0 -> engine.getUnitManager().createUnit(owner, x, y, 1 + random.nextInt(4));
+                case 1 -> engine.getTowerManager().createTower(owner, x, y, 1 + random.nextInt(2));
+                default -> engine.getFarmManager().createFarm(owner, x, y);
+            }
+            created++;
+        }
+    }
+
+    private static int quadrant(int x, int y, int size) {
+        return (x < size / 2 ? 0 : 1) + (y < size / 2 ? 0 : 2);
+    }
+}
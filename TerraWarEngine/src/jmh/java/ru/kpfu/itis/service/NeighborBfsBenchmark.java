@@ -0,0 +1,120 @@
+package ru.kpfu.itis.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.Hex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeighborBfsBenchmark {
+
+    private static final int MAP_SIZE = 128;
+
+    @Param({"4", "16"})
+    public int depth;
+
+    private GameMap map;
+    private GameMapService mapService;
+    private int start;
+    private int[] queue;
+    private int[] distances;
+    private int[] visitedEpoch;
+    private int epoch;
+
+    @Setup(Level.Trial)
+    public void buildMap() {
+        map = BenchmarkMaps.grassland(MAP_SIZE).getGameMap();
+        mapService = new GameMapService(map);
+        start = map.cell(MAP_SIZE / 2, MAP_SIZE / 2);
+        int cells = MAP_SIZE * MAP_SIZE;
+        queue = new int[cells];
+        distances = new int[cells];
+        visitedEpoch = new int[cells];
+    }
+
+    @Benchmark
+    public int legacyNeighborLists() {
+        int stamp = ++epoch;
+        int head = 0;
+        int tail = enqueue(start, 0, stamp, 0);
+        while (head < tail) {
+            int cell = queue[head++];
+            if (distances[cell] < depth) {
+                for (Hex neighbor : legacyNeighbors(map.cellX(cell), map.cellY(cell))) {
+                    tail = enqueue(map.cell(neighbor.getX(), neighbor.getY()), distances[cell] + 1, stamp, tail);
+                }
+            }
+        }
+        return tail;
+    }
+
+    @Benchmark
+    public int neighborLists() {
+        int stamp = ++epoch;
+        int head = 0;
+        int tail = enqueue(start, 0, stamp, 0);
+        while (head < tail) {
+            int cell = queue[head++];
+            if (distances[cell] < depth) {
+                for (Hex neighbor : mapService.getNeighbors(map.cellX(cell), map.cellY(cell))) {
+                    tail = enqueue(map.cell(neighbor.getX(), neighbor.getY()), distances[cell] + 1, stamp, tail);
+                }
+            }
+        }
+        return tail;
+    }
+
+    @Benchmark
+    public int neighborTable() {
+        int stamp = ++epoch;
+        int head = 0;
+        int tail = enqueue(start, 0, stamp, 0);
+        while (head < tail) {
+            int cell = queue[head++];
+            if (distances[cell] < depth) {
+                for (int d = 0; d < GameMapService.DIRECTIONS; d++) {
+                    int neighbor = mapService.neighborCell(cell, d);
+                    if (neighbor != GameMapService.NO_NEIGHBOR) {
+                        tail = enqueue(neighbor, distances[cell] + 1, stamp, tail);
+                    }
+                }
+            }
+        }
+        return tail;
+    }
+
+    private int enqueue(int cell, int distance, int stamp, int tail) {
+        if (visitedEpoch[cell] == stamp) {
+            return tail;
+        }
+        visitedEpoch[cell] = stamp;
+        distances[cell] = distance;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+
+    private List<Hex> legacyNeighbors(int x, int y) {
+        List<Hex> neighbors = new ArrayList<>();
+        int[][] directions;
+        if (y % 2 == 0) {
+            directions = new int[][]{{1, 0}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}};
+        } else {
+            directions = new int[][]{{1, 0}, {1, 1}, {0, 1}, {-1, 0}, {0, -1}, {1, -1}};
+        }
+        for (int[] dir : directions) {
+            Hex neighbor = map.getHex(x + dir[0], y + dir[1]);
+            if (neighbor != null) {
+                neighbors.add(neighbor);
+            }
+        }
+        return neighbors;
+    }
+}
@@ -0,0 +1,94 @@
+package ru.kpfu.itis.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.model.Farm;
+import ru.kpfu.itis.model.Player;
+import ru.kpfu.itis.model.Tower;
+import ru.kpfu.itis.model.Unit;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(OccupancyBenchmark.PROBES)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OccupancyBenchmark {
+
+    static final int PROBES = 1024;
+
+    @Param({"128"})
+    public int mapSize;
+
+    @Param({"16", "256", "4096"})
+    public int entities;
+
+    private GameEngine engine;
+    private final int[] probeX = new int[PROBES];
+    private final int[] probeY = new int[PROBES];
+
+    @Setup(Level.Trial)
+    public void populate() {
+        engine = BenchmarkMaps.grassland(mapSize);
+        BenchmarkMaps.populate(engine, entities, 1);
+        Random random = new Random(2);
+        for (int i = 0; i < PROBES; i++) {
+            probeX[i] = random.nextInt(mapSize);
+            probeY[i] = random.nextInt(mapSize);
+        }
+    }
+
+    @Benchmark
+    public int gridLookup() {
+        UnitManager units = engine.getUnitManager();
+        TowerManager towers = engine.getTowerManager();
+        FarmManager farms = engine.getFarmManager();
+        int occupied = 0;
+        for (int i = 0; i < PROBES; i++) {
+            int x = probeX[i];
+            int y = probeY[i];
+            if (units.getUnitAt(x, y) != null || towers.getTowerAt(x, y) != null || farms.getFarmAt(x, y) != null) {
+                occupied++;
+            }
+        }
+        return occupied;
+    }
+
+    @Benchmark
+    public int listScan() {
+        List<Player> players = engine.getGame().getPlayers();
+        int occupied = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (scan(players, probeX[i], probeY[i])) {
+                occupied++;
+            }
+        }
+        return occupied;
+    }
+
+    private boolean scan(List<Player> players, int x, int y) {
+        for (Player player : players) {
+            for (Unit unit : engine.getUnitManager().getPlayerUnits(player.getId())) {
+                if (unit.getHexX() == x && unit.getHexY() == y) {
+                    return true;
+                }
+            }
+            for (Tower tower : engine.getTowerManager().getPlayerTowers(player.getId())) {
+                if (tower.getHexX() == x && tower.getHexY() == y) {
+                    return true;
+                }
+            }
+            for (Farm farm : engine.getFarmManager().getPlayerFarms(player.getId())) {
+                if (farm.getHexX() == x && farm.getHexY() == y) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.kpfu.itis.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.model.Player;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerRegistryBenchmark {
+
+    private static final int MAP_SIZE = 64;
+
+    @Param({"64", "1024"})
+    public int entities;
+
+    private GameEngine engine;
+    private FullGameState state;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void buildState() {
+        GameEngine source = BenchmarkMaps.grassland(MAP_SIZE);
+        BenchmarkMaps.populate(source, entities, 1);
+        state = source.snapshot();
+        engine = GameEngine.restore(state, 0);
+    }
+
+    @Benchmark
+    public int applyFullGameState() {
+        StateConverter.applyFullGameState(state, engine.getGameMap(), engine.getUnitManager(), engine.getTowerManager(),
+                engine.getFarmManager(), engine.getGame(), engine.getPlayerService(), null);
+        return engine.getUnitManager().getAllUnits().size();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Player playerById() {
+        nextId = (nextId + 1) % BenchmarkMaps.PLAYERS.size();
+        return engine.getGame().getPlayerById(nextId);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Player playerByStream() {
+        int id = nextId = (nextId + 1) % BenchmarkMaps.PLAYERS.size();
+        return engine.getGame().getPlayers().stream().filter(p -> p.getId() == id).findFirst().orElse(null);
+    }
+}
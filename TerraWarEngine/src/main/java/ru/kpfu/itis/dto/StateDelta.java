@@ -9,8 +9,10 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class FullGameState {
+public class StateDelta {
 
+    private long baseVersion;
+    private long version;
     private int mapWidth;
     private int mapHeight;
     private List<HexState> hexes;
@@ -18,7 +20,10 @@ public class FullGameState {
     private List<TowerState> towers;
     private List<FarmState> farms;
     private List<PlayerState> playersState;
+    private List<Integer> removedHexes;
+    private List<Integer> removedUnits;
+    private List<Integer> removedTowers;
+    private List<Integer> removedFarms;
+    private List<Integer> removedPlayers;
 
 }
-
-
@@ -0,0 +1,117 @@
+package ru.kpfu.itis.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+public final class StateDeltas {
+
+    private StateDeltas() {
+    }
+
+    public static StateDelta diff(FullGameState base, FullGameState target) {
+        if (base == null || base.getMapWidth() != target.getMapWidth() || base.getMapHeight() != target.getMapHeight()) {
+            return null;
+        }
+        int width = target.getMapWidth();
+        StateDelta delta = new StateDelta();
+        delta.setMapWidth(target.getMapWidth());
+        delta.setMapHeight(target.getMapHeight());
+
+        delta.setHexes(new ArrayList<>());
+        delta.setRemovedHexes(new ArrayList<>());
+        diffEntries(base.getHexes(), target.getHexes(), hex -> cell(hex.getX(), hex.getY(), width),
+                delta.getHexes(), delta.getRemovedHexes());
+
+        delta.setUnits(new ArrayList<>());
+        delta.setRemovedUnits(new ArrayList<>());
+        diffEntries(base.getUnits(), target.getUnits(), unit -> cell(unit.getHexX(), unit.getHexY(), width),
+                delta.getUnits(), delta.getRemovedUnits());
+
+        delta.setTowers(new ArrayList<>());
+        delta.setRemovedTowers(new ArrayList<>());
+        diffEntries(base.getTowers(), target.getTowers(), tower -> cell(tower.getHexX(), tower.getHexY(), width),
+                delta.getTowers(), delta.getRemovedTowers());
+
+        delta.setFarms(new ArrayList<>());
+        delta.setRemovedFarms(new ArrayList<>());
+        diffEntries(base.getFarms(), target.getFarms(), farm -> cell(farm.getHexX(), farm.getHexY(), width),
+                delta.getFarms(), delta.getRemovedFarms());
+
+        delta.setPlayersState(new ArrayList<>());
+        delta.setRemovedPlayers(new ArrayList<>());
+        diffEntries(base.getPlayersState(), target.getPlayersState(), PlayerState::getId,
+                delta.getPlayersState(), delta.getRemovedPlayers());
+
+        return delta;
+    }
+
+    public static void apply(FullGameState base, StateDelta delta) {
+        int width = base.getMapWidth();
+        base.setHexes(applyEntries(base.getHexes(), delta.getHexes(), delta.getRemovedHexes(),
+                hex -> cell(hex.getX(), hex.getY(), width)));
+        base.setUnits(applyEntries(base.getUnits(), delta.getUnits(), delta.getRemovedUnits(),
+                unit -> cell(unit.getHexX(), unit.getHexY(), width)));
+        base.setTowers(applyEntries(base.getTowers(), delta.getTowers(), delta.getRemovedTowers(),
+                tower -> cell(tower.getHexX(), tower.getHexY(), width)));
+        base.setFarms(applyEntries(base.getFarms(), delta.getFarms(), delta.getRemovedFarms(),
+                farm -> cell(farm.getHexX(), farm.getHexY(), width)));
+        base.setPlayersState(applyEntries(base.getPlayersState(), delta.getPlayersState(), delta.getRemovedPlayers(),
+                PlayerState::getId));
+    }
+
+    public static boolean isEmpty(StateDelta delta) {
+        return nullSafe(delta.getHexes()).isEmpty()
+                && nullSafe(delta.getUnits()).isEmpty()
+                && nullSafe(delta.getTowers()).isEmpty()
+                && nullSafe(delta.getFarms()).isEmpty()
+                && nullSafe(delta.getPlayersState()).isEmpty()
+                && nullSafe(delta.getRemovedHexes()).isEmpty()
+                && nullSafe(delta.getRemovedUnits()).isEmpty()
+                && nullSafe(delta.getRemovedTowers()).isEmpty()
+                && nullSafe(delta.getRemovedFarms()).isEmpty()
+                && nullSafe(delta.getRemovedPlayers()).isEmpty();
+    }
+
+    private static int cell(int x, int y, int width) {
+        return y * width + x;
+    }
+
+    private static <T> void diffEntries(List<T> base, List<T> target, ToIntFunction<T> key,
+                                        List<T> changed, List<Integer> removed) {
+        Map<Integer, T> baseByKey = index(base, key);
+        for (T entry : nullSafe(target)) {
+            T previous = baseByKey.remove(key.applyAsInt(entry));
+            if (!entry.equals(previous)) {
+                changed.add(entry);
+            }
+        }
+        removed.addAll(baseByKey.keySet());
+    }
+
+    private static <T> List<T> applyEntries(List<T> base, List<T> changed, List<Integer> removed, ToIntFunction<T> key) {
+        Map<Integer, T> byKey = index(base, key);
+        for (Integer removedKey : nullSafe(removed)) {
+            byKey.remove(removedKey);
+        }
+        for (T entry : nullSafe(changed)) {
+            byKey.put(key.applyAsInt(entry), entry);
+        }
+        return new ArrayList<>(byKey.values());
+    }
+
+    private static <T> Map<Integer, T> index(List<T> entries, ToIntFunction<T> key) {
+        Map<Integer, T> byKey = new LinkedHashMap<>();
+        for (T entry : nullSafe(entries)) {
+            byKey.put(key.applyAsInt(entry), entry);
+        }
+        return byKey;
+    }
+
+    private static <T> List<T> nullSafe(List<T> entries) {
+        return entries != null ? entries : Collections.emptyList();
+    }
+}
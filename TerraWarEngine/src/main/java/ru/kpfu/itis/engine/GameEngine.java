@@ -0,0 +1,187 @@
+package ru.kpfu.itis.engine;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.PlayerState;
+import ru.kpfu.itis.message.IntentMessage;
+import ru.kpfu.itis.model.*;
+import ru.kpfu.itis.service.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Getter
+@Slf4j
+public class GameEngine {
+
+    private static final String[] COLORS = {"RED", "BLUE", "YELLOW", "PINK"};
+
+    private final Game game;
+    private final GameMap gameMap;
+    private final GameMapService gameMapService;
+    private final OccupancyGrid occupancy;
+    private final ZoneOfControl zoneOfControl;
+    private final GameEventBus events;
+    private final PlayerService playerService;
+    private final UnitManager unitManager;
+    private final UnitShop unitShop;
+    private final FarmManager farmManager;
+    private final FarmShop farmShop;
+    private final TowerManager towerManager;
+    private final TowerShop towerShop;
+    private final GameTurnManager turnManager;
+    private final GameActionService gameActionService;
+    private final PlacementService placementService;
+
+    private GameEngine(List<Player> players, GameMap gameMap) {
+        game = new Game();
+        players.forEach(game::addPlayer);
+        game.startGame();
+
+        this.gameMap = gameMap;
+        gameMapService = new GameMapService(gameMap);
+        occupancy = new OccupancyGrid(gameMap.getWidth(), gameMap.getHeight());
+        zoneOfControl = new ZoneOfControl(gameMapService);
+
+        events = new GameEventBus();
+        playerService = new PlayerService(game, gameMap);
+        events.subscribe(playerService);
+        gameMap.setEventListener(events);
+        unitManager = new UnitManager(game, playerService, occupancy, zoneOfControl, events);
+        unitShop = new UnitShop();
+        farmManager = new FarmManager(game, playerService, occupancy, events);
+        farmShop = new FarmShop(farmManager);
+
+        towerManager = new TowerManager(game, playerService, gameMapService, occupancy, zoneOfControl, events);
+        towerShop = new TowerShop(towerManager);
+        turnManager = new GameTurnManager(game, unitManager, unitShop, towerManager);
+        gameActionService = new GameActionService(gameMap, gameMapService, unitManager, farmManager, game, towerManager,
+                new ActionRangeCalculator(gameMap, gameMapService, unitManager, farmManager, zoneOfControl));
+        placementService = new PlacementService(gameMap, gameMapService, gameActionService,
+                unitManager, unitShop, farmManager, farmShop, towerManager, towerShop);
+    }
+
+    public static GameEngine create(List<String> playerNames) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerNames.size() && i < COLORS.length; i++) {
+            players.add(new Player(i, playerNames.get(i), COLORS[i]));
+        }
+        long seed = mapSeed(playerNames);
+        return new GameEngine(players, MapFactory.getMapById(new Random(seed).nextInt(5), seed));
+    }
+
+    public static GameEngine restore(FullGameState state, int currentTurn) {
+        List<Player> players = new ArrayList<>();
+        for (PlayerState playerState : state.getPlayersState()) {
+            players.add(new Player(playerState.getId(), playerState.getName(), playerState.getColor()));
+        }
+        GameEngine engine = new GameEngine(players, new GameMap(state.getMapWidth(), state.getMapHeight()));
+        StateConverter.applyFullGameState(state, engine.gameMap, engine.unitManager, engine.towerManager,
+                engine.farmManager, engine.game, engine.playerService, null);
+        engine.playerService.rebuild(state);
+        if (currentTurn >= 0 && currentTurn < players.size()) {
+            engine.game.setCurrentPlayerIndex(currentTurn);
+        }
+        return engine;
+    }
+
+    public static long mapSeed(List<String> playerNames) {
+        return playerNames.stream().sorted().mapToLong(String::hashCode).sum();
+    }
+
+    public String apply(String playerName, IntentMessage intent) {
+        if (intent == null || intent.getType() == null) {
+            return "invalid intent";
+        }
+        Player player = currentPlayer(playerName);
+        if (player == null) {
+            return "not your turn";
+        }
+        return switch (intent.getType()) {
+            case MOVE -> moveUnit(player, intent.getFromX(), intent.getFromY(), intent.getX(), intent.getY());
+            case PLACE_UNIT -> placementService.placeUnit(player, intent.getX(), intent.getY(), intent.getLevel());
+            case PLACE_FARM -> placementService.placeFarm(player, intent.getX(), intent.getY());
+            case PLACE_TOWER -> placementService.placeTower(player, intent.getX(), intent.getY(), intent.getLevel());
+        };
+    }
+
+    public String endTurn(String playerName) {
+        Player player = currentPlayer(playerName);
+        if (player == null) {
+            return "not your turn";
+        }
+        turnManager.updatePlayerMoneyForTurnEnd(player.getId());
+        game.nextTurn();
+        turnManager.startPlayerTurn();
+        return null;
+    }
+
+    public void removePlayer(String playerName) {
+        Player player = game.getPlayerByName(playerName);
+        if (player == null) {
+            return;
+        }
+        int playerId = player.getId();
+        for (int y = 0; y < gameMap.getHeight(); y++) {
+            for (int x = 0; x < gameMap.getWidth(); x++) {
+                Hex hex = gameMap.getHex(x, y);
+                if (hex != null && hex.getOwnerId() == playerId) {
+                    hex.setOwnerId(-1);
+                }
+            }
+        }
+        unitManager.removeAllPlayerUnits(playerId);
+        for (Tower tower : new ArrayList<>(towerManager.getPlayerTowers(playerId))) {
+            towerManager.removeTower(tower.getId());
+        }
+        for (Farm farm : new ArrayList<>(farmManager.getPlayerFarms(playerId))) {
+            farmManager.removeFarm(farm.getId());
+        }
+        boolean wasCurrent = game.getCurrentPlayer() == player;
+        game.removePlayer(player);
+        if (wasCurrent) {
+            turnManager.startPlayerTurn();
+        }
+        log.info("Игрок {} удален из партии", playerName);
+    }
+
+    public List<String> getPlayerNames() {
+        List<String> names = new ArrayList<>(game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            names.add(player.getName());
+        }
+        return names;
+    }
+
+    public int getCurrentTurn() {
+        return game.getCurrentPlayerIndex();
+    }
+
+    public FullGameState snapshot() {
+        return StateConverter.toFullGameState(gameMap, unitManager, towerManager, farmManager, game);
+    }
+
+    private String moveUnit(Player player, int fromX, int fromY, int toX, int toY) {
+        Unit unit = unitManager.getUnitAt(fromX, fromY);
+        if (unit == null || unit.getOwnerId() != player.getId()) {
+            return "no unit to move";
+        }
+        if (!unit.canAct()) {
+            return "unit already acted";
+        }
+        if (!gameActionService.isInActionRadius(unit, toX, toY)) {
+            return "target out of range";
+        }
+        if (!gameActionService.actWithUnit(unit, toX, toY)) {
+            return "move rejected";
+        }
+        return null;
+    }
+
+    private Player currentPlayer(String playerName) {
+        Player current = game.getCurrentPlayer();
+        return current != null && current.getName().equals(playerName) ? current : null;
+    }
+}
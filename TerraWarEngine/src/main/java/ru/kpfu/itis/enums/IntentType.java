@@ -0,0 +1,8 @@
+package ru.kpfu.itis.enums;
+
+public enum IntentType {
+    MOVE,
+    PLACE_UNIT,
+    PLACE_FARM,
+    PLACE_TOWER
+}
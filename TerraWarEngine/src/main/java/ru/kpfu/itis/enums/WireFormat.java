@@ -0,0 +1,15 @@
+package ru.kpfu.itis.enums;
+
+public enum WireFormat {
+    JSON,
+    BINARY;
+
+    public static WireFormat fromArgs(String[] args, WireFormat defaultFormat) {
+        for (String arg : args) {
+            if (arg.startsWith("--wire=")) {
+                return WireFormat.valueOf(arg.substring("--wire=".length()).toUpperCase());
+            }
+        }
+        return defaultFormat;
+    }
+}
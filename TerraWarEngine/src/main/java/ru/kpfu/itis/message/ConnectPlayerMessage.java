@@ -11,8 +11,11 @@ import lombok.Setter;
 @Setter
 public class ConnectPlayerMessage {
 
+    public static final int PROTOCOL_VERSION = 2;
+
     private String nickName;
     private int indexOfPlayer;
+    private int protocolVersion;
 
 }
 
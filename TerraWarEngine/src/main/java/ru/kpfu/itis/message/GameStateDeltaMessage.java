@@ -5,7 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.StateDelta;
 
 import java.util.List;
 
@@ -13,10 +13,10 @@ import java.util.List;
 @AllArgsConstructor
 @Getter
 @Setter
-public class GameStateMessage {
+public class GameStateDeltaMessage {
 
     private List<String> players;
     private int currentTurn;
-    private FullGameState stateSnapshot;
+    private StateDelta delta;
 
-}
\ No newline at end of file
+}
@@ -17,6 +17,7 @@ public class GameStateMessage {
     private List<String> players;
     private int currentTurn;
     private FullGameState stateSnapshot;
+    private long stateVersion;
 
 }
 
@@ -0,0 +1,38 @@
+package ru.kpfu.itis.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.kpfu.itis.enums.IntentType;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class IntentMessage {
+
+    private IntentType type;
+    private int fromX;
+    private int fromY;
+    private int x;
+    private int y;
+    private int level;
+
+    public static IntentMessage move(int fromX, int fromY, int toX, int toY) {
+        return new IntentMessage(IntentType.MOVE, fromX, fromY, toX, toY, 0);
+    }
+
+    public static IntentMessage placeUnit(int x, int y, int level) {
+        return new IntentMessage(IntentType.PLACE_UNIT, 0, 0, x, y, level);
+    }
+
+    public static IntentMessage placeFarm(int x, int y) {
+        return new IntentMessage(IntentType.PLACE_FARM, 0, 0, x, y, 0);
+    }
+
+    public static IntentMessage placeTower(int x, int y, int level) {
+        return new IntentMessage(IntentType.PLACE_TOWER, 0, 0, x, y, level);
+    }
+
+}
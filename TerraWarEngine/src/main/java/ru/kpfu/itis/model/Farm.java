@@ -11,7 +11,7 @@ public class Farm {
     private int ownerId;
     private int hexX;
     private int hexY;
-    private static final int BASE_INCOME = 4;
+    public static final int BASE_INCOME = 4;
 
     public Farm(int id, int ownerId, int hexX, int hexY) {
         this.id = id;
@@ -0,0 +1,89 @@
+package ru.kpfu.itis.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameEventBus implements GameEventListener {
+
+    private final List<GameEventListener> listeners = new ArrayList<>();
+
+    public void subscribe(GameEventListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void unsubscribe(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void ownerChanged(int cell, int previousOwnerId, int ownerId) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).ownerChanged(cell, previousOwnerId, ownerId);
+        }
+    }
+
+    @Override
+    public void hexChanged(int cell) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).hexChanged(cell);
+        }
+    }
+
+    @Override
+    public void unitAdded(Unit unit) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).unitAdded(unit);
+        }
+    }
+
+    @Override
+    public void unitMoved(Unit unit, int fromX, int fromY) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).unitMoved(unit, fromX, fromY);
+        }
+    }
+
+    @Override
+    public void unitUpdated(Unit unit) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).unitUpdated(unit);
+        }
+    }
+
+    @Override
+    public void unitRemoved(Unit unit) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).unitRemoved(unit);
+        }
+    }
+
+    @Override
+    public void towerAdded(Tower tower) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).towerAdded(tower);
+        }
+    }
+
+    @Override
+    public void towerRemoved(Tower tower) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).towerRemoved(tower);
+        }
+    }
+
+    @Override
+    public void farmAdded(Farm farm) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).farmAdded(farm);
+        }
+    }
+
+    @Override
+    public void farmRemoved(Farm farm) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).farmRemoved(farm);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.kpfu.itis.model;
+
+public interface GameEventListener {
+
+    default void ownerChanged(int cell, int previousOwnerId, int ownerId) {
+    }
+
+    default void hexChanged(int cell) {
+    }
+
+    default void unitAdded(Unit unit) {
+    }
+
+    default void unitMoved(Unit unit, int fromX, int fromY) {
+    }
+
+    default void unitUpdated(Unit unit) {
+    }
+
+    default void unitRemoved(Unit unit) {
+    }
+
+    default void towerAdded(Tower tower) {
+    }
+
+    default void towerRemoved(Tower tower) {
+    }
+
+    default void farmAdded(Farm farm) {
+    }
+
+    default void farmRemoved(Farm farm) {
+    }
+}
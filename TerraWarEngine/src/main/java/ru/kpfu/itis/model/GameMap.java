@@ -0,0 +1,163 @@
+package ru.kpfu.itis.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import ru.kpfu.itis.enums.Type;
+
+import java.util.Arrays;
+
+@Getter
+public class GameMap {
+
+    private static final byte NO_HEX = -1;
+    private static final Type[] TYPES = Type.values();
+
+    private final int width;
+    private final int height;
+    private final byte[] types;
+    private final short[] owners;
+    private final byte[] unitLevels;
+    private final boolean[] capitals;
+    private final Hex[] views;
+    @Setter
+    private GameEventListener eventListener;
+
+    public GameMap(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.types = new byte[width * height];
+        this.owners = new short[width * height];
+        this.unitLevels = new byte[width * height];
+        this.capitals = new boolean[width * height];
+        this.views = new Hex[width * height];
+        initializeMap();
+    }
+
+    private void initializeMap() {
+        Arrays.fill(types, (byte) Type.GRASS.ordinal());
+        Arrays.fill(owners, (short) -1);
+    }
+
+    public int cell(int x, int y) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            return y * width + x;
+        }
+        return -1;
+    }
+
+    public Hex getHex(int x, int y) {
+        int cell = cell(x, y);
+        if (cell < 0 || types[cell] == NO_HEX) {
+            return null;
+        }
+        Hex view = views[cell];
+        if (view == null) {
+            view = new Hex(this, x, y, cell);
+            views[cell] = view;
+        }
+        return view;
+    }
+
+    public Hex getHexByCell(int cell) {
+        return getHex(cellX(cell), cellY(cell));
+    }
+
+    public boolean hasHex(int cell) {
+        return types[cell] != NO_HEX;
+    }
+
+    public int cellX(int cell) {
+        return cell % width;
+    }
+
+    public int cellY(int cell) {
+        return cell / width;
+    }
+
+    public Hex putHex(int x, int y, Type type) {
+        int cell = cell(x, y);
+        if (cell < 0) {
+            return null;
+        }
+        types[cell] = (byte) type.ordinal();
+        setOwnerId(cell, -1);
+        unitLevels[cell] = 0;
+        capitals[cell] = false;
+        fireHexChanged(cell);
+        return getHex(x, y);
+    }
+
+    public void removeHex(int x, int y) {
+        int cell = cell(x, y);
+        if (cell >= 0 && types[cell] != NO_HEX) {
+            setOwnerId(cell, -1);
+            types[cell] = NO_HEX;
+            fireHexChanged(cell);
+        }
+    }
+
+    public void clearHexes() {
+        for (int cell = 0; cell < owners.length; cell++) {
+            if (types[cell] != NO_HEX) {
+                setOwnerId(cell, -1);
+                types[cell] = NO_HEX;
+                fireHexChanged(cell);
+            }
+        }
+    }
+
+    public void clearUnitLevels() {
+        Arrays.fill(unitLevels, (byte) 0);
+    }
+
+    Type getType(int cell) {
+        return TYPES[types[cell]];
+    }
+
+    void setType(int cell, Type type) {
+        if (types[cell] != type.ordinal()) {
+            types[cell] = (byte) type.ordinal();
+            fireHexChanged(cell);
+        }
+    }
+
+    int getOwnerId(int cell) {
+        return owners[cell];
+    }
+
+    void setOwnerId(int cell, int ownerId) {
+        int previousOwnerId = owners[cell];
+        if (previousOwnerId == ownerId) {
+            return;
+        }
+        owners[cell] = (short) ownerId;
+        if (eventListener != null && types[cell] != NO_HEX) {
+            eventListener.ownerChanged(cell, previousOwnerId, ownerId);
+        }
+    }
+
+    int getUnitLevel(int cell) {
+        return unitLevels[cell];
+    }
+
+    void setUnitLevel(int cell, int unitLevel) {
+        unitLevels[cell] = (byte) unitLevel;
+    }
+
+    boolean isCapital(int cell) {
+        return capitals[cell];
+    }
+
+    void setCapital(int cell, boolean capital) {
+        if (capitals[cell] != capital) {
+            capitals[cell] = capital;
+            fireHexChanged(cell);
+        }
+    }
+
+    private void fireHexChanged(int cell) {
+        if (eventListener != null) {
+            eventListener.hexChanged(cell);
+        }
+    }
+}
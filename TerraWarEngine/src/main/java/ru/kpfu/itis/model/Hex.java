@@ -0,0 +1,69 @@
+package ru.kpfu.itis.model;
+
+import lombok.Getter;
+import ru.kpfu.itis.enums.Type;
+
+@Getter
+public class Hex {
+
+    private final GameMap map;
+    private final int x;
+    private final int y;
+    private final int cell;
+
+    Hex(GameMap map, int x, int y, int cell) {
+        this.map = map;
+        this.x = x;
+        this.y = y;
+        this.cell = cell;
+    }
+
+    public Type getType() {
+        return map.getType(cell);
+    }
+
+    public void setType(Type type) {
+        map.setType(cell, type);
+    }
+
+    public int getOwnerId() {
+        return map.getOwnerId(cell);
+    }
+
+    public void setOwnerId(int ownerId) {
+        map.setOwnerId(cell, ownerId);
+    }
+
+    public int getUnitLevel() {
+        return map.getUnitLevel(cell);
+    }
+
+    public void setUnitLevel(int unitLevel) {
+        map.setUnitLevel(cell, unitLevel);
+    }
+
+    public boolean isCapital() {
+        return map.isCapital(cell);
+    }
+
+    public void setCapital(boolean capital) {
+        map.setCapital(cell, capital);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Hex other)) return false;
+        return map == other.map && cell == other.cell;
+    }
+
+    @Override
+    public int hashCode() {
+        return cell;
+    }
+
+    @Override
+    public String toString() {
+        return "Hex(" + x + "," + y + ")";
+    }
+}
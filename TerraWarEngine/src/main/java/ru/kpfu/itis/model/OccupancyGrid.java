@@ -0,0 +1,99 @@
+package ru.kpfu.itis.model;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+@Getter
+public class OccupancyGrid {
+
+    private final int width;
+    private final int height;
+    private final Unit[] units;
+    private final Tower[] towers;
+    private final Farm[] farms;
+
+    public OccupancyGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.units = new Unit[width * height];
+        this.towers = new Tower[width * height];
+        this.farms = new Farm[width * height];
+    }
+
+    public int cell(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return -1;
+        }
+        return y * width + x;
+    }
+
+    public Unit getUnit(int x, int y) {
+        int cell = cell(x, y);
+        return cell < 0 ? null : units[cell];
+    }
+
+    public Tower getTower(int x, int y) {
+        int cell = cell(x, y);
+        return cell < 0 ? null : towers[cell];
+    }
+
+    public Farm getFarm(int x, int y) {
+        int cell = cell(x, y);
+        return cell < 0 ? null : farms[cell];
+    }
+
+    public void putUnit(Unit unit) {
+        int cell = cell(unit.getHexX(), unit.getHexY());
+        if (cell >= 0) {
+            units[cell] = unit;
+        }
+    }
+
+    public void putTower(Tower tower) {
+        int cell = cell(tower.getHexX(), tower.getHexY());
+        if (cell >= 0) {
+            towers[cell] = tower;
+        }
+    }
+
+    public void putFarm(Farm farm) {
+        int cell = cell(farm.getHexX(), farm.getHexY());
+        if (cell >= 0) {
+            farms[cell] = farm;
+        }
+    }
+
+    public void removeUnit(Unit unit) {
+        int cell = cell(unit.getHexX(), unit.getHexY());
+        if (cell >= 0 && units[cell] == unit) {
+            units[cell] = null;
+        }
+    }
+
+    public void removeTower(Tower tower) {
+        int cell = cell(tower.getHexX(), tower.getHexY());
+        if (cell >= 0 && towers[cell] == tower) {
+            towers[cell] = null;
+        }
+    }
+
+    public void removeFarm(Farm farm) {
+        int cell = cell(farm.getHexX(), farm.getHexY());
+        if (cell >= 0 && farms[cell] == farm) {
+            farms[cell] = null;
+        }
+    }
+
+    public void clearUnits() {
+        Arrays.fill(units, null);
+    }
+
+    public void clearTowers() {
+        Arrays.fill(towers, null);
+    }
+
+    public void clearFarms() {
+        Arrays.fill(farms, null);
+    }
+}
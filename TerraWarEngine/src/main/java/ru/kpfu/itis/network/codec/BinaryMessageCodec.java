@@ -0,0 +1,269 @@
+package ru.kpfu.itis.network.codec;
+
+import ru.kpfu.itis.dto.*;
+import ru.kpfu.itis.enums.IntentType;
+import ru.kpfu.itis.enums.Type;
+import ru.kpfu.itis.message.*;
+
+public class BinaryMessageCodec {
+
+    public static final byte MAGIC = (byte) 0xB7;
+    private static final Type[] HEX_TYPES = Type.values();
+    private static final IntentType[] INTENT_TYPES = IntentType.values();
+
+    private enum Tag {
+        CONNECT("connect"),
+        LEGACY_STATE_UPDATE("stateUpdate"),
+        LEGACY_CLIENT_DELTA("clientStateDelta"),
+        SYNC("sync"),
+        END_TURN("endTurn"),
+        LEAVE("leave"),
+        STATE("state"),
+        STATE_DELTA("stateDelta"),
+        RESPONSE("response"),
+        INTENT("intent");
+
+        private static final Tag[] VALUES = values();
+
+        private final String type;
+
+        Tag(String type) {
+            this.type = type;
+        }
+    }
+
+    public byte[] encode(MessageEnvelope envelope) {
+        Object data = envelope.getData();
+        Tag tag = tagOf(envelope.getType());
+        BinaryWriter out = new BinaryWriter(data instanceof GameStateMessage ? 4096 : 64);
+        out.writeByte(tag.ordinal());
+        switch (tag) {
+            case CONNECT -> {
+                ConnectPlayerMessage msg = (ConnectPlayerMessage) data;
+                out.writeString(msg.getNickName());
+                out.writeInt(msg.getIndexOfPlayer());
+                out.writeInt(msg.getProtocolVersion());
+            }
+            case INTENT -> {
+                IntentMessage msg = (IntentMessage) data;
+                out.writeByte(msg.getType().ordinal());
+                out.writeInt(msg.getFromX());
+                out.writeInt(msg.getFromY());
+                out.writeInt(msg.getX());
+                out.writeInt(msg.getY());
+                out.writeInt(msg.getLevel());
+            }
+            case LEAVE -> out.writeString(data == null ? null : ((LeaveMessage) data).getReason());
+            case STATE -> {
+                GameStateMessage msg = (GameStateMessage) data;
+                out.writeList(msg.getPlayers(), BinaryWriter::writeString);
+                out.writeInt(msg.getCurrentTurn());
+                out.writeLong(msg.getStateVersion());
+                out.writeBoolean(msg.getStateSnapshot() != null);
+                if (msg.getStateSnapshot() != null) {
+                    writeFullState(out, msg.getStateSnapshot());
+                }
+            }
+            case STATE_DELTA -> {
+                GameStateDeltaMessage msg = (GameStateDeltaMessage) data;
+                out.writeList(msg.getPlayers(), BinaryWriter::writeString);
+                out.writeInt(msg.getCurrentTurn());
+                out.writeBoolean(msg.getDelta() != null);
+                if (msg.getDelta() != null) {
+                    writeDelta(out, msg.getDelta());
+                }
+            }
+            case RESPONSE -> {
+                MessageResponse<?> msg = (MessageResponse<?>) data;
+                out.writeBoolean(msg.isSuccess());
+                out.writeString(msg.getMessage());
+                out.writeString(msg.getData() == null ? null : String.valueOf(msg.getData()));
+            }
+            default -> {
+            }
+        }
+        return out.toFrame();
+    }
+
+    public MessageEnvelope decode(byte[] payload, int offset, int length) {
+        BinaryReader in = new BinaryReader(payload, offset, length);
+        int ordinal = in.readByte();
+        if (ordinal >= Tag.VALUES.length) {
+            throw new IllegalArgumentException("Неизвестный тип сообщения: " + ordinal);
+        }
+        Tag tag = Tag.VALUES[ordinal];
+        Object data = switch (tag) {
+            case CONNECT -> new ConnectPlayerMessage(in.readString(), in.readInt(), in.hasRemaining() ? in.readInt() : 0);
+            case INTENT -> {
+                int type = in.readByte();
+                if (type >= INTENT_TYPES.length) {
+                    throw new IllegalArgumentException("Неизвестный тип действия: " + type);
+                }
+                yield new IntentMessage(INTENT_TYPES[type], in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+            }
+            case LEAVE -> new LeaveMessage(in.readString());
+            case STATE -> {
+                GameStateMessage msg = new GameStateMessage();
+                msg.setPlayers(in.readList(BinaryReader::readString));
+                msg.setCurrentTurn(in.readInt());
+                msg.setStateVersion(in.readLong());
+                msg.setStateSnapshot(in.readBoolean() ? readFullState(in) : null);
+                yield msg;
+            }
+            case STATE_DELTA -> {
+                GameStateDeltaMessage msg = new GameStateDeltaMessage();
+                msg.setPlayers(in.readList(BinaryReader::readString));
+                msg.setCurrentTurn(in.readInt());
+                msg.setDelta(in.readBoolean() ? readDelta(in) : null);
+                yield msg;
+            }
+            case RESPONSE -> new MessageResponse<>(in.readBoolean(), in.readString(), in.readString());
+            default -> null;
+        };
+        return new MessageEnvelope(tag.type, data);
+    }
+
+    private static Tag tagOf(String type) {
+        for (Tag tag : Tag.VALUES) {
+            if (tag.type.equals(type)) {
+                return tag;
+            }
+        }
+        throw new IllegalArgumentException("Тип не поддерживается бинарным форматом: " + type);
+    }
+
+    private static void writeFullState(BinaryWriter out, FullGameState state) {
+        out.writeInt(state.getMapWidth());
+        out.writeInt(state.getMapHeight());
+        out.writeList(state.getHexes(), BinaryMessageCodec::writeHex);
+        out.writeList(state.getUnits(), BinaryMessageCodec::writeUnit);
+        out.writeList(state.getTowers(), BinaryMessageCodec::writeTower);
+        out.writeList(state.getFarms(), BinaryMessageCodec::writeFarm);
+        out.writeList(state.getPlayersState(), BinaryMessageCodec::writePlayer);
+    }
+
+    private static FullGameState readFullState(BinaryReader in) {
+        FullGameState state = new FullGameState();
+        state.setMapWidth(in.readInt());
+        state.setMapHeight(in.readInt());
+        state.setHexes(in.readList(BinaryMessageCodec::readHex));
+        state.setUnits(in.readList(BinaryMessageCodec::readUnit));
+        state.setTowers(in.readList(BinaryMessageCodec::readTower));
+        state.setFarms(in.readList(BinaryMessageCodec::readFarm));
+        state.setPlayersState(in.readList(BinaryMessageCodec::readPlayer));
+        return state;
+    }
+
+    private static void writeDelta(BinaryWriter out, StateDelta delta) {
+        out.writeLong(delta.getBaseVersion());
+        out.writeLong(delta.getVersion());
+        out.writeInt(delta.getMapWidth());
+        out.writeInt(delta.getMapHeight());
+        out.writeList(delta.getHexes(), BinaryMessageCodec::writeHex);
+        out.writeList(delta.getUnits(), BinaryMessageCodec::writeUnit);
+        out.writeList(delta.getTowers(), BinaryMessageCodec::writeTower);
+        out.writeList(delta.getFarms(), BinaryMessageCodec::writeFarm);
+        out.writeList(delta.getPlayersState(), BinaryMessageCodec::writePlayer);
+        out.writeList(delta.getRemovedHexes(), BinaryWriter::writeInt);
+        out.writeList(delta.getRemovedUnits(), BinaryWriter::writeInt);
+        out.writeList(delta.getRemovedTowers(), BinaryWriter::writeInt);
+        out.writeList(delta.getRemovedFarms(), BinaryWriter::writeInt);
+        out.writeList(delta.getRemovedPlayers(), BinaryWriter::writeInt);
+    }
+
+    private static StateDelta readDelta(BinaryReader in) {
+        StateDelta delta = new StateDelta();
+        delta.setBaseVersion(in.readLong());
+        delta.setVersion(in.readLong());
+        delta.setMapWidth(in.readInt());
+        delta.setMapHeight(in.readInt());
+        delta.setHexes(in.readList(BinaryMessageCodec::readHex));
+        delta.setUnits(in.readList(BinaryMessageCodec::readUnit));
+        delta.setTowers(in.readList(BinaryMessageCodec::readTower));
+        delta.setFarms(in.readList(BinaryMessageCodec::readFarm));
+        delta.setPlayersState(in.readList(BinaryMessageCodec::readPlayer));
+        delta.setRemovedHexes(in.readList(BinaryReader::readInt));
+        delta.setRemovedUnits(in.readList(BinaryReader::readInt));
+        delta.setRemovedTowers(in.readList(BinaryReader::readInt));
+        delta.setRemovedFarms(in.readList(BinaryReader::readInt));
+        delta.setRemovedPlayers(in.readList(BinaryReader::readInt));
+        return delta;
+    }
+
+    private static void writeHex(BinaryWriter out, HexState hex) {
+        out.writeInt(hex.getX());
+        out.writeInt(hex.getY());
+        out.writeVarInt(hex.getType() == null ? 0 : Type.valueOf(hex.getType()).ordinal() + 1);
+        out.writeInt(hex.getOwnerId());
+        out.writeInt(hex.getUnitLevel());
+        out.writeBoolean(hex.isCapital());
+    }
+
+    private static HexState readHex(BinaryReader in) {
+        int x = in.readInt();
+        int y = in.readInt();
+        int type = in.readVarInt();
+        if (type > HEX_TYPES.length) {
+            throw new IllegalArgumentException("Неизвестный тип гекса: " + type);
+        }
+        return new HexState(x, y, type == 0 ? null : HEX_TYPES[type - 1].name(),
+                in.readInt(), in.readInt(), in.readBoolean());
+    }
+
+    private static void writeUnit(BinaryWriter out, UnitState unit) {
+        out.writeInt(unit.getId());
+        out.writeInt(unit.getOwnerId());
+        out.writeInt(unit.getHexX());
+        out.writeInt(unit.getHexY());
+        out.writeInt(unit.getLevel());
+        out.writeInt(unit.getActionRadius());
+        out.writeBoolean(unit.isHasActed());
+        out.writeInt(unit.getUpkeepCost());
+    }
+
+    private static UnitState readUnit(BinaryReader in) {
+        return new UnitState(in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                in.readInt(), in.readInt(), in.readBoolean(), in.readInt());
+    }
+
+    private static void writeTower(BinaryWriter out, TowerState tower) {
+        out.writeInt(tower.getId());
+        out.writeInt(tower.getOwnerId());
+        out.writeInt(tower.getHexX());
+        out.writeInt(tower.getHexY());
+        out.writeInt(tower.getLevel());
+    }
+
+    private static TowerState readTower(BinaryReader in) {
+        return new TowerState(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+    }
+
+    private static void writeFarm(BinaryWriter out, FarmState farm) {
+        out.writeInt(farm.getId());
+        out.writeInt(farm.getOwnerId());
+        out.writeInt(farm.getHexX());
+        out.writeInt(farm.getHexY());
+        out.writeInt(farm.getIncome());
+    }
+
+    private static FarmState readFarm(BinaryReader in) {
+        return new FarmState(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+    }
+
+    private static void writePlayer(BinaryWriter out, PlayerState player) {
+        out.writeInt(player.getId());
+        out.writeString(player.getName());
+        out.writeString(player.getColor());
+        out.writeInt(player.getMoney());
+        out.writeInt(player.getIncome());
+        out.writeInt(player.getBaseIncome());
+        out.writeInt(player.getUnitUpkeep());
+        out.writeInt(player.getTowerUpkeep());
+        out.writeInt(player.getFarmIncome());
+    }
+
+    private static PlayerState readPlayer(BinaryReader in) {
+        return new PlayerState(in.readInt(), in.readString(), in.readString(), in.readInt(),
+                in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+    }
+}
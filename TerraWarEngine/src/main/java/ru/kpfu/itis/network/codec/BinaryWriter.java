@@ -0,0 +1,102 @@
+package ru.kpfu.itis.network.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+public class BinaryWriter {
+
+    private static final int LENGTH_PREFIX_RESERVE = 5;
+
+    private byte[] buffer;
+    private int position = LENGTH_PREFIX_RESERVE;
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[LENGTH_PREFIX_RESERVE + initialCapacity];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeLong(long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        ensureCapacity(10);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer[position++] = (byte) zigzag;
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public <T> void writeList(List<T> values, BiConsumer<BinaryWriter, T> element) {
+        if (values == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        for (T value : values) {
+            element.accept(this, value);
+        }
+    }
+
+    public byte[] toFrame() {
+        int length = position - LENGTH_PREFIX_RESERVE;
+        int prefixSize = varIntSize(length);
+        int start = LENGTH_PREFIX_RESERVE - prefixSize;
+        int cursor = start;
+        int value = length;
+        while ((value & ~0x7F) != 0) {
+            buffer[cursor++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[cursor] = (byte) value;
+        return Arrays.copyOfRange(buffer, start, position);
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.kpfu.itis.network.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import ru.kpfu.itis.message.MessageEnvelope;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Function;
+
+public class JsonEnvelopeDecoder {
+
+    private final Gson gson;
+    private final Function<String, Class<?>> dataClassOf;
+
+    public JsonEnvelopeDecoder(Gson gson, Function<String, Class<?>> dataClassOf) {
+        this.gson = gson;
+        this.dataClassOf = dataClassOf;
+    }
+
+    public MessageEnvelope decode(Reader source) throws IOException {
+        JsonReader in = new JsonReader(source);
+        in.setStrictness(Strictness.LENIENT);
+        try {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+        String type = null;
+        Object data = null;
+        JsonElement pendingData = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("type".equals(name)) {
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                } else {
+                    type = in.nextString();
+                }
+            } else if ("data".equals(name)) {
+                if (type != null) {
+                    data = readData(in, type);
+                } else {
+                    pendingData = JsonParser.parseReader(in);
+                }
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        if (pendingData != null && type != null) {
+            Class<?> dataClass = dataClassOf.apply(type);
+            data = dataClass == null ? null : gson.fromJson(pendingData, dataClass);
+        }
+        return new MessageEnvelope(type, data);
+    }
+
+    private Object readData(JsonReader in, String type) throws IOException {
+        Class<?> dataClass = dataClassOf.apply(type);
+        if (dataClass == null) {
+            in.skipValue();
+            return null;
+        }
+        return gson.fromJson(in, dataClass);
+    }
+}
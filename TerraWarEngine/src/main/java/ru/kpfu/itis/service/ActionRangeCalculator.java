@@ -0,0 +1,124 @@
+package ru.kpfu.itis.service;
+
+import ru.kpfu.itis.model.Farm;
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.Unit;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class ActionRangeCalculator {
+
+    private final GameMap gameMap;
+    private final GameMapService gameMapService;
+    private final UnitManager unitManager;
+    private final FarmManager farmManager;
+    private final ZoneOfControl zoneOfControl;
+
+    private final int[] queue;
+    private final int[] distances;
+    private final int[] visitedEpoch;
+    private final int[] reachableCells;
+    private final BitSet reachable;
+    private int reachableCount;
+    private int epoch;
+
+    public ActionRangeCalculator(GameMap gameMap, GameMapService gameMapService,
+                                 UnitManager unitManager, FarmManager farmManager, ZoneOfControl zoneOfControl) {
+        this.gameMap = gameMap;
+        this.gameMapService = gameMapService;
+        this.unitManager = unitManager;
+        this.farmManager = farmManager;
+        this.zoneOfControl = zoneOfControl;
+        int cells = gameMap.getWidth() * gameMap.getHeight();
+        this.queue = new int[cells];
+        this.distances = new int[cells];
+        this.visitedEpoch = new int[cells];
+        this.reachableCells = new int[cells];
+        this.reachable = new BitSet(cells);
+    }
+
+    public int calculate(Unit unit) {
+        reachable.clear();
+        reachableCount = 0;
+
+        int start = gameMap.cell(unit.getHexX(), unit.getHexY());
+        if (start < 0) {
+            return 0;
+        }
+
+        int radius = unit.getActionRadius();
+        int ownerId = unit.getOwnerId();
+        int level = unit.getLevel();
+        int stamp = nextEpoch();
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        distances[start] = 0;
+        visitedEpoch[start] = stamp;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int distance = distances[cell];
+            if (!gameMap.hasHex(cell)) {
+                continue;
+            }
+            int cellOwner = gameMap.getHexByCell(cell).getOwnerId();
+
+            if (distance > 0) {
+                if (zoneOfControl.isBlocked(cell, ownerId, level)) {
+                    continue;
+                }
+                int x = gameMap.cellX(cell);
+                int y = gameMap.cellY(cell);
+                Farm farmOnTarget = farmManager.getFarmAt(x, y);
+                if (farmOnTarget != null && farmOnTarget.getOwnerId() == ownerId) {
+                    continue;
+                }
+
+                boolean canMove = cellOwner == ownerId ? distance <= radius : distance == 1;
+                if (canMove) {
+                    Unit unitOnTarget = unitManager.getUnitAt(x, y);
+                    if (unitOnTarget == null || unitOnTarget.getOwnerId() != ownerId) {
+                        reachable.set(cell);
+                        reachableCells[reachableCount++] = cell;
+                    }
+                }
+            }
+
+            if (distance < radius && cellOwner == ownerId) {
+                for (int d = 0; d < GameMapService.DIRECTIONS; d++) {
+                    int neighbor = gameMapService.neighborCell(cell, d);
+                    if (neighbor != GameMapService.NO_NEIGHBOR && visitedEpoch[neighbor] != stamp) {
+                        visitedEpoch[neighbor] = stamp;
+                        distances[neighbor] = distance + 1;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+
+        return reachableCount;
+    }
+
+    public int[] getReachableCells() {
+        return reachableCells;
+    }
+
+    public int getReachableCount() {
+        return reachableCount;
+    }
+
+    public boolean isReachable(int cell) {
+        return cell >= 0 && reachable.get(cell);
+    }
+
+    private int nextEpoch() {
+        if (++epoch == 0) {
+            Arrays.fill(visitedEpoch, 0);
+            epoch = 1;
+        }
+        return epoch;
+    }
+}
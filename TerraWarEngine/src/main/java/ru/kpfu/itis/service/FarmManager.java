@@ -2,6 +2,8 @@ package ru.kpfu.itis.service;
 
 import lombok.Getter;
 import ru.kpfu.itis.model.Farm;
+import ru.kpfu.itis.model.GameEventListener;
+import ru.kpfu.itis.model.OccupancyGrid;
 import ru.kpfu.itis.model.Player;
 import java.util.*;
 
@@ -12,36 +14,40 @@ public class FarmManager {
     private int farmIdCounter = 0;
     private final Game game;
     private final PlayerService playerService;
+    private final OccupancyGrid occupancy;
+    private final GameEventListener events;
     private final static int BASE_COST_FARM = 12;
 
-    public FarmManager(Game game, PlayerService playerService) {
+    public FarmManager(Game game, PlayerService playerService, OccupancyGrid occupancy, GameEventListener events) {
         this.playerFarms = new HashMap<>();
         this.game = game;
         this.playerService = playerService;
+        this.occupancy = occupancy;
+        this.events = events;
     }
 
     public Farm createFarm(int ownerId, int hexX, int hexY) {
-        Farm farm = new Farm(farmIdCounter++, ownerId, hexX, hexY);
+        return createFarm(farmIdCounter, ownerId, hexX, hexY);
+    }
+
+    public Farm createFarm(int id, int ownerId, int hexX, int hexY) {
+        Farm farm = new Farm(id, ownerId, hexX, hexY);
+        farmIdCounter = Math.max(farmIdCounter, id + 1);
         playerFarms.putIfAbsent(ownerId, new ArrayList<>());
         playerFarms.get(ownerId).add(farm);
+        occupancy.putFarm(farm);
 
         Player player = getPlayerById(ownerId);
         if (player != null) {
             playerService.addFarm(player, farm);
         }
+        events.farmAdded(farm);
 
         return farm;
     }
 
     public Farm getFarmAt(int hexX, int hexY) {
-        for (List<Farm> farms : playerFarms.values()) {
-            for (Farm farm : farms) {
-                if (farm.getHexX() == hexX && farm.getHexY() == hexY) {
-                    return farm;
-                }
-            }
-        }
-        return null;
+        return occupancy.getFarm(hexX, hexY);
     }
 
     public List<Farm> getPlayerFarms(int playerId) {
@@ -59,17 +65,25 @@ public class FarmManager {
                         playerService.removeFarm(player, farm);
                     }
                     iterator.remove();
+                    occupancy.removeFarm(farm);
+                    events.farmRemoved(farm);
                     return;
                 }
             }
         }
     }
 
+    public void removeAllFarms() {
+        for (List<Farm> farms : new ArrayList<>(playerFarms.values())) {
+            for (Farm farm : new ArrayList<>(farms)) {
+                removeFarm(farm.getId());
+            }
+        }
+        occupancy.clearFarms();
+    }
+
     private Player getPlayerById(int playerId) {
-        return game.getPlayers().stream()
-                .filter(player -> player.getId() == playerId)
-                .findFirst()
-                .orElse(null);
+        return game.getPlayerById(playerId);
     }
 
     public int getFarmPriceForPlayer(int playerId) {
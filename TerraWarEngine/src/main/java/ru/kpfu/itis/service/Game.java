@@ -0,0 +1,107 @@
+package ru.kpfu.itis.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import ru.kpfu.itis.model.Player;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+public class Game {
+
+    @Getter(AccessLevel.NONE)
+    private final List<Player> players;
+    @Getter(AccessLevel.NONE)
+    private final List<Player> playersView;
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, Player> playersById;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Player> playersByName;
+    private int currentPlayerIndex;
+    private boolean gameStarted;
+
+    public Game() {
+        this.players = new ArrayList<>();
+        this.playersView = Collections.unmodifiableList(players);
+        this.playersById = new HashMap<>();
+        this.playersByName = new HashMap<>();
+        this.currentPlayerIndex = 0;
+        this.gameStarted = false;
+    }
+
+    public List<Player> getPlayers() {
+        return playersView;
+    }
+
+    public void addPlayer(Player player) {
+        players.add(player);
+        playersById.put(player.getId(), player);
+        playersByName.put(player.getName(), player);
+    }
+
+    public void startGame() {
+        if (players.size() >= 4) {
+            gameStarted = true;
+            currentPlayerIndex = 0;
+        }
+    }
+
+    public Player getCurrentPlayer() {
+        if (players.isEmpty()) return null;
+        return players.get(currentPlayerIndex);
+    }
+
+    public Player getPlayerById(int id) {
+        return playersById.get(id);
+    }
+
+    public Player getPlayerByName(String name) {
+        return name == null ? null : playersByName.get(name);
+    }
+
+    public void reorderPlayers(List<String> playerNames) {
+        List<Player> orderedPlayers = new ArrayList<>();
+        for (String playerName : playerNames) {
+            Player player = playersByName.get(playerName);
+            if (player != null && !orderedPlayers.contains(player)) {
+                orderedPlayers.add(player);
+            }
+        }
+        players.clear();
+        playersById.clear();
+        playersByName.clear();
+        orderedPlayers.forEach(this::addPlayer);
+        if (currentPlayerIndex >= players.size()) {
+            currentPlayerIndex = 0;
+        }
+    }
+
+    public void removePlayer(Player player) {
+        int removedIndex = players.indexOf(player);
+        if (removedIndex < 0) {
+            return;
+        }
+        boolean wasCurrent = removedIndex == currentPlayerIndex;
+        players.remove(removedIndex);
+        playersById.remove(player.getId());
+        playersByName.remove(player.getName());
+        if (players.isEmpty()) {
+            currentPlayerIndex = 0;
+        } else if (wasCurrent) {
+            currentPlayerIndex = currentPlayerIndex % players.size();
+        } else if (removedIndex < currentPlayerIndex) {
+            currentPlayerIndex--;
+        }
+    }
+
+    public void nextTurn() {
+        if (players.isEmpty()) return;
+        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+    }
+
+}
\ No newline at end of file
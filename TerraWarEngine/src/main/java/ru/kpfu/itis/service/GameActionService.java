@@ -0,0 +1,135 @@
+package ru.kpfu.itis.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.model.*;
+import java.util.*;
+
+@RequiredArgsConstructor
+@Slf4j
+public class GameActionService {
+
+    private final GameMap gameMap;
+    private final GameMapService gameMapService;
+    private final UnitManager unitManager;
+    private final FarmManager farmManager;
+    private final Game game;
+    private final TowerManager towerManager;
+    private final ActionRangeCalculator actionRangeCalculator;
+
+    public List<Hex> calculateActionRadius(Unit unit) {
+        if (!unit.canAct()) {
+            return new ArrayList<>();
+        }
+
+        int count = actionRangeCalculator.calculate(unit);
+        int[] cells = actionRangeCalculator.getReachableCells();
+        List<Hex> actionArea = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            actionArea.add(gameMap.getHexByCell(cells[i]));
+        }
+        return actionArea;
+    }
+
+    public boolean isInActionRadius(Unit unit, int hexX, int hexY) {
+        if (!unit.canAct()) {
+            return false;
+        }
+        actionRangeCalculator.calculate(unit);
+        return actionRangeCalculator.isReachable(gameMap.cell(hexX, hexY));
+    }
+
+    public String canUnitMoveToHex(Unit unit, Hex targetHex) {
+        Tower tower = towerManager.getTowerAt(targetHex.getX(), targetHex.getY());
+
+        if (tower != null && tower.getOwnerId() != unit.getOwnerId()) {
+            if (!tower.canUnitPassThrough(unit.getLevel())) {
+                if (tower.getLevel() == 1) {
+                    return "Клетка защищена башней 1 уровня. Юнит уровня " + unit.getLevel() + " не может пройти!";
+                } else if (tower.getLevel() == 2) {
+                    return "Клетка защищена башней 2 уровня. Юнит уровня " + unit.getLevel() + " не может пройти!";
+                }
+            }
+        }
+        return null;
+    }
+
+    public boolean isHexInRadius(List<Hex> actionHexes, int hexX, int hexY) {
+        if (actionHexes == null) {
+            return false;
+        }
+
+        return actionHexes.stream()
+                .anyMatch(hex -> hex.getX() == hexX && hex.getY() == hexY);
+    }
+
+    public boolean actWithUnit(Unit actingUnit, int targetHexX, int targetHexY) {
+        if (actingUnit == null || !actingUnit.canAct()) {
+            return false;
+        }
+
+        Hex targetHex = gameMap.getHex(targetHexX, targetHexY);
+        if (targetHex == null) {
+            return false;
+        }
+
+        String blockReason = canUnitMoveToHex(actingUnit, targetHex);
+        if (blockReason != null) {
+            log.info(blockReason);
+            return false;
+        }
+
+        Farm targetFarm = farmManager.getFarmAt(targetHexX, targetHexY);
+        if (targetFarm != null) {
+            if (targetFarm.getOwnerId() == actingUnit.getOwnerId()) {
+                return false;
+            }
+        }
+
+        Tower targetTower = towerManager.getTowerAt(targetHexX, targetHexY);
+        if (targetTower != null && targetTower.getOwnerId() != actingUnit.getOwnerId()) {
+            if (!targetTower.canUnitAttack(actingUnit.getLevel())) {
+                return false;
+            }
+            towerManager.removeTower(targetTower.getId());
+            captureTerritory(actingUnit, targetHex);
+            moveUnit(actingUnit, targetHexX, targetHexY);
+            unitManager.setHasActed(actingUnit, true);
+            return true;
+        }
+
+        if (targetTower != null && targetTower.getOwnerId() == actingUnit.getOwnerId()) {
+            return false;
+        }
+
+        Unit targetUnit = unitManager.getUnitAt(targetHexX, targetHexY);
+        if (targetFarm != null && targetFarm.getOwnerId() != actingUnit.getOwnerId()) {
+            farmManager.removeFarm(targetFarm.getId());
+        }
+
+        if (targetUnit != null) {
+            if (targetUnit.getOwnerId() != actingUnit.getOwnerId()) {
+                if (actingUnit.canDefeat(targetUnit)) {
+                    unitManager.removeUnit(targetUnit.getId());
+                } else {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+
+        captureTerritory(actingUnit, targetHex);
+        moveUnit(actingUnit, targetHexX, targetHexY);
+        unitManager.setHasActed(actingUnit, true);
+        return true;
+    }
+
+    public void captureTerritory(Unit unit, Hex targetHex) {
+        targetHex.setOwnerId(unit.getOwnerId());
+    }
+
+    private void moveUnit(Unit unit, int targetX, int targetY) {
+        unitManager.moveUnit(unit, targetX, targetY);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.kpfu.itis.service;
+
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.Hex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GameMapService {
+
+    public static final int DIRECTIONS = 6;
+    public static final int NO_NEIGHBOR = -1;
+
+    private static final int[][] EVEN_ROW_DIRECTIONS = {
+            {1, 0},
+            {0, 1},
+            {-1, 1},
+            {-1, 0},
+            {-1, -1},
+            {0, -1}
+    };
+    private static final int[][] ODD_ROW_DIRECTIONS = {
+            {1, 0},
+            {1, 1},
+            {0, 1},
+            {-1, 0},
+            {0, -1},
+            {1, -1}
+    };
+    private static final Map<Long, int[]> NEIGHBOR_TABLES = new ConcurrentHashMap<>();
+
+    private final GameMap gameMap;
+    private final int[] neighborTable;
+
+    public GameMapService(GameMap gameMap) {
+        this.gameMap = gameMap;
+        int width = gameMap.getWidth();
+        int height = gameMap.getHeight();
+        this.neighborTable = NEIGHBOR_TABLES.computeIfAbsent(((long) width << 32) | height,
+                shape -> buildNeighborTable(width, height));
+    }
+
+    private static int[] buildNeighborTable(int width, int height) {
+        int[] table = new int[width * height * DIRECTIONS];
+        Arrays.fill(table, NO_NEIGHBOR);
+        for (int y = 0; y < height; y++) {
+            int[][] directions = y % 2 == 0 ? EVEN_ROW_DIRECTIONS : ODD_ROW_DIRECTIONS;
+            for (int x = 0; x < width; x++) {
+                int base = (y * width + x) * DIRECTIONS;
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    int nx = x + directions[d][0];
+                    int ny = y + directions[d][1];
+                    if (nx >= 0 && nx < width && ny >= 0 && ny < height) {
+                        table[base + d] = ny * width + nx;
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    public GameMap getGameMap() {
+        return gameMap;
+    }
+
+    public int neighborCell(int cell, int direction) {
+        int neighbor = neighborTable[cell * DIRECTIONS + direction];
+        return neighbor != NO_NEIGHBOR && gameMap.hasHex(neighbor) ? neighbor : NO_NEIGHBOR;
+    }
+
+    public int gridNeighborCell(int cell, int direction) {
+        return neighborTable[cell * DIRECTIONS + direction];
+    }
+
+    public boolean areNeighbors(int cell, int otherCell) {
+        for (int d = 0; d < DIRECTIONS; d++) {
+            if (neighborTable[cell * DIRECTIONS + d] == otherCell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Hex> getNeighbors(int x, int y) {
+        List<Hex> neighbors = new ArrayList<>(DIRECTIONS);
+        int cell = gameMap.cell(x, y);
+        if (cell < 0) {
+            return neighbors;
+        }
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int neighbor = neighborCell(cell, d);
+            if (neighbor != NO_NEIGHBOR) {
+                neighbors.add(gameMap.getHexByCell(neighbor));
+            }
+        }
+        return neighbors;
+    }
+
+}
@@ -33,10 +33,7 @@ public class GameTurnManager {
     }
 
     public void updatePlayerMoneyForTurnEnd(int playerId) {
-        Player player = game.getPlayers().stream()
-                .filter(p -> p.getId() == playerId)
-                .findFirst()
-                .orElse(null);
+        Player player = game.getPlayerById(playerId);
         if (player != null) {
             player.setMoney(player.getMoney() + player.getIncome());
             checkAndHandleBankrot(playerId);
@@ -46,7 +43,7 @@ public class GameTurnManager {
     private void resetPlayerUnitActions(int playerId) {
         List<Unit> playerUnits = unitManager.getPlayerUnits(playerId);
         for (Unit unit : playerUnits) {
-            unit.resetTurnActions();
+            unitManager.setHasActed(unit, false);
         }
     }
 
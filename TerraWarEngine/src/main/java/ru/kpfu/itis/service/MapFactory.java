@@ -152,10 +152,9 @@ public class MapFactory {
         for (int y = 0; y < pattern.length && y < map.getHeight(); y++) {
             for (int x = 0; x < pattern[y].length && x < map.getWidth(); x++) {
                 if (pattern[y][x] == 1) {
-                    Hex hex = new Hex(x, y, Type.GRASS);
-                    map.getGrid().get(y).set(x, hex);
+                    map.putHex(x, y, Type.GRASS);
                 } else {
-                    map.getGrid().get(y).set(x, null);
+                    map.removeHex(x, y);
                 }
             }
         }
@@ -192,7 +191,7 @@ public class MapFactory {
         for (int y = 0; y < map.getHeight(); y++) {
             for (int x = 0; x < map.getWidth(); x++) {
                 Hex hex = map.getHex(x, y);
-                if (hex != null && map.getGrid().get(y).get(x) != null) {
+                if (hex != null) {
                     landHexes.add(new int[]{x, y});
                 }
             }
@@ -311,12 +310,7 @@ public class MapFactory {
                 if (!claimed.contains(key)) {
                     Hex neighbor = map.getHex(nx, ny);
                     if (neighbor != null && neighbor.getOwnerId() == -1) {
-                        if (nx >= 0 && nx < map.getWidth() && ny >= 0 && ny < map.getHeight()) {
-                            Hex gridHex = map.getGrid().get(ny).get(nx);
-                            if (gridHex != null) {
-                                neighbors.add(new int[]{nx, ny});
-                            }
-                        }
+                        neighbors.add(new int[]{nx, ny});
                     }
                 }
             }
@@ -0,0 +1,148 @@
+package ru.kpfu.itis.service;
+
+import lombok.RequiredArgsConstructor;
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.Hex;
+import ru.kpfu.itis.model.Player;
+import ru.kpfu.itis.model.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class PlacementService {
+
+    private final GameMap gameMap;
+    private final GameMapService gameMapService;
+    private final GameActionService gameActionService;
+    private final UnitManager unitManager;
+    private final UnitShop unitShop;
+    private final FarmManager farmManager;
+    private final FarmShop farmShop;
+    private final TowerManager towerManager;
+    private final TowerShop towerShop;
+
+    public String placeUnit(Player player, int x, int y, int level) {
+        Hex hex = gameMap.getHex(x, y);
+        if (hex == null) {
+            return "Гекс не найден";
+        }
+        if (!unitShop.canAffordUnit(player.getMoney(), level)) {
+            return "Юнит уровня " + level + " стоит " + unitShop.getUnitPrice(level) + " монет";
+        }
+        if (!canPlaceUnitOnHex(player.getId(), x, y, level)) {
+            return "Можно размещать юнитов только на своей территории ИЛИ на соседних с вашей базой гексах!";
+        }
+
+        Unit existingUnit = unitManager.getUnitAt(x, y);
+        if (existingUnit != null) {
+            if (existingUnit.getOwnerId() == player.getId()) {
+                return "На этом гексе уже стоит ваш юнит!";
+            }
+            Unit tempUnitForCheck = new Unit(-1, player.getId(), x, y, level);
+            if (!tempUnitForCheck.canDefeat(existingUnit)) {
+                return "Нельзя разместить юнита уровня " + level +
+                        " на вражеского юнита уровня " + existingUnit.getLevel() + "!";
+            }
+            unitManager.removeUnit(existingUnit.getId());
+        }
+
+        int price = unitShop.getUnitPrice(level);
+        boolean canActThisTurn = (hex.getOwnerId() == player.getId());
+        Unit tempUnit = new Unit(-1, player.getId(), x, y, level);
+        gameActionService.captureTerritory(tempUnit, hex);
+        Unit newUnit = unitShop.purchaseUnit(unitManager, player.getId(), x, y, level);
+        unitManager.setHasActed(newUnit, !canActThisTurn);
+        player.setMoney(player.getMoney() - price);
+        return null;
+    }
+
+    public String placeFarm(Player player, int x, int y) {
+        Hex hex = gameMap.getHex(x, y);
+        if (hex == null || hex.getOwnerId() != player.getId()) {
+            return "Ферму можно ставить только на свою территорию!";
+        }
+        if (!farmShop.canAffordFarm(player.getMoney(), player.getId())) {
+            return "Ферма стоит " + farmShop.getFarmPrice(player.getId()) + " монет";
+        }
+        String occupied = occupiedReason(x, y);
+        if (occupied != null) {
+            return occupied;
+        }
+
+        int price = farmShop.getFarmPrice(player.getId());
+        farmShop.purchaseFarm(player.getId(), x, y);
+        player.setMoney(player.getMoney() - price);
+        return null;
+    }
+
+    public String placeTower(Player player, int x, int y, int level) {
+        Hex hex = gameMap.getHex(x, y);
+        if (hex == null || hex.getOwnerId() != player.getId()) {
+            return "Башню можно ставить только на свою территорию!";
+        }
+        if (level != 1 && level != 2) {
+            return "Нет башни уровня " + level;
+        }
+        if (!towerShop.canAffordTower(player.getMoney(), level, player.getId())) {
+            return "Башня уровня " + level + " стоит " + towerShop.getTowerPrice(player.getId(), level) + " монет";
+        }
+        String occupied = occupiedReason(x, y);
+        if (occupied != null) {
+            return occupied;
+        }
+
+        int price = towerShop.getTowerPrice(player.getId(), level);
+        towerShop.purchaseTower(player.getId(), x, y, level);
+        player.setMoney(player.getMoney() - price);
+        return null;
+    }
+
+    public boolean canPlaceUnitOnHex(int playerId, int hexX, int hexY, int level) {
+        Hex targetHex = gameMap.getHex(hexX, hexY);
+        if (targetHex == null) return false;
+        if (farmManager.getFarmAt(hexX, hexY) != null) return false;
+        if (towerManager.getTowerAt(hexX, hexY) != null) return false;
+
+        if (targetHex.getOwnerId() == playerId) {
+            return true;
+        }
+
+        if (!isAdjacentToTerritory(playerId, hexX, hexY)) {
+            return false;
+        }
+        Unit existingUnit = unitManager.getUnitAt(hexX, hexY);
+        if (existingUnit != null && existingUnit.getOwnerId() != playerId) {
+            Unit tempUnitForCheck = new Unit(-1, playerId, hexX, hexY, level);
+            return tempUnitForCheck.canDefeat(existingUnit);
+        }
+        return true;
+    }
+
+    public boolean isAdjacentToTerritory(int playerId, int hexX, int hexY) {
+        int cell = gameMap.cell(hexX, hexY);
+        if (cell < 0) {
+            return false;
+        }
+        for (int d = 0; d < GameMapService.DIRECTIONS; d++) {
+            int neighbor = gameMapService.neighborCell(cell, d);
+            if (neighbor != GameMapService.NO_NEIGHBOR && gameMap.getHexByCell(neighbor).getOwnerId() == playerId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String occupiedReason(int x, int y) {
+        if (unitManager.getUnitAt(x, y) != null) {
+            return "На этом гексе уже стоит юнит!";
+        }
+        if (farmManager.getFarmAt(x, y) != null) {
+            return "На этом гексе уже стоит ферма!";
+        }
+        if (towerManager.getTowerAt(x, y) != null) {
+            return "На этом гексе уже стоит башня!";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,166 @@
+package ru.kpfu.itis.service;
+
+import ru.kpfu.itis.dto.FarmState;
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.PlayerState;
+import ru.kpfu.itis.dto.TowerState;
+import ru.kpfu.itis.dto.UnitState;
+import ru.kpfu.itis.model.Farm;
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.GameEventListener;
+import ru.kpfu.itis.model.Player;
+import ru.kpfu.itis.model.Unit;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PlayerService implements GameEventListener {
+
+    private final Game game;
+    private final GameMap gameMap;
+    private final Map<Integer, Integer> ownedCells;
+
+    public PlayerService(Game game, GameMap gameMap) {
+        this.game = game;
+        this.gameMap = gameMap;
+        this.ownedCells = new HashMap<>();
+        recountCells();
+    }
+
+    @Override
+    public void ownerChanged(int cell, int previousOwnerId, int ownerId) {
+        if (previousOwnerId != -1) {
+            ownedCells.merge(previousOwnerId, -1, Integer::sum);
+            Player previousOwner = getPlayerById(previousOwnerId);
+            if (previousOwner != null) {
+                previousOwner.setBaseIncome(Math.max(0, previousOwner.getBaseIncome() - 1));
+                updateTotalIncome(previousOwner);
+            }
+        }
+        if (ownerId != -1) {
+            ownedCells.merge(ownerId, 1, Integer::sum);
+            Player owner = getPlayerById(ownerId);
+            if (owner != null) {
+                owner.setBaseIncome(owner.getBaseIncome() + 1);
+                updateTotalIncome(owner);
+            }
+        }
+    }
+
+    public int getOwnedCells(int playerId) {
+        return ownedCells.getOrDefault(playerId, 0);
+    }
+
+    public Player getTerritoryWinner() {
+        Player winner = null;
+        for (Player player : game.getPlayers()) {
+            if (getOwnedCells(player.getId()) > 0) {
+                if (winner != null) {
+                    return null;
+                }
+                winner = player;
+            }
+        }
+        return winner;
+    }
+
+    public void addUnitUpkeep(Player player, int upkeep) {
+        player.setUnitUpkeep(player.getUnitUpkeep() + upkeep);
+        updateTotalIncome(player);
+    }
+
+    public void removeUnitUpkeep(Player player, int upkeep) {
+        player.setUnitUpkeep(player.getUnitUpkeep() - upkeep);
+        updateTotalIncome(player);
+    }
+
+    public void addTowerUpkeep(Player player, int upkeep) {
+        player.setTowerUpkeep(player.getTowerUpkeep() + upkeep);
+        updateTotalIncome(player);
+    }
+
+    public void removeTowerUpkeep(Player player, int upkeep) {
+        player.setTowerUpkeep(Math.max(0, player.getTowerUpkeep() - upkeep));
+        updateTotalIncome(player);
+    }
+
+    public void updateTotalIncome(Player player) {
+        player.setIncome(player.getBaseIncome() - player.getUnitUpkeep() - player.getTowerUpkeep() + player.getFarmIncome());
+    }
+
+    public void addFarm(Player player, Farm farm) {
+        List<Farm> farms = player.getFarms();
+        farms.add(farm);
+        player.setFarms(farms);
+        player.setFarmIncome(player.getFarmIncome() + farm.getIncome());
+        updateTotalIncome(player);
+    }
+
+    public void removeFarm(Player player, Farm farm) {
+        if (player.getFarms().remove(farm)) {
+            player.setFarmIncome(player.getFarmIncome() - farm.getIncome());
+            updateTotalIncome(player);
+        }
+    }
+
+    public void rebuild(FullGameState state) {
+        recountCells();
+        for (Player player : game.getPlayers()) {
+            player.setUnitUpkeep(0);
+            player.setTowerUpkeep(0);
+            player.setFarmIncome(0);
+        }
+        if (state.getPlayersState() != null) {
+            for (PlayerState playerState : state.getPlayersState()) {
+                Player player = getPlayerById(playerState.getId());
+                if (player != null) {
+                    player.setMoney(playerState.getMoney());
+                    player.setBaseIncome(playerState.getBaseIncome());
+                }
+            }
+        }
+        if (state.getUnits() != null) {
+            for (UnitState unitState : state.getUnits()) {
+                Player player = getPlayerById(unitState.getOwnerId());
+                if (player != null) {
+                    Unit unit = new Unit(-1, unitState.getOwnerId(), unitState.getHexX(), unitState.getHexY(), unitState.getLevel());
+                    player.setUnitUpkeep(player.getUnitUpkeep() + unit.getUpkeepCost());
+                }
+            }
+        }
+        if (state.getTowers() != null) {
+            for (TowerState towerState : state.getTowers()) {
+                Player player = getPlayerById(towerState.getOwnerId());
+                if (player != null) {
+                    player.setTowerUpkeep(player.getTowerUpkeep() + TowerManager.getTowerUpkeep(towerState.getLevel()));
+                }
+            }
+        }
+        if (state.getFarms() != null) {
+            for (FarmState farmState : state.getFarms()) {
+                Player player = getPlayerById(farmState.getOwnerId());
+                if (player != null) {
+                    player.setFarmIncome(player.getFarmIncome() + Farm.BASE_INCOME);
+                }
+            }
+        }
+        game.getPlayers().forEach(this::updateTotalIncome);
+    }
+
+    private void recountCells() {
+        ownedCells.clear();
+        for (int cell = 0; cell < gameMap.getWidth() * gameMap.getHeight(); cell++) {
+            if (gameMap.hasHex(cell)) {
+                int ownerId = gameMap.getHexByCell(cell).getOwnerId();
+                if (ownerId != -1) {
+                    ownedCells.merge(ownerId, 1, Integer::sum);
+                }
+            }
+        }
+    }
+
+    private Player getPlayerById(int playerId) {
+        return game.getPlayerById(playerId);
+    }
+}
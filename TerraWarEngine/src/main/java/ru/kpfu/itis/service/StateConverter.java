@@ -0,0 +1,301 @@
+package ru.kpfu.itis.service;
+
+import ru.kpfu.itis.dto.*;
+import ru.kpfu.itis.enums.Type;
+import ru.kpfu.itis.model.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class StateConverter {
+
+    public static FullGameState toFullGameState(
+            GameMap gameMap,
+            UnitManager unitManager,
+            TowerManager towerManager,
+            FarmManager farmManager,
+            Game game) {
+        
+        FullGameState state = new FullGameState();
+        state.setMapWidth(gameMap.getWidth());
+        state.setMapHeight(gameMap.getHeight());
+        
+        List<HexState> hexes = new ArrayList<>();
+        for (int y = 0; y < gameMap.getHeight(); y++) {
+            for (int x = 0; x < gameMap.getWidth(); x++) {
+                Hex hex = gameMap.getHex(x, y);
+                if (hex != null) {
+                    HexState hexState = new HexState();
+                    hexState.setX(hex.getX());
+                    hexState.setY(hex.getY());
+                    hexState.setType(hex.getType().name());
+                    hexState.setOwnerId(hex.getOwnerId());
+                    hexState.setCapital(hex.isCapital());
+                    
+                    Unit unit = unitManager.getUnitAt(x, y);
+                    hexState.setUnitLevel(unit != null ? unit.getLevel() : 0);
+                    
+                    hexes.add(hexState);
+                }
+            }
+        }
+        state.setHexes(hexes);
+        
+        List<UnitState> units = unitManager.getAllUnits().stream()
+                .map(unit -> {
+                    UnitState us = new UnitState();
+                    us.setId(unit.getId());
+                    us.setOwnerId(unit.getOwnerId());
+                    us.setHexX(unit.getHexX());
+                    us.setHexY(unit.getHexY());
+                    us.setLevel(unit.getLevel());
+                    us.setActionRadius(unit.getActionRadius());
+                    us.setHasActed(unit.isHasActed());
+                    us.setUpkeepCost(unit.getUpkeepCost());
+                    return us;
+                })
+                .collect(Collectors.toList());
+        state.setUnits(units);
+        
+        List<TowerState> towers = new ArrayList<>();
+        for (Player player : game.getPlayers()) {
+            List<Tower> playerTowers = towerManager.getPlayerTowers(player.getId());
+            for (Tower tower : playerTowers) {
+                TowerState ts = new TowerState();
+                ts.setId(tower.getId());
+                ts.setOwnerId(tower.getOwnerId());
+                ts.setHexX(tower.getHexX());
+                ts.setHexY(tower.getHexY());
+                ts.setLevel(tower.getLevel());
+                towers.add(ts);
+            }
+        }
+        state.setTowers(towers);
+        
+        List<FarmState> farms = new ArrayList<>();
+        for (Player player : game.getPlayers()) {
+            List<Farm> playerFarms = farmManager.getPlayerFarms(player.getId());
+            for (Farm farm : playerFarms) {
+                FarmState fs = new FarmState();
+                fs.setId(farm.getId());
+                fs.setOwnerId(farm.getOwnerId());
+                fs.setHexX(farm.getHexX());
+                fs.setHexY(farm.getHexY());
+                fs.setIncome(farm.getIncome());
+                farms.add(fs);
+            }
+        }
+        state.setFarms(farms);
+        
+        List<PlayerState> playersState = game.getPlayers().stream()
+                .map(player -> {
+                    PlayerState ps = new PlayerState();
+                    ps.setId(player.getId());
+                    ps.setName(player.getName());
+                    ps.setColor(player.getColor());
+                    ps.setMoney(player.getMoney());
+                    ps.setIncome(player.getIncome());
+                    ps.setBaseIncome(player.getBaseIncome());
+                    ps.setUnitUpkeep(player.getUnitUpkeep());
+                    ps.setTowerUpkeep(player.getTowerUpkeep());
+                    ps.setFarmIncome(player.getFarmIncome());
+                    return ps;
+                })
+                .collect(Collectors.toList());
+        state.setPlayersState(playersState);
+        
+        return state;
+    }
+
+    public static void applyFullGameState(
+            FullGameState state,
+            GameMap gameMap,
+            UnitManager unitManager,
+            TowerManager towerManager,
+            FarmManager farmManager,
+            Game game,
+            PlayerService playerService,
+            List<String> activePlayerNames) {
+
+        if (state == null) return;
+
+        Set<Integer> activePlayerIds = new HashSet<>();
+        if (activePlayerNames != null && state.getPlayersState() != null) {
+            for (PlayerState ps : state.getPlayersState()) {
+                if (activePlayerNames.contains(ps.getName())) {
+                    activePlayerIds.add(ps.getId());
+                }
+            }
+        }
+
+        if (state.getHexes() != null) {
+            applyHexes(state.getHexes(), gameMap, activePlayerIds);
+        }
+        applyUnits(state.getUnits(), unitManager, activePlayerIds);
+        applyTowers(state.getTowers(), towerManager, activePlayerIds);
+        applyFarms(state.getFarms(), farmManager, activePlayerIds);
+
+        gameMap.clearUnitLevels();
+        for (Unit unit : unitManager.getAllUnits()) {
+            Hex hex = gameMap.getHex(unit.getHexX(), unit.getHexY());
+            if (hex != null) {
+                hex.setUnitLevel(unit.getLevel());
+            }
+        }
+
+        if (state.getPlayersState() != null) {
+            for (PlayerState ps : state.getPlayersState()) {
+                Player player = game.getPlayerById(ps.getId());
+                if (player != null) {
+                    player.setMoney(ps.getMoney());
+                    player.setIncome(ps.getIncome());
+                    player.setBaseIncome(ps.getBaseIncome());
+                    player.setUnitUpkeep(ps.getUnitUpkeep());
+                    player.setTowerUpkeep(ps.getTowerUpkeep());
+                    player.setFarmIncome(ps.getFarmIncome());
+                }
+            }
+        }
+    }
+
+    private static boolean isActive(Set<Integer> activePlayerIds, int ownerId) {
+        return activePlayerIds.isEmpty() || activePlayerIds.contains(ownerId);
+    }
+
+    private static void applyHexes(List<HexState> hexStates, GameMap gameMap, Set<Integer> activePlayerIds) {
+        BitSet present = new BitSet(gameMap.getWidth() * gameMap.getHeight());
+        for (HexState hexState : hexStates) {
+            int cell = gameMap.cell(hexState.getX(), hexState.getY());
+            if (cell < 0) {
+                continue;
+            }
+            present.set(cell);
+            Type type = Type.valueOf(hexState.getType());
+            Hex hex = gameMap.getHex(hexState.getX(), hexState.getY());
+            if (hex == null || hex.getType() != type) {
+                hex = gameMap.putHex(hexState.getX(), hexState.getY(), type);
+            }
+            int ownerId = hexState.getOwnerId();
+            if (ownerId != -1 && !activePlayerIds.isEmpty() && !activePlayerIds.contains(ownerId)) {
+                ownerId = -1;
+            }
+            if (hex.getOwnerId() != ownerId) {
+                hex.setOwnerId(ownerId);
+            }
+            if (hex.isCapital() != hexState.isCapital()) {
+                hex.setCapital(hexState.isCapital());
+            }
+        }
+        for (int cell = 0; cell < gameMap.getWidth() * gameMap.getHeight(); cell++) {
+            if (gameMap.hasHex(cell) && !present.get(cell)) {
+                gameMap.removeHex(gameMap.cellX(cell), gameMap.cellY(cell));
+            }
+        }
+    }
+
+    private static void applyUnits(List<UnitState> unitStates, UnitManager unitManager, Set<Integer> activePlayerIds) {
+        Map<Integer, UnitState> incoming = new LinkedHashMap<>();
+        if (unitStates != null) {
+            for (UnitState us : unitStates) {
+                if (isActive(activePlayerIds, us.getOwnerId())) {
+                    incoming.putIfAbsent(us.getId(), us);
+                }
+            }
+        }
+
+        Set<Integer> existing = new HashSet<>();
+        for (Unit unit : unitManager.getAllUnits()) {
+            UnitState us = incoming.get(unit.getId());
+            if (us == null) {
+                unitManager.removeUnit(unit.getId());
+                continue;
+            }
+            existing.add(unit.getId());
+            if (unit.getOwnerId() != us.getOwnerId() || unit.getLevel() != us.getLevel()) {
+                unitManager.removeUnit(unit.getId());
+                Unit replaced = unitManager.createUnit(us.getId(), us.getOwnerId(), us.getHexX(), us.getHexY(), us.getLevel());
+                unitManager.setHasActed(replaced, us.isHasActed());
+                continue;
+            }
+            if (unit.getHexX() != us.getHexX() || unit.getHexY() != us.getHexY()) {
+                unitManager.moveUnit(unit, us.getHexX(), us.getHexY());
+            }
+            if (unit.isHasActed() != us.isHasActed()) {
+                unitManager.setHasActed(unit, us.isHasActed());
+            }
+        }
+
+        for (UnitState us : incoming.values()) {
+            if (!existing.contains(us.getId())) {
+                Unit unit = unitManager.createUnit(us.getId(), us.getOwnerId(), us.getHexX(), us.getHexY(), us.getLevel());
+                unitManager.setHasActed(unit, us.isHasActed());
+            }
+        }
+    }
+
+    private static void applyTowers(List<TowerState> towerStates, TowerManager towerManager, Set<Integer> activePlayerIds) {
+        Map<Integer, TowerState> incoming = new LinkedHashMap<>();
+        if (towerStates != null) {
+            for (TowerState ts : towerStates) {
+                if (isActive(activePlayerIds, ts.getOwnerId())) {
+                    incoming.putIfAbsent(ts.getId(), ts);
+                }
+            }
+        }
+
+        Set<Integer> kept = new HashSet<>();
+        for (List<Tower> towers : new ArrayList<>(towerManager.getPlayerTowers().values())) {
+            for (Tower tower : new ArrayList<>(towers)) {
+                TowerState ts = incoming.get(tower.getId());
+                if (ts != null && tower.getOwnerId() == ts.getOwnerId() && tower.getLevel() == ts.getLevel()
+                        && tower.getHexX() == ts.getHexX() && tower.getHexY() == ts.getHexY()) {
+                    kept.add(tower.getId());
+                } else {
+                    towerManager.removeTower(tower.getId());
+                }
+            }
+        }
+
+        for (TowerState ts : incoming.values()) {
+            if (!kept.contains(ts.getId())) {
+                towerManager.createTower(ts.getId(), ts.getOwnerId(), ts.getHexX(), ts.getHexY(), ts.getLevel());
+            }
+        }
+    }
+
+    private static void applyFarms(List<FarmState> farmStates, FarmManager farmManager, Set<Integer> activePlayerIds) {
+        Map<Integer, FarmState> incoming = new LinkedHashMap<>();
+        if (farmStates != null) {
+            for (FarmState fs : farmStates) {
+                if (isActive(activePlayerIds, fs.getOwnerId())) {
+                    incoming.putIfAbsent(fs.getId(), fs);
+                }
+            }
+        }
+
+        Set<Integer> kept = new HashSet<>();
+        for (List<Farm> farms : new ArrayList<>(farmManager.getPlayerFarms().values())) {
+            for (Farm farm : new ArrayList<>(farms)) {
+                FarmState fs = incoming.get(farm.getId());
+                if (fs != null && farm.getOwnerId() == fs.getOwnerId()
+                        && farm.getHexX() == fs.getHexX() && farm.getHexY() == fs.getHexY()) {
+                    kept.add(farm.getId());
+                } else {
+                    farmManager.removeFarm(farm.getId());
+                }
+            }
+        }
+
+        for (FarmState fs : incoming.values()) {
+            if (!kept.contains(fs.getId())) {
+                farmManager.createFarm(fs.getId(), fs.getOwnerId(), fs.getHexX(), fs.getHexY());
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package ru.kpfu.itis.service;
 
 import lombok.Getter;
+import ru.kpfu.itis.model.GameEventListener;
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.OccupancyGrid;
 import ru.kpfu.itis.model.Tower;
 import ru.kpfu.itis.model.Player;
 import java.util.*;
@@ -12,6 +15,9 @@ public class TowerManager {
     private final Game game;
     private final PlayerService playerService;
     private final GameMapService gameMapService;
+    private final OccupancyGrid occupancy;
+    private final ZoneOfControl zoneOfControl;
+    private final GameEventListener events;
 
     private static final int TOWER_LEVEL_1_BASE_COST = 15;
     private static final int TOWER_LEVEL_2_BASE_COST = 25;
@@ -19,37 +25,40 @@ public class TowerManager {
     private static final int TOWER_LEVEL_1_UPKEEP = 5;
     private static final int TOWER_LEVEL_2_UPKEEP = 12;
 
-    public TowerManager(Game game, PlayerService playerService, GameMapService gameMapService) {
+    public TowerManager(Game game, PlayerService playerService, GameMapService gameMapService,
+                        OccupancyGrid occupancy, ZoneOfControl zoneOfControl, GameEventListener events) {
         this.playerTowers = new HashMap<>();
         this.game = game;
         this.playerService = playerService;
         this.gameMapService = gameMapService;
+        this.occupancy = occupancy;
+        this.zoneOfControl = zoneOfControl;
+        this.events = events;
     }
 
     public Tower createTower(int ownerId, int hexX, int hexY, int level) {
-        Tower tower = new Tower(towerIdCounter++, ownerId, hexX, hexY, level);
+        return createTower(towerIdCounter, ownerId, hexX, hexY, level);
+    }
+
+    public Tower createTower(int id, int ownerId, int hexX, int hexY, int level) {
+        Tower tower = new Tower(id, ownerId, hexX, hexY, level);
+        towerIdCounter = Math.max(towerIdCounter, id + 1);
         playerTowers.putIfAbsent(ownerId, new ArrayList<>());
         playerTowers.get(ownerId).add(tower);
+        occupancy.putTower(tower);
+        zoneOfControl.addTower(tower);
 
         Player owner = getPlayerById(ownerId);
         if (owner != null) {
-            int upkeep = (level == 1) ? TOWER_LEVEL_1_UPKEEP : TOWER_LEVEL_2_UPKEEP;
-            owner.setTowerUpkeep(owner.getTowerUpkeep() + upkeep);
-            recalculatePlayerIncome(owner);
+            playerService.addTowerUpkeep(owner, getTowerUpkeep(level));
         }
+        events.towerAdded(tower);
 
         return tower;
     }
 
     public Tower getTowerAt(int hexX, int hexY) {
-        for (List<Tower> towers : playerTowers.values()) {
-            for (Tower tower : towers) {
-                if (tower.getHexX() == hexX && tower.getHexY() == hexY) {
-                    return tower;
-                }
-            }
-        }
-        return null;
+        return occupancy.getTower(hexX, hexY);
     }
 
     public List<Tower> getPlayerTowers(int playerId) {
@@ -64,23 +73,35 @@ public class TowerManager {
                 if (tower.getId() == towerId) {
                     Player owner = getPlayerById(entry.getKey());
                     if (owner != null) {
-                        int upkeep = (tower.getLevel() == 1) ? TOWER_LEVEL_1_UPKEEP : TOWER_LEVEL_2_UPKEEP;
-                        owner.setTowerUpkeep(Math.max(0, owner.getTowerUpkeep() - upkeep));
-                        recalculatePlayerIncome(owner);
+                        playerService.removeTowerUpkeep(owner, getTowerUpkeep(tower.getLevel()));
                     }
 
                     iterator.remove();
+                    occupancy.removeTower(tower);
+                    zoneOfControl.removeTower(tower);
+                    events.towerRemoved(tower);
                     return;
                 }
             }
         }
     }
 
+    public void removeAllTowers() {
+        for (List<Tower> towers : new ArrayList<>(playerTowers.values())) {
+            for (Tower tower : new ArrayList<>(towers)) {
+                removeTower(tower.getId());
+            }
+        }
+        occupancy.clearTowers();
+        zoneOfControl.clearTowers();
+    }
+
     private Player getPlayerById(int playerId) {
-        return game.getPlayers().stream()
-                .filter(player -> player.getId() == playerId)
-                .findFirst()
-                .orElse(null);
+        return game.getPlayerById(playerId);
+    }
+
+    public static int getTowerUpkeep(int level) {
+        return level == 1 ? TOWER_LEVEL_1_UPKEEP : TOWER_LEVEL_2_UPKEEP;
     }
 
     public int getTowerPrice(int playerId, int level) {
@@ -96,44 +117,4 @@ public class TowerManager {
     public boolean canAffordTower(int playerMoney, int level, int playerId) {
         return playerMoney >= getTowerPrice(playerId, level);
     }
-
-    public Set<String> getBlockedHexesByTower(Tower tower, int unitLevel) {
-        Set<String> blockedHexes = new HashSet<>();
-
-        if (tower.canUnitPassThrough(unitLevel)) {
-            return blockedHexes;
-        }
-
-        List<ru.kpfu.itis.model.Hex> neighbors = gameMapService.getNeighbors(tower.getHexX(), tower.getHexY());
-
-        for (ru.kpfu.itis.model.Hex neighbor : neighbors) {
-            if (neighbor.getOwnerId() == tower.getOwnerId()) {
-                String hexKey = neighbor.getX() + "," + neighbor.getY();
-                blockedHexes.add(hexKey);
-            }
-        }
-
-        return blockedHexes;
-    }
-
-    public Set<String> getAllBlockedHexesByTowers(int unitOwnerId, int unitLevel) {
-        Set<String> allBlockedHexes = new HashSet<>();
-
-        for (Player player : game.getPlayers()) {
-            int opponentId = player.getId();
-            if (opponentId == unitOwnerId) continue;
-
-            List<Tower> opponentTowers = getPlayerTowers(opponentId);
-            for (Tower tower : opponentTowers) {
-                Set<String> towerBlockedHexes = getBlockedHexesByTower(tower, unitLevel);
-                allBlockedHexes.addAll(towerBlockedHexes);
-            }
-        }
-
-        return allBlockedHexes;
-    }
-
-    private void recalculatePlayerIncome(Player player) {
-        player.setIncome(player.getBaseIncome() - player.getUnitUpkeep() - player.getTowerUpkeep() + player.getFarmIncome());
-    }
 }
\ No newline at end of file
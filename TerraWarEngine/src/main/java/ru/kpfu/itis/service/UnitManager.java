@@ -1,6 +1,8 @@
 package ru.kpfu.itis.service;
 
 import lombok.Getter;
+import ru.kpfu.itis.model.GameEventListener;
+import ru.kpfu.itis.model.OccupancyGrid;
 import ru.kpfu.itis.model.Player;
 import ru.kpfu.itis.model.Unit;
 import java.util.*;
@@ -12,35 +14,62 @@ public class UnitManager {
     private int unitIdCounter = 0;
     private final Game game;
     private final PlayerService playerService;
+    private final OccupancyGrid occupancy;
+    private final ZoneOfControl zoneOfControl;
+    private final GameEventListener events;
 
-    public UnitManager(Game game, PlayerService playerService) {
+    public UnitManager(Game game, PlayerService playerService, OccupancyGrid occupancy,
+                       ZoneOfControl zoneOfControl, GameEventListener events) {
         this.playerUnits = new HashMap<>();
         this.game = game;
         this.playerService = playerService;
+        this.occupancy = occupancy;
+        this.zoneOfControl = zoneOfControl;
+        this.events = events;
     }
 
     public Unit createUnit(int ownerId, int hexX, int hexY, int level) {
-        Unit unit = new Unit(unitIdCounter++, ownerId, hexX, hexY, level);
+        return createUnit(unitIdCounter, ownerId, hexX, hexY, level);
+    }
+
+    public Unit createUnit(int id, int ownerId, int hexX, int hexY, int level) {
+        Unit unit = new Unit(id, ownerId, hexX, hexY, level);
+        unitIdCounter = Math.max(unitIdCounter, id + 1);
         playerUnits.putIfAbsent(ownerId, new ArrayList<>());
         playerUnits.get(ownerId).add(unit);
+        occupancy.putUnit(unit);
+        zoneOfControl.addUnit(unit);
 
         Player player = getPlayerById(unit.getOwnerId());
         if (player != null) {
             playerService.addUnitUpkeep(player, unit.getUpkeepCost());
         }
+        events.unitAdded(unit);
 
         return unit;
     }
 
     public Unit getUnitAt(int hexX, int hexY) {
-        for (List<Unit> units : playerUnits.values()) {
-            for (Unit unit : units) {
-                if (unit.getHexX() == hexX && unit.getHexY() == hexY) {
-                    return unit;
-                }
-            }
+        return occupancy.getUnit(hexX, hexY);
+    }
+
+    public void moveUnit(Unit unit, int hexX, int hexY) {
+        int fromX = unit.getHexX();
+        int fromY = unit.getHexY();
+        occupancy.removeUnit(unit);
+        zoneOfControl.removeUnit(unit);
+        unit.setHexX(hexX);
+        unit.setHexY(hexY);
+        occupancy.putUnit(unit);
+        zoneOfControl.addUnit(unit);
+        events.unitMoved(unit, fromX, fromY);
+    }
+
+    public void setHasActed(Unit unit, boolean hasActed) {
+        if (unit.isHasActed() != hasActed) {
+            unit.setHasActed(hasActed);
+            events.unitUpdated(unit);
         }
-        return null;
     }
 
     public List<Unit> getPlayerUnits(int playerId) {
@@ -66,6 +95,9 @@ public class UnitManager {
                         playerService.removeUnitUpkeep(player, unit.getUpkeepCost());
                     }
                     iterator.remove();
+                    occupancy.removeUnit(unit);
+                    zoneOfControl.removeUnit(unit);
+                    events.unitRemoved(unit);
                     return;
                 }
             }
@@ -73,10 +105,7 @@ public class UnitManager {
     }
 
     public Player getPlayerById(int playerId) {
-        return game.getPlayers().stream()
-                .filter(player -> player.getId() == playerId)
-                .findFirst()
-                .orElse(null);
+        return game.getPlayerById(playerId);
     }
 
 
@@ -90,6 +119,19 @@ public class UnitManager {
         }
 
         playerUnits.remove(playerId);
+        for (Unit unit : unitsToRemove) {
+            occupancy.removeUnit(unit);
+            zoneOfControl.removeUnit(unit);
+            events.unitRemoved(unit);
+        }
+    }
+
+    public void removeAllUnits() {
+        for (Integer playerId : new ArrayList<>(playerUnits.keySet())) {
+            removeAllPlayerUnits(playerId);
+        }
+        occupancy.clearUnits();
+        zoneOfControl.clearUnits();
     }
 
 
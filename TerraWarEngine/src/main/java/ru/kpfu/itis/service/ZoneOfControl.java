@@ -0,0 +1,121 @@
+package ru.kpfu.itis.service;
+
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.Tower;
+import ru.kpfu.itis.model.Unit;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ZoneOfControl {
+
+    public static final int MAX_UNIT_LEVEL = 4;
+
+    private final GameMap gameMap;
+    private final GameMapService gameMapService;
+    private final int cells;
+    private final int[] unitCoverage;
+    private final Map<Integer, int[]> playerUnitCoverage;
+    private final Map<Integer, int[]> playerTowerCoverage;
+
+    public ZoneOfControl(GameMapService gameMapService) {
+        this.gameMap = gameMapService.getGameMap();
+        this.gameMapService = gameMapService;
+        this.cells = gameMap.getWidth() * gameMap.getHeight();
+        this.unitCoverage = new int[cells * MAX_UNIT_LEVEL];
+        this.playerUnitCoverage = new HashMap<>();
+        this.playerTowerCoverage = new HashMap<>();
+    }
+
+    public void addUnit(Unit unit) {
+        updateUnit(unit, 1);
+    }
+
+    public void removeUnit(Unit unit) {
+        updateUnit(unit, -1);
+    }
+
+    public void addTower(Tower tower) {
+        updateTower(tower, 1);
+    }
+
+    public void removeTower(Tower tower) {
+        updateTower(tower, -1);
+    }
+
+    public void clearUnits() {
+        Arrays.fill(unitCoverage, 0);
+        playerUnitCoverage.clear();
+    }
+
+    public void clearTowers() {
+        playerTowerCoverage.clear();
+    }
+
+    public boolean isBlocked(int cell, int ownerId, int unitLevel) {
+        if (cell < 0 || cell >= cells) {
+            return false;
+        }
+        int index = index(cell, unitLevel);
+
+        int covering = unitCoverage[index];
+        if (covering > 0) {
+            int[] own = playerUnitCoverage.get(ownerId);
+            if (own == null || own[index] < covering) {
+                return true;
+            }
+        }
+
+        int cellOwner = gameMap.getHexByCell(cell).getOwnerId();
+        if (cellOwner == -1 || cellOwner == ownerId) {
+            return false;
+        }
+        int[] towers = playerTowerCoverage.get(cellOwner);
+        return towers != null && towers[index] > 0;
+    }
+
+    private void updateUnit(Unit unit, int delta) {
+        int cell = gameMap.cell(unit.getHexX(), unit.getHexY());
+        int blockedLevels = Math.min(unit.getLevel() - 1, MAX_UNIT_LEVEL);
+        if (cell < 0 || blockedLevels <= 0) {
+            return;
+        }
+        int[] own = playerUnitCoverage.computeIfAbsent(unit.getOwnerId(), id -> new int[cells * MAX_UNIT_LEVEL]);
+        for (int d = 0; d < GameMapService.DIRECTIONS; d++) {
+            int neighbor = gameMapService.gridNeighborCell(cell, d);
+            if (neighbor == GameMapService.NO_NEIGHBOR) {
+                continue;
+            }
+            for (int level = 1; level <= blockedLevels; level++) {
+                int index = index(neighbor, level);
+                unitCoverage[index] += delta;
+                own[index] += delta;
+            }
+        }
+    }
+
+    private void updateTower(Tower tower, int delta) {
+        int cell = gameMap.cell(tower.getHexX(), tower.getHexY());
+        if (cell < 0) {
+            return;
+        }
+        int[] own = playerTowerCoverage.computeIfAbsent(tower.getOwnerId(), id -> new int[cells * MAX_UNIT_LEVEL]);
+        for (int level = 1; level <= MAX_UNIT_LEVEL; level++) {
+            if (tower.canUnitPassThrough(level)) {
+                continue;
+            }
+            for (int d = 0; d < GameMapService.DIRECTIONS; d++) {
+                int neighbor = gameMapService.gridNeighborCell(cell, d);
+                if (neighbor != GameMapService.NO_NEIGHBOR) {
+                    own[index(neighbor, level)] += delta;
+                }
+            }
+        }
+    }
+
+    private int index(int cell, int unitLevel) {
+        int level = Math.max(1, Math.min(unitLevel, MAX_UNIT_LEVEL));
+        return (level - 1) * cells + cell;
+    }
+}
@@ -0,0 +1,60 @@
+package ru.kpfu.itis.engine;
+
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.Unit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEngineTest {
+
+    @Test
+    void removingCurrentPlayerStartsNextTurn() {
+        GameEngine engine = GameEngine.create(List.of("alice", "bob", "carol", "dave"));
+        Unit unit = actedUnitOf(engine, engine.getGame().getPlayerByName("bob").getId());
+
+        engine.removePlayer("alice");
+
+        assertEquals(List.of("bob", "carol", "dave"), engine.getPlayerNames());
+        assertEquals(0, engine.getCurrentTurn());
+        assertTrue(unit.canAct());
+        assertNull(engine.endTurn("bob"));
+        assertEquals("carol", engine.getGame().getCurrentPlayer().getName());
+    }
+
+    @Test
+    void removingOtherPlayerKeepsCurrentTurn() {
+        GameEngine engine = GameEngine.create(List.of("alice", "bob", "carol", "dave"));
+        assertNull(engine.endTurn("alice"));
+        assertNull(engine.endTurn("bob"));
+        Unit unit = actedUnitOf(engine, engine.getGame().getPlayerByName("carol").getId());
+
+        engine.removePlayer("alice");
+
+        assertEquals(1, engine.getCurrentTurn());
+        assertEquals("carol", engine.getGame().getCurrentPlayer().getName());
+        assertFalse(unit.canAct());
+    }
+
+    private static Unit actedUnitOf(GameEngine engine, int ownerId) {
+        GameMap map = engine.getGameMap();
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                if (map.getHex(x, y) != null && engine.getUnitManager().getUnitAt(x, y) == null
+                        && engine.getTowerManager().getTowerAt(x, y) == null
+                        && engine.getFarmManager().getFarmAt(x, y) == null) {
+                    map.getHex(x, y).setOwnerId(ownerId);
+                    Unit unit = engine.getUnitManager().createUnit(ownerId, x, y, 1);
+                    engine.getUnitManager().setHasActed(unit, true);
+                    return unit;
+                }
+            }
+        }
+        throw new IllegalStateException("На карте нет свободного гекса");
+    }
+}
@@ -0,0 +1,209 @@
+package ru.kpfu.itis.network.codec;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.StateDelta;
+import ru.kpfu.itis.dto.StateDeltas;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.message.*;
+import ru.kpfu.itis.model.GameMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryMessageCodecTest {
+
+    private static final List<String> PLAYERS = List.of("alice", "bob", "carol", "dave");
+
+    private final BinaryMessageCodec codec = new BinaryMessageCodec();
+    private final Gson gson = new Gson();
+
+    @Test
+    void roundTripsEveryMessageType() {
+        for (MessageEnvelope envelope : allMessages()) {
+            MessageEnvelope decoded = roundTrip(envelope);
+            assertEquals(envelope.getType(), decoded.getType());
+            assertEquals(gson.toJsonTree(envelope.getData()), gson.toJsonTree(decoded.getData()), envelope.getType());
+        }
+    }
+
+    @Test
+    void roundTripsExtremeValues() {
+        IntentMessage intent = new IntentMessage(ru.kpfu.itis.enums.IntentType.MOVE,
+                Integer.MIN_VALUE, Integer.MAX_VALUE, -1, 0, 1);
+        assertEquals(gson.toJsonTree(intent), gson.toJsonTree(roundTrip(new MessageEnvelope("intent", intent)).getData()));
+
+        GameStateMessage state = new GameStateMessage(null, -5, null, Long.MIN_VALUE);
+        assertEquals(gson.toJsonTree(state), gson.toJsonTree(roundTrip(new MessageEnvelope("state", state)).getData()));
+
+        LeaveMessage leave = new LeaveMessage("ушел 😀");
+        assertEquals(gson.toJsonTree(leave), gson.toJsonTree(roundTrip(new MessageEnvelope("leave", leave)).getData()));
+    }
+
+    @Test
+    void connectWithoutProtocolVersionDecodesAsLegacy() {
+        BinaryWriter out = new BinaryWriter(16);
+        out.writeByte(0);
+        out.writeString("old");
+        out.writeInt(2);
+        ConnectPlayerMessage decoded = (ConnectPlayerMessage) decodeFrame(out.toFrame()).getData();
+        assertEquals("old", decoded.getNickName());
+        assertEquals(2, decoded.getIndexOfPlayer());
+        assertEquals(0, decoded.getProtocolVersion());
+    }
+
+    @Test
+    void rejectsTruncatedFrames() {
+        for (MessageEnvelope envelope : allMessages()) {
+            byte[] payload = payloadOf(codec.encode(envelope));
+            for (int length = 0; length < payload.length; length++) {
+                int truncated = length;
+                if (envelope.getData() instanceof ConnectPlayerMessage && truncated > 0
+                        && canOmitProtocolVersion(payload, truncated)) {
+                    continue;
+                }
+                assertThrows(IllegalArgumentException.class, () -> codec.decode(payload, 0, truncated),
+                        envelope.getType() + ", " + truncated + " из " + payload.length + " байт");
+            }
+        }
+    }
+
+    @Test
+    void rejectsOversizedLengthFields() {
+        BinaryWriter list = new BinaryWriter(16);
+        list.writeByte(6);
+        list.writeVarInt(Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> decodeFrame(list.toFrame()));
+
+        BinaryWriter string = new BinaryWriter(16);
+        string.writeByte(5);
+        string.writeVarInt(1_000_000);
+        string.writeByte('x');
+        assertThrows(IllegalArgumentException.class, () -> decodeFrame(string.toFrame()));
+
+        byte[] varInt = {6, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0};
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(varInt, 0, varInt.length));
+    }
+
+    @Test
+    void rejectsUnknownTags() {
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[]{127}, 0, 1));
+        byte[] intent = payloadOf(codec.encode(new MessageEnvelope("intent", IntentMessage.placeFarm(1, 2))));
+        intent[1] = 100;
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(intent, 0, intent.length));
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(new MessageEnvelope("unknown", null)));
+    }
+
+    @Test
+    void snapshotIsSmallerThanJson() {
+        GameStateMessage state = new GameStateMessage(PLAYERS, 1, populatedState(new Random(3)), 42);
+        MessageEnvelope envelope = new MessageEnvelope("state", state);
+        int binary = codec.encode(envelope).length;
+        int json = gson.toJson(envelope).getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(binary * 4 < json, "бинарный " + binary + " байт, JSON " + json + " байт");
+    }
+
+    private List<MessageEnvelope> allMessages() {
+        Random random = new Random(11);
+        FullGameState base = populatedState(random);
+        FullGameState next = populatedState(random);
+        StateDelta delta = StateDeltas.diff(base, next);
+        delta.setBaseVersion(7);
+        delta.setVersion(8);
+        List<MessageEnvelope> messages = new ArrayList<>();
+        messages.add(new MessageEnvelope("connect", new ConnectPlayerMessage("игрок", 3, ConnectPlayerMessage.PROTOCOL_VERSION)));
+        messages.add(new MessageEnvelope("connect", new ConnectPlayerMessage(null, 0, 1)));
+        messages.add(new MessageEnvelope("stateUpdate", null));
+        messages.add(new MessageEnvelope("clientStateDelta", null));
+        messages.add(new MessageEnvelope("sync", null));
+        messages.add(new MessageEnvelope("endTurn", null));
+        messages.add(new MessageEnvelope("leave", new LeaveMessage("surrender")));
+        messages.add(new MessageEnvelope("leave", new LeaveMessage(null)));
+        messages.add(new MessageEnvelope("state", new GameStateMessage(PLAYERS, 2, base, 7)));
+        messages.add(new MessageEnvelope("state", new GameStateMessage(PLAYERS, 0, null, 0)));
+        messages.add(new MessageEnvelope("stateDelta", new GameStateDeltaMessage(PLAYERS, 3, delta)));
+        messages.add(new MessageEnvelope("stateDelta", new GameStateDeltaMessage(PLAYERS, 3, null)));
+        messages.add(new MessageEnvelope("response", new MessageResponse<>(true, "connected", "alice")));
+        messages.add(new MessageEnvelope("response", new MessageResponse<>(false, null, null)));
+        messages.add(new MessageEnvelope("intent", IntentMessage.move(1, 2, 3, 4)));
+        messages.add(new MessageEnvelope("intent", IntentMessage.placeUnit(5, 6, 3)));
+        messages.add(new MessageEnvelope("intent", IntentMessage.placeFarm(7, 8)));
+        messages.add(new MessageEnvelope("intent", IntentMessage.placeTower(9, 10, 2)));
+        return messages;
+    }
+
+    private static FullGameState populatedState(Random random) {
+        GameEngine engine = GameEngine.create(PLAYERS);
+        GameMap map = engine.getGameMap();
+        List<int[]> cells = new ArrayList<>();
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                if (map.getHex(x, y) != null) {
+                    cells.add(new int[]{x, y});
+                }
+            }
+        }
+        for (int i = 0; i < cells.size() / 3; i++) {
+            int[] cell = cells.get(random.nextInt(cells.size()));
+            int x = cell[0];
+            int y = cell[1];
+            if (engine.getUnitManager().getUnitAt(x, y) != null || engine.getTowerManager().getTowerAt(x, y) != null
+                    || engine.getFarmManager().getFarmAt(x, y) != null) {
+                continue;
+            }
+            int owner = random.nextInt(PLAYERS.size());
+            map.getHex(x, y).setOwnerId(owner);
+            switch (random.nextInt(3)) {
+                case 0 -> engine.getUnitManager().createUnit(owner, x, y, 1 + random.nextInt(4));
+                case 1 -> engine.getTowerManager().createTower(owner, x, y, 1 + random.nextInt(2));
+                default -> engine.getFarmManager().createFarm(owner, x, y);
+            }
+        }
+        return engine.snapshot();
+    }
+
+    private MessageEnvelope roundTrip(MessageEnvelope envelope) {
+        return decodeFrame(codec.encode(envelope));
+    }
+
+    private MessageEnvelope decodeFrame(byte[] frame) {
+        byte[] payload = payloadOf(frame);
+        return codec.decode(payload, 0, payload.length);
+    }
+
+    private static byte[] payloadOf(byte[] frame) {
+        BinaryReader prefix = new BinaryReader(frame, 0, frame.length);
+        int length = prefix.readVarInt();
+        assertEquals(frame.length, varIntSize(length) + length);
+        return Arrays.copyOfRange(frame, frame.length - length, frame.length);
+    }
+
+    private static boolean canOmitProtocolVersion(byte[] payload, int length) {
+        BinaryReader in = new BinaryReader(payload, 0, length);
+        try {
+            in.readByte();
+            in.readString();
+            in.readInt();
+            return !in.hasRemaining();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,129 @@
+package ru.kpfu.itis.network.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.HexState;
+import ru.kpfu.itis.dto.PlayerState;
+import ru.kpfu.itis.dto.UnitState;
+import ru.kpfu.itis.message.ConnectPlayerMessage;
+import ru.kpfu.itis.message.GameStateMessage;
+import ru.kpfu.itis.message.MessageEnvelope;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonEnvelopeDecoderTest {
+
+    private final Gson gson = new Gson();
+    private final JsonEnvelopeDecoder decoder = new JsonEnvelopeDecoder(gson, JsonEnvelopeDecoderTest::dataClassOf);
+
+    @Test
+    void bindsDataAfterType() throws IOException {
+        MessageEnvelope envelope = decode("{\"type\":\"connect\",\"data\":{\"nickName\":\"alice\",\"indexOfPlayer\":2,\"protocolVersion\":2}}");
+        assertEquals("connect", envelope.getType());
+        ConnectPlayerMessage data = assertInstanceOf(ConnectPlayerMessage.class, envelope.getData());
+        assertEquals("alice", data.getNickName());
+        assertEquals(2, data.getIndexOfPlayer());
+        assertEquals(2, data.getProtocolVersion());
+    }
+
+    @Test
+    void buffersDataThatArrivesBeforeType() throws IOException {
+        MessageEnvelope envelope = decode("{\"data\":{\"nickName\":\"bob\",\"indexOfPlayer\":1},\"extra\":[1,{\"a\":2}],\"type\":\"connect\"}");
+        assertEquals("connect", envelope.getType());
+        ConnectPlayerMessage data = assertInstanceOf(ConnectPlayerMessage.class, envelope.getData());
+        assertEquals("bob", data.getNickName());
+        assertEquals(1, data.getIndexOfPlayer());
+    }
+
+    @Test
+    void matchesGsonForFullState() throws IOException {
+        FullGameState state = new FullGameState(2, 1,
+                List.of(new HexState(0, 0, "GRASS", 0, 1, true), new HexState(1, 0, "WATER", -1, 0, false)),
+                List.of(new UnitState(5, 0, 0, 0, 1, 4, false, 2)), List.of(), List.of(),
+                List.of(new PlayerState(0, "alice", "RED", 10, 3, 5, 2, 0, 0)));
+        MessageEnvelope original = new MessageEnvelope("state", new GameStateMessage(List.of("alice"), 0, state, 9));
+        String line = gson.toJson(original);
+        MessageEnvelope streamed = decode(line);
+        assertEquals("state", streamed.getType());
+        assertEquals(gson.toJsonTree(original.getData()), gson.toJsonTree(streamed.getData()));
+        assertEquals(state, ((GameStateMessage) streamed.getData()).getStateSnapshot());
+    }
+
+    @Test
+    void skipsDataOfUnknownTypes() throws IOException {
+        MessageEnvelope envelope = decode("{\"type\":\"ping\",\"data\":{\"nested\":[1,2,{\"x\":null}]}}");
+        assertEquals("ping", envelope.getType());
+        assertNull(envelope.getData());
+
+        MessageEnvelope buffered = decode("{\"data\":{\"nested\":true},\"type\":\"ping\"}");
+        assertEquals("ping", buffered.getType());
+        assertNull(buffered.getData());
+    }
+
+    @Test
+    void acceptsMissingOrNullTypeAndData() throws IOException {
+        MessageEnvelope sync = decode("{\"type\":\"sync\"}");
+        assertEquals("sync", sync.getType());
+        assertNull(sync.getData());
+
+        MessageEnvelope nullType = decode("{\"type\":null,\"data\":{\"nickName\":\"x\"}}");
+        assertNull(nullType.getType());
+        assertNull(nullType.getData());
+
+        MessageEnvelope nullData = decode("{\"type\":\"connect\",\"data\":null}");
+        assertEquals("connect", nullData.getType());
+        assertNull(nullData.getData());
+    }
+
+    @Test
+    void parsesLenientJson() throws IOException {
+        MessageEnvelope envelope = decode("  {type:'connect', data:{nickName:carol; indexOfPlayer:3}}  ");
+        assertEquals("connect", envelope.getType());
+        ConnectPlayerMessage data = assertInstanceOf(ConnectPlayerMessage.class, envelope.getData());
+        assertEquals("carol", data.getNickName());
+        assertEquals(3, data.getIndexOfPlayer());
+
+        MessageEnvelope buffered = decode("{data:{nickName:'dave'},type:connect}");
+        assertEquals("dave", ((ConnectPlayerMessage) buffered.getData()).getNickName());
+    }
+
+    @Test
+    void ignoresBlankAndNonObjectLines() throws IOException {
+        assertNull(decode(""));
+        assertNull(decode("   "));
+        assertNull(decode("[1,2,3]"));
+        assertNull(decode("\"text\""));
+        assertNull(decode("42"));
+    }
+
+    @Test
+    void rejectsTruncatedObjects() {
+        assertThrows(JsonParseException.class, () -> decode("{\"type\":\"connect\",\"data\":{\"nickName\":"));
+        assertThrows(IOException.class, () -> decode("{\"type\":\"connect\",\"data\":{\"nickName\":\"x\"}"));
+        assertThrows(JsonParseException.class, () -> decode("{\"data\":{\"nickName\":"));
+        assertThrows(IOException.class, () -> decode("{\"data\":{\"nickName\":\"x\"}"));
+    }
+
+    private MessageEnvelope decode(String line) throws IOException {
+        return decoder.decode(new StringReader(line));
+    }
+
+    private static Class<?> dataClassOf(String type) {
+        if ("connect".equals(type)) {
+            return ConnectPlayerMessage.class;
+        }
+        if ("state".equals(type)) {
+            return GameStateMessage.class;
+        }
+        return null;
+    }
+}
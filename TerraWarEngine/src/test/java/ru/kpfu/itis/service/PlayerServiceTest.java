@@ -0,0 +1,126 @@
+package ru.kpfu.itis.service;
+
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.message.IntentMessage;
+import ru.kpfu.itis.model.Farm;
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.Hex;
+import ru.kpfu.itis.model.Player;
+import ru.kpfu.itis.model.Tower;
+import ru.kpfu.itis.model.Unit;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PlayerServiceTest {
+
+    private static final int GAMES = 30;
+    private static final int STEPS = 1000;
+    private static final int STARTING_BASE_INCOME = 100_000;
+
+    @Test
+    void ledgerMatchesFullRecount() {
+        for (int game = 0; game < GAMES; game++) {
+            Random random = new Random(game);
+            GameEngine engine = GameEngine.create(List.of("a" + game, "b", "c", "d"));
+            Map<String, Integer> baseIncomeOffset = new HashMap<>();
+            Map<Integer, Integer> initialCells = countCells(engine.getGameMap());
+            for (Player player : engine.getGame().getPlayers()) {
+                player.setBaseIncome(STARTING_BASE_INCOME);
+                engine.getPlayerService().updateTotalIncome(player);
+                baseIncomeOffset.put(player.getName(), STARTING_BASE_INCOME - initialCells.getOrDefault(player.getId(), 0));
+            }
+            assertMatchesRecount(engine, baseIncomeOffset, "игра " + game + ", начало");
+            for (int step = 0; step < STEPS; step++) {
+                Player current = engine.getGame().getCurrentPlayer();
+                if (current == null) {
+                    break;
+                }
+                current.setMoney(current.getMoney() + 5);
+                engine = applyRandomAction(engine, random, current);
+                assertMatchesRecount(engine, baseIncomeOffset, "игра " + game + ", шаг " + step);
+            }
+        }
+    }
+
+    private GameEngine applyRandomAction(GameEngine engine, Random random, Player current) {
+        GameMap map = engine.getGameMap();
+        int x = random.nextInt(map.getWidth());
+        int y = random.nextInt(map.getHeight());
+        int op = random.nextInt(100);
+        if (op < 25) {
+            engine.apply(current.getName(), IntentMessage.placeUnit(x, y, 1 + random.nextInt(3)));
+        } else if (op < 33) {
+            engine.apply(current.getName(), IntentMessage.placeTower(x, y, 1 + random.nextInt(2)));
+        } else if (op < 43) {
+            engine.apply(current.getName(), IntentMessage.placeFarm(x, y));
+        } else if (op < 85) {
+            List<Unit> units = engine.getUnitManager().getPlayerUnits(current.getId());
+            if (!units.isEmpty()) {
+                Unit unit = units.get(random.nextInt(units.size()));
+                List<Hex> radius = engine.getGameActionService().calculateActionRadius(unit);
+                if (!radius.isEmpty()) {
+                    Hex target = radius.get(random.nextInt(radius.size()));
+                    engine.apply(current.getName(),
+                            IntentMessage.move(unit.getHexX(), unit.getHexY(), target.getX(), target.getY()));
+                }
+            }
+        } else if (op < 97) {
+            engine.endTurn(current.getName());
+        } else if (op < 98 && engine.getGame().getPlayers().size() > 2) {
+            List<Player> players = engine.getGame().getPlayers();
+            engine.removePlayer(players.get(random.nextInt(players.size())).getName());
+        } else {
+            return GameEngine.restore(engine.snapshot(), engine.getGame().getCurrentPlayerIndex());
+        }
+        return engine;
+    }
+
+    private void assertMatchesRecount(GameEngine engine, Map<String, Integer> baseIncomeOffset, String context) {
+        PlayerService playerService = engine.getPlayerService();
+        Map<Integer, Integer> cells = countCells(engine.getGameMap());
+        Player onlyOwner = null;
+        int owners = 0;
+        for (Player player : engine.getGame().getPlayers()) {
+            int id = player.getId();
+            int ownedCells = cells.getOrDefault(id, 0);
+            if (ownedCells > 0) {
+                owners++;
+                onlyOwner = player;
+            }
+            int unitUpkeep = 0;
+            for (Unit unit : engine.getUnitManager().getPlayerUnits(id)) {
+                unitUpkeep += unit.getUpkeepCost();
+            }
+            int towerUpkeep = 0;
+            for (Tower tower : engine.getTowerManager().getPlayerTowers(id)) {
+                towerUpkeep += TowerManager.getTowerUpkeep(tower.getLevel());
+            }
+            int farmIncome = engine.getFarmManager().getPlayerFarms(id).size() * Farm.BASE_INCOME;
+            String where = context + ", игрок " + player.getName();
+            assertEquals(ownedCells, playerService.getOwnedCells(id), where + ": клетки");
+            assertEquals(baseIncomeOffset.get(player.getName()) + ownedCells, player.getBaseIncome(), where + ": базовый доход");
+            assertEquals(unitUpkeep, player.getUnitUpkeep(), where + ": содержание юнитов");
+            assertEquals(towerUpkeep, player.getTowerUpkeep(), where + ": содержание башен");
+            assertEquals(farmIncome, player.getFarmIncome(), where + ": доход ферм");
+            assertEquals(player.getBaseIncome() - unitUpkeep - towerUpkeep + farmIncome, player.getIncome(), where + ": доход");
+        }
+        assertSame(owners == 1 ? onlyOwner : null, playerService.getTerritoryWinner(), context + ": победитель");
+    }
+
+    private Map<Integer, Integer> countCells(GameMap map) {
+        Map<Integer, Integer> cells = new HashMap<>();
+        for (int cell = 0; cell < map.getWidth() * map.getHeight(); cell++) {
+            if (map.hasHex(cell) && map.getHexByCell(cell).getOwnerId() != -1) {
+                cells.merge(map.getHexByCell(cell).getOwnerId(), 1, Integer::sum);
+            }
+        }
+        return cells;
+    }
+}
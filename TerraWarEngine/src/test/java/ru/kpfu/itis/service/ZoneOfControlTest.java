@@ -0,0 +1,143 @@
+package ru.kpfu.itis.service;
+
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.model.GameMap;
+import ru.kpfu.itis.model.Hex;
+import ru.kpfu.itis.model.Player;
+import ru.kpfu.itis.model.Tower;
+import ru.kpfu.itis.model.Unit;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ZoneOfControlTest {
+
+    private static final int GAMES = 40;
+    private static final int STEPS = 200;
+
+    @Test
+    void incrementalCoverageMatchesFullRescan() {
+        for (int game = 0; game < GAMES; game++) {
+            Random random = new Random(game);
+            GameEngine engine = GameEngine.create(List.of("a" + game, "b", "c", "d"));
+            List<Integer> cells = existingCells(engine.getGameMap());
+            for (int step = 0; step < STEPS; step++) {
+                List<Player> players = engine.getGame().getPlayers();
+                if (players.isEmpty()) {
+                    break;
+                }
+                engine = applyRandomChange(engine, random, cells, players);
+                assertMatchesRescan(engine, "игра " + game + ", шаг " + step);
+            }
+        }
+    }
+
+    private GameEngine applyRandomChange(GameEngine engine, Random random, List<Integer> cells, List<Player> players) {
+        GameMap map = engine.getGameMap();
+        UnitManager units = engine.getUnitManager();
+        TowerManager towers = engine.getTowerManager();
+        int ownerId = players.get(random.nextInt(players.size())).getId();
+        int cell = cells.get(random.nextInt(cells.size()));
+        int x = map.cellX(cell);
+        int y = map.cellY(cell);
+        boolean free = units.getUnitAt(x, y) == null && towers.getTowerAt(x, y) == null;
+        int op = random.nextInt(100);
+        if (op < 25) {
+            if (free) {
+                units.createUnit(ownerId, x, y, 1 + random.nextInt(3));
+            }
+        } else if (op < 40) {
+            List<Unit> all = units.getAllUnits();
+            if (!all.isEmpty() && units.getUnitAt(x, y) == null) {
+                units.moveUnit(all.get(random.nextInt(all.size())), x, y);
+            }
+        } else if (op < 50) {
+            List<Unit> all = units.getAllUnits();
+            if (!all.isEmpty()) {
+                units.removeUnit(all.get(random.nextInt(all.size())).getId());
+            }
+        } else if (op < 62) {
+            if (free) {
+                towers.createTower(ownerId, x, y, 1 + random.nextInt(2));
+            }
+        } else if (op < 70) {
+            List<Tower> own = towers.getPlayerTowers(ownerId);
+            if (!own.isEmpty()) {
+                towers.removeTower(own.get(random.nextInt(own.size())).getId());
+            }
+        } else if (op < 96) {
+            map.getHexByCell(cell).setOwnerId(random.nextInt(players.size() + 1) - 1);
+        } else if (op < 97) {
+            engine.removePlayer(players.get(random.nextInt(players.size())).getName());
+        } else {
+            return GameEngine.restore(engine.snapshot(), 0);
+        }
+        return engine;
+    }
+
+    private void assertMatchesRescan(GameEngine engine, String context) {
+        GameMap map = engine.getGameMap();
+        ZoneOfControl zone = engine.getZoneOfControl();
+        List<Integer> cells = existingCells(map);
+        for (Player player : engine.getGame().getPlayers()) {
+            for (int level = 1; level <= ZoneOfControl.MAX_UNIT_LEVEL; level++) {
+                Set<Integer> expected = findBlockedHexes(engine, player.getId(), level);
+                for (int cell : cells) {
+                    assertEquals(expected.contains(cell), zone.isBlocked(cell, player.getId(), level),
+                            context + ": клетка " + cell + ", игрок " + player.getId() + ", уровень " + level);
+                }
+            }
+        }
+    }
+
+    private Set<Integer> findBlockedHexes(GameEngine engine, int ownerId, int unitLevel) {
+        GameMap map = engine.getGameMap();
+        GameMapService mapService = engine.getGameMapService();
+        Set<Integer> blocked = new HashSet<>();
+        for (Player player : engine.getGame().getPlayers()) {
+            if (player.getId() == ownerId) {
+                continue;
+            }
+            for (Unit unit : engine.getUnitManager().getPlayerUnits(player.getId())) {
+                if (unit.getLevel() > unitLevel) {
+                    for (Hex neighbor : mapService.getNeighbors(unit.getHexX(), unit.getHexY())) {
+                        blocked.add(map.cell(neighbor.getX(), neighbor.getY()));
+                    }
+                }
+            }
+            for (Tower tower : engine.getTowerManager().getPlayerTowers(player.getId())) {
+                blocked.addAll(getBlockedHexesByTower(engine, tower, unitLevel));
+            }
+        }
+        return blocked;
+    }
+
+    private Set<Integer> getBlockedHexesByTower(GameEngine engine, Tower tower, int unitLevel) {
+        Set<Integer> blocked = new HashSet<>();
+        if (tower.canUnitPassThrough(unitLevel)) {
+            return blocked;
+        }
+        for (Hex neighbor : engine.getGameMapService().getNeighbors(tower.getHexX(), tower.getHexY())) {
+            if (neighbor.getOwnerId() == tower.getOwnerId()) {
+                blocked.add(engine.getGameMap().cell(neighbor.getX(), neighbor.getY()));
+            }
+        }
+        return blocked;
+    }
+
+    private List<Integer> existingCells(GameMap map) {
+        List<Integer> cells = new ArrayList<>();
+        for (int cell = 0; cell < map.getWidth() * map.getHeight(); cell++) {
+            if (map.hasHex(cell)) {
+                cells.add(cell);
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,114 @@
+package ru.kpfu.itis.network.transport;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.ServerService;
+import ru.kpfu.itis.enums.TransportMode;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 1, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Xss512k"})
+public class ConnectionScaleBenchmark {
+
+    private static final int PORT = 5555;
+    private static final byte[] REQUEST = "{\"type\":\"sync\"}\n".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"10", "100", "1000", "10000"})
+    public int connections;
+
+    @Param({"NIO", "BLOCKING"})
+    public TransportMode transport;
+
+    private ServerService server;
+    private SocketChannel[] clients;
+    private final ByteBuffer request = ByteBuffer.wrap(REQUEST);
+    private final ByteBuffer response = ByteBuffer.allocate(4096);
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long threads;
+        public long heapKilobytes;
+        public long rssKilobytes;
+
+        @TearDown(Level.Iteration)
+        public void measure() throws IOException {
+            System.gc();
+            MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            threads = ManagementFactory.getThreadMXBean().getThreadCount();
+            heapKilobytes = heap.getUsed() / 1024;
+            rssKilobytes = residentKilobytes();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void connect() throws IOException {
+        server = new ServerService(transport);
+        server.start();
+        clients = new SocketChannel[connections];
+        for (int i = 0; i < connections; i++) {
+            clients[i] = SocketChannel.open(new InetSocketAddress("localhost", PORT));
+        }
+        for (int i = 0; i < connections; i++) {
+            roundTrip(clients[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() throws IOException {
+        for (SocketChannel client : clients) {
+            client.close();
+        }
+        server.stop();
+    }
+
+    @Benchmark
+    public int requestOnIdleServer(Footprint footprint) throws IOException {
+        SocketChannel client = clients[next];
+        next = (next + 1) % clients.length;
+        return roundTrip(client);
+    }
+
+    private int roundTrip(SocketChannel client) throws IOException {
+        request.clear();
+        while (request.hasRemaining()) {
+            client.write(request);
+        }
+        response.clear();
+        while (true) {
+            if (client.read(response) < 0) {
+                throw new IOException("Сервер закрыл соединение");
+            }
+            if (response.position() > 0 && response.get(response.position() - 1) == '\n') {
+                return response.position();
+            }
+        }
+    }
+
+    private static long residentKilobytes() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,141 @@
+package ru.kpfu.itis.room;
+
+import org.openjdk.jmh.annotations.*;
+import ru.kpfu.itis.ServerService;
+import ru.kpfu.itis.enums.TransportMode;
+import ru.kpfu.itis.message.ConnectPlayerMessage;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 1, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BroadcastLatencyBenchmark {
+
+    private static final int PORT = 5555;
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final byte[] END_TURN = "{\"type\":\"endTurn\"}\n".getBytes(StandardCharsets.UTF_8);
+    private static final int LINES_PER_ROUND = Room.CAPACITY + 1;
+
+    @Param({"25", "250"})
+    public int rooms;
+
+    @Param({"BLOCKING", "VIRTUAL"})
+    public TransportMode transport;
+
+    private ServerService server;
+    private SocketChannel[] clients;
+    private Selector selector;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private long receivedLines;
+    private long expectedLines;
+    private int turn;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Threads {
+        public long liveThreads;
+        public long peakThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void measure() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            liveThreads = threads.getThreadCount();
+            peakThreads = threads.getPeakThreadCount();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void startMatches() throws IOException {
+        server = new ServerService(transport);
+        server.start();
+        selector = Selector.open();
+        clients = new SocketChannel[rooms * Room.CAPACITY];
+        for (int i = 0; i < clients.length; i++) {
+            SocketChannel client = SocketChannel.open(new InetSocketAddress("localhost", PORT));
+            client.configureBlocking(false);
+            client.register(selector, SelectionKey.OP_READ);
+            clients[i] = client;
+            String connect = "{\"type\":\"connect\",\"data\":{\"nickName\":\"p" + i + "\",\"indexOfPlayer\":"
+                    + i % Room.CAPACITY + ",\"protocolVersion\":" + ConnectPlayerMessage.PROTOCOL_VERSION + "}}\n";
+            write(client, connect.getBytes(StandardCharsets.UTF_8));
+            expectedLines += 1 + i % Room.CAPACITY + 1;
+            awaitLines();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMatches() throws IOException {
+        for (SocketChannel client : clients) {
+            client.close();
+        }
+        selector.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public long broadcastRound(Threads threads) throws IOException {
+        for (int room = 0; room < rooms; room++) {
+            write(clients[room * Room.CAPACITY + turn], END_TURN);
+        }
+        turn = (turn + 1) % Room.CAPACITY;
+        expectedLines += (long) rooms * LINES_PER_ROUND;
+        awaitLines();
+        return receivedLines;
+    }
+
+    private void write(SocketChannel client, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            client.write(buffer);
+        }
+    }
+
+    private void awaitLines() throws IOException {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (receivedLines < expectedLines) {
+            if (System.nanoTime() > deadline) {
+                throw new IOException("Не дождались рассылки: " + receivedLines + " из " + expectedLines + " строк");
+            }
+            selector.select(100);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                readLines((SocketChannel) key.channel());
+            }
+        }
+    }
+
+    private void readLines(SocketChannel client) throws IOException {
+        int read;
+        while ((read = client.read(readBuffer.clear())) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (readBuffer.get(i) == '\n') {
+                    receivedLines++;
+                }
+            }
+        }
+        if (read < 0) {
+            throw new IOException("Сервер закрыл соединение");
+        }
+    }
+}
@@ -6,53 +6,17 @@ import java.util.List;
 public class GameState {
 
     private final List<String> players = new ArrayList<>();
-    private int currentTurn = 0;
 
-    public synchronized void addPlayer(String nick) {
+    public void addPlayer(String nick) {
         players.add(nick);
     }
 
-    public synchronized void removePlayer(String nick) {
-        if (players.isEmpty()) return;
-
-        int removedIndex = players.indexOf(nick);
-        if (removedIndex < 0) {
-            return;
-        }
-
-        boolean wasCurrent = removedIndex == currentTurn;
-        
-        players.remove(removedIndex);
-
-        if (players.isEmpty()) {
-            currentTurn = 0;
-            return;
-        }
-
-        if (wasCurrent) {
-            currentTurn = currentTurn % players.size();
-        } else if (removedIndex < currentTurn) {
-            currentTurn = Math.max(0, currentTurn - 1);
-        }
+    public void removePlayer(String nick) {
+        players.remove(nick);
     }
 
-    public synchronized List<String> getPlayers() {
+    public List<String> getPlayers() {
         return new ArrayList<>(players);
     }
 
-    public synchronized int getCurrentTurn() {
-        return currentTurn;
-    }
-
-    public synchronized void nextTurn() {
-        if (players.isEmpty()) return;
-        currentTurn = (currentTurn + 1) % players.size();
-    }
-
-    public synchronized boolean isPlayersTurn(String nick) {
-        if (players.isEmpty()) return false;
-        String current = players.get(currentTurn);
-        return current != null && current.equals(nick);
-    }
-
-}
\ No newline at end of file
+}
@@ -1,33 +1,29 @@
 package ru.kpfu.itis;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.enums.WireFormat;
 import ru.kpfu.itis.message.*;
+import ru.kpfu.itis.network.EncodedFrame;
+import ru.kpfu.itis.network.codec.WireCodec;
+import ru.kpfu.itis.network.connection.PlayerConnection;
+import ru.kpfu.itis.room.Room;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class PlayerHandler implements Runnable {
+public class PlayerHandler {
 
-    private final Socket socket;
+    private final PlayerConnection connection;
     private final ServerService server;
-    private final Gson gson = new Gson();
-    private PrintWriter writer;
-    private BufferedReader reader;
-    private String nick = "unknown";
+    private final WireCodec codec = new WireCodec();
+    private volatile WireFormat wireFormat = WireFormat.JSON;
+    private volatile String nick = "unknown";
+    private volatile Room room;
+    private long lastSentVersion = -1;
     private final AtomicBoolean running = new AtomicBoolean(true);
 
-    public PlayerHandler(Socket socket, ServerService server) {
-        this.socket = socket;
+    public PlayerHandler(PlayerConnection connection, ServerService server) {
+        this.connection = connection;
         this.server = server;
     }
 
@@ -35,79 +31,143 @@ public class PlayerHandler implements Runnable {
         return nick;
     }
 
+    public Room getRoom() {
+        return room;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public long getLastSentVersion() {
+        return lastSentVersion;
+    }
+
+    public void setLastSentVersion(long lastSentVersion) {
+        this.lastSentVersion = lastSentVersion;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
     public void sendEnvelope(MessageEnvelope envelope) {
+        sendFrame(codec.encode(wireFormat, envelope));
+    }
+
+    public boolean sendFrame(EncodedFrame frame) {
         try {
-            String json = gson.toJson(envelope);
-            writer.println(json);
-            writer.flush();
+            return connection.send(frame);
         } catch (Exception e) {
+            if (running.get()) {
+                log.warn("Отключаем {} ({}): {}", nick, connection.getRemoteAddress(), e.getMessage());
+            }
             shutdown();
+            return false;
         }
     }
 
-    private void shutdown() {
-        running.set(false);
-        try { reader.close(); } catch (Exception ignored) {}
-        try { writer.close(); } catch (Exception ignored) {}
-        try { socket.close(); } catch (IOException ignored) {}
+    public void evictIfLagging() {
+        if (running.get() && connection.evictIfLagging()) {
+            log.warn("Отключаем {} ({}): клиент не забирает очередь отправки", nick, connection.getRemoteAddress());
+            shutdown();
+        }
+    }
+
+    public void shutdown() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+        connection.close();
         server.removePlayer(this);
     }
 
-    @Override
-    public void run() {
+    public void onJoined(Room joined) {
+        MessageResponse<String> resp = new MessageResponse<>(true, "connected", nick);
+        sendEnvelope(new MessageEnvelope("response", resp));
+        joined.broadcastGameState();
+    }
+
+    public void handleFrame(WireFormat format, byte[] frame, int length) {
+        this.wireFormat = format;
         try {
-            reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            writer = new PrintWriter(socket.getOutputStream(), true);
-
-            String line;
-            while (running.get() && (line = reader.readLine()) != null) {
-                log.debug("Сервер читает из {}: {}", socket.getInetAddress(), line);
-                try {
-                    JsonElement jsonElement = JsonParser.parseString(line);
-                    if (!jsonElement.isJsonObject()) continue;
-                    JsonObject jsonObject = jsonElement.getAsJsonObject();
-                    String type = jsonObject.has("type") ? jsonObject.get("type").getAsString() : null;
-                    JsonElement dataEl = jsonObject.get("data");
-
-                    if ("connect".equals(type)) {
-                        ConnectPlayerMessage connectPlayerMsg = gson.fromJson(dataEl, ConnectPlayerMessage.class);
-                        this.nick = connectPlayerMsg.getNickName();
-                        server.registerPlayer(connectPlayerMsg);
-                        MessageResponse<String> resp = new MessageResponse<>(true, "connected", nick);
-                        sendEnvelope(new MessageEnvelope("response", resp));
-                        server.broadcastGameState();
-                    } else if ("stateUpdate".equals(type)) {
-                        FullGameState fullGameState = gson.fromJson(dataEl, FullGameState.class);
-                        boolean ok = server.applyClientState(this, fullGameState);
-                        MessageResponse<String> resp = new MessageResponse<>(ok, ok ? "state accepted" : "invalid state or not your turn", null);
-                        sendEnvelope(new MessageEnvelope("response", resp));
-                        if (ok) {
-                            server.broadcastGameState();
-                        }
-                    } else if ("endTurn".equals(type)) {
-                        server.endTurn();
-                        MessageResponse<String> resp = new MessageResponse<>(true, "turn ended", null);
-                        sendEnvelope(new MessageEnvelope("response", resp));
-                        server.broadcastGameState();
-                    } else if ("leave".equals(type)) {
-                        LeaveMessage lm = gson.fromJson(dataEl, LeaveMessage.class);
-                        server.handleLeave(this);
-                        MessageResponse<String> resp = new MessageResponse<>(true, "left", null);
-                        sendEnvelope(new MessageEnvelope("response", resp));
-                    } else {
-                        MessageResponse<String> resp = new MessageResponse<>(false, "unknown type", null);
-                        sendEnvelope(new MessageEnvelope("response", resp));
-                    }
-                } catch (Exception e) {
-                    log.error("Error handling message: {}", e.getMessage(), e);
-                    MessageResponse<String> resp = new MessageResponse<>(false, "server error: " + e.getMessage(), null);
-                    sendEnvelope(new MessageEnvelope("response", resp));
+            MessageEnvelope envelope = codec.decode(format, frame, length);
+            if (envelope == null) return;
+            log.debug("Сервер читает из {}: {} ({} байт, {})", connection.getRemoteAddress(), envelope.getType(), length, format);
+            String type = envelope.getType();
+            Object data = envelope.getData();
+
+            if ("connect".equals(type)) {
+                if (room != null) {
+                    sendResponse(false, "already connected");
+                    return;
                 }
+                ConnectPlayerMessage connectPlayerMsg = (ConnectPlayerMessage) data;
+                if (connectPlayerMsg.getProtocolVersion() != ConnectPlayerMessage.PROTOCOL_VERSION) {
+                    log.warn("Отклонен клиент {} ({}): версия протокола {}, сервер поддерживает {}",
+                            connectPlayerMsg.getNickName(), connection.getRemoteAddress(),
+                            connectPlayerMsg.getProtocolVersion(), ConnectPlayerMessage.PROTOCOL_VERSION);
+                    sendResponse(false, outdatedClientMessage(connectPlayerMsg.getProtocolVersion()));
+                    return;
+                }
+                this.nick = connectPlayerMsg.getNickName();
+                this.room = server.joinRoom(this, connectPlayerMsg);
+                return;
             }
-        } catch (IOException e) {
-            log.error("Проблемы у {}: {}", nick, e.getMessage(), e);
-        } finally {
-            shutdown();
+
+            if ("stateUpdate".equals(type) || "clientStateDelta".equals(type)) {
+                sendResponse(false, outdatedClientMessage(0));
+                return;
+            }
+
+            Room current = room;
+            if (current == null) {
+                sendResponse(false, "not connected");
+                return;
+            }
+
+            if ("intent".equals(type)) {
+                server.getMetrics().recordIntent(length);
+                IntentMessage intent = (IntentMessage) data;
+                current.execute(() -> {
+                    String error = current.applyIntent(this, intent);
+                    sendResponse(error == null, error == null ? "action accepted" : error);
+                    if (error == null) {
+                        current.publishState();
+                    }
+                });
+            } else if ("sync".equals(type)) {
+                current.execute(() -> current.sendFullState(this));
+            } else if ("endTurn".equals(type)) {
+                current.execute(() -> {
+                    String error = current.endTurn(this);
+                    sendResponse(error == null, error == null ? "turn ended" : error);
+                    if (error == null) {
+                        current.publishState();
+                    }
+                });
+            } else if ("leave".equals(type)) {
+                log.info("Игрок сдался: {}", nick);
+                current.execute(() -> {
+                    current.leave(this);
+                    sendResponse(true, "left");
+                });
+            } else {
+                sendResponse(false, "unknown type");
+            }
+        } catch (Exception e) {
+            log.error("Error handling message: {}", e.getMessage(), e);
+            sendResponse(false, "server error: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private String outdatedClientMessage(int protocolVersion) {
+        return "Версия клиента устарела (протокол " + protocolVersion + ", сервер поддерживает "
+                + ConnectPlayerMessage.PROTOCOL_VERSION + "). Обновите клиент.";
+    }
+
+    private void sendResponse(boolean success, String message) {
+        MessageResponse<String> resp = new MessageResponse<>(success, message, null);
+        sendEnvelope(new MessageEnvelope("response", resp));
+    }
+}
@@ -1,5 +1,9 @@
 package ru.kpfu.itis;
 
+import ru.kpfu.itis.enums.TransportMode;
+import ru.kpfu.itis.network.OutboundPolicy;
+import ru.kpfu.itis.persistence.PersistencePolicy;
+
 import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
 
@@ -7,7 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ServerMain {
 
     public static void main(String[] args) {
-        ServerService server = new ServerService();
+        ServerService server = new ServerService(TransportMode.fromArgs(args), OutboundPolicy.fromArgs(args),
+                PersistencePolicy.fromArgs(args));
         try {
             server.start();
             log.info("Сервер запущен. Ожидаются подключения игроков...");
@@ -26,6 +31,11 @@ public class ServerMain {
             }
         }));
 
+        try {
+            server.awaitStop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
 
@@ -1,38 +1,103 @@
 package ru.kpfu.itis;
 
-import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.enums.TransportMode;
 import ru.kpfu.itis.message.ConnectPlayerMessage;
-import ru.kpfu.itis.message.GameStateMessage;
-import ru.kpfu.itis.message.LeaveMessage;
-import ru.kpfu.itis.message.MessageEnvelope;
+import ru.kpfu.itis.metrics.ServerMetrics;
+import ru.kpfu.itis.network.OutboundPolicy;
+import ru.kpfu.itis.network.OutboundQueue;
+import ru.kpfu.itis.network.connection.PlayerConnection;
+import ru.kpfu.itis.network.connection.SocketConnection;
+import ru.kpfu.itis.network.transport.NioTransport;
+import ru.kpfu.itis.persistence.MatchStore;
+import ru.kpfu.itis.persistence.PersistencePolicy;
+import ru.kpfu.itis.room.Room;
+import ru.kpfu.itis.room.RoomManager;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.*;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ServerService {
 
-    private final ExecutorService acceptorPool = Executors.newSingleThreadExecutor();
-    private final ExecutorService clientPool = Executors.newCachedThreadPool();
-    private final CopyOnWriteArrayList<PlayerHandler> players = new CopyOnWriteArrayList<>();
-    private final GameState gameState = new GameState();
-    private volatile FullGameState lastStateSnapshot;
+    private static final int PORT = 5555;
+    private static final long METRICS_LOG_PERIOD_SECONDS = 60;
+    private static final long LAG_SWEEP_PERIOD_MILLIS = 1_000;
+
+    private final TransportMode transportMode;
+    private final OutboundPolicy outboundPolicy;
+    private final ExecutorService acceptorPool;
+    private final ExecutorService clientPool;
+    private final ServerMetrics metrics = new ServerMetrics();
+    private final MatchStore matchStore;
+    private final RoomManager roomManager;
+    private final Set<PlayerHandler> handlers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeping = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "housekeeping");
+        thread.setDaemon(true);
+        return thread;
+    });
     private ServerSocket serverSocket;
+    private NioTransport nioTransport;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    public ServerService() {
+        this(TransportMode.BLOCKING);
+    }
+
+    public ServerService(TransportMode transportMode) {
+        this(transportMode, OutboundPolicy.defaults());
+    }
+
+    public ServerService(TransportMode transportMode, OutboundPolicy outboundPolicy) {
+        this(transportMode, outboundPolicy, PersistencePolicy.defaults());
+    }
+
+    public ServerService(TransportMode transportMode, OutboundPolicy outboundPolicy, PersistencePolicy persistencePolicy) {
+        this.transportMode = transportMode;
+        this.outboundPolicy = outboundPolicy;
+        this.matchStore = new MatchStore(persistencePolicy, metrics);
+        this.roomManager = new RoomManager(Runtime.getRuntime().availableProcessors(), metrics, matchStore,
+                housekeeping, persistencePolicy.getRejoinTimeoutSeconds());
+        if (persistencePolicy.isEnabled()) {
+            log.warn("Восстановление матчей включено ({}): после рестарта место занимает любой клиент с тем же ником",
+                    persistencePolicy.getDataDir().toAbsolutePath());
+        }
+        if (transportMode == TransportMode.VIRTUAL) {
+            this.acceptorPool = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("acceptor").factory());
+            this.clientPool = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("player-", 0).factory());
+        } else {
+            this.acceptorPool = Executors.newSingleThreadExecutor();
+            this.clientPool = Executors.newCachedThreadPool();
+        }
+    }
 
     public void start() throws IOException {
-        serverSocket = new ServerSocket(5555);
-        log.info("Сервер запустился, порт {}", 5555);
+        housekeeping.scheduleAtFixedRate(metrics::logSummary,
+                METRICS_LOG_PERIOD_SECONDS, METRICS_LOG_PERIOD_SECONDS, TimeUnit.SECONDS);
+        housekeeping.scheduleAtFixedRate(this::evictLaggingClients,
+                LAG_SWEEP_PERIOD_MILLIS, LAG_SWEEP_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        roomManager.recover(matchStore.recover());
+        if (transportMode == TransportMode.NIO) {
+            startNio();
+            return;
+        }
+        serverSocket = new ServerSocket(PORT);
+        log.info("Сервер запустился ({}), порт {}", transportMode, PORT);
         acceptorPool.submit(() -> {
             try {
                 while (!serverSocket.isClosed()) {
                     Socket socket = serverSocket.accept();
-                    PlayerHandler handler = new PlayerHandler(socket, this);
-                    players.add(handler);
-                    clientPool.submit(handler);
+                    boolean writerThread = transportMode == TransportMode.VIRTUAL;
+                    SocketConnection connection = new SocketConnection(socket, createOutboundQueue(), writerThread);
+                    connection.attach(createHandler(connection));
+                    clientPool.submit(connection);
+                    if (writerThread) {
+                        clientPool.submit(connection::writeLoop);
+                    }
                 }
             } catch (IOException e) {
                 log.error("Получение остановлено: {}", e.getMessage(), e);
@@ -40,90 +105,61 @@ public class ServerService {
         });
     }
 
-    public void stop() throws IOException {
-        serverSocket.close();
-        acceptorPool.shutdownNow();
-        clientPool.shutdownNow();
+    private void startNio() throws IOException {
+        nioTransport = new NioTransport(this, Runtime.getRuntime().availableProcessors());
+        nioTransport.bind(PORT);
+        log.info("Сервер запустился (NIO), порт {}", PORT);
+        acceptorPool.submit(nioTransport::acceptLoop);
     }
 
-    public void registerPlayer(ConnectPlayerMessage connectPlayerMessage) {
-        gameState.addPlayer(connectPlayerMessage.getNickName());
-        log.info("Зарегестрирован новый игрок: {}", connectPlayerMessage.getNickName());
+    public ServerMetrics getMetrics() {
+        return metrics;
     }
 
-    public void removePlayer(PlayerHandler handler) {
-        String leavingPlayerNick = handler.getNick();
-        players.remove(handler);
-        gameState.removePlayer(leavingPlayerNick);
-        
-        if (lastStateSnapshot != null) {
-            cleanPlayerDataFromState(leavingPlayerNick);
-        }
-        
-        broadcastGameState();
-        log.info("Удален игрок: {}", leavingPlayerNick);
+    public OutboundQueue createOutboundQueue() {
+        return new OutboundQueue(outboundPolicy, metrics);
     }
 
-    private void cleanPlayerDataFromState(String playerNick) {
-        if (lastStateSnapshot == null || lastStateSnapshot.getPlayersState() == null) return;
-
-        lastStateSnapshot.getPlayersState().stream()
-                .filter(ps -> playerNick.equals(ps.getName()))
-                .findFirst()
-                .ifPresent(playerState -> {
-                    int playerId = playerState.getId();
-
-                    Optional.ofNullable(lastStateSnapshot.getHexes())
-                            .ifPresent(hexes -> hexes.stream()
-                                    .filter(hex -> hex.getOwnerId() == playerId)
-                                    .forEach(hex -> hex.setOwnerId(-1)));
-
-                    Optional.ofNullable(lastStateSnapshot.getUnits())
-                            .ifPresent(units -> units.removeIf(unit -> unit.getOwnerId() == playerId));
-
-                    Optional.ofNullable(lastStateSnapshot.getTowers())
-                            .ifPresent(towers -> towers.removeIf(tower -> tower.getOwnerId() == playerId));
-
-                    Optional.ofNullable(lastStateSnapshot.getFarms())
-                            .ifPresent(farms -> farms.removeIf(farm -> farm.getOwnerId() == playerId));
-
-                    lastStateSnapshot.getPlayersState().removeIf(ps -> ps.getId() == playerId);
-                });
+    public PlayerHandler createHandler(PlayerConnection connection) {
+        PlayerHandler handler = new PlayerHandler(connection, this);
+        handlers.add(handler);
+        return handler;
     }
 
-    public void endTurn() {
-        gameState.nextTurn();
+    private void evictLaggingClients() {
+        for (PlayerHandler handler : handlers) {
+            handler.evictIfLagging();
+        }
     }
 
-    public void broadcastGameState() {
-        GameStateMessage gameStateMessage = new GameStateMessage(
-                gameState.getPlayers(),
-                gameState.getCurrentTurn(),
-                lastStateSnapshot
-        );
-        broadcast(new MessageEnvelope("state", gameStateMessage));
+    public void stop() throws IOException {
+        roomManager.stop();
+        matchStore.stop();
+        if (nioTransport != null) {
+            nioTransport.stop();
+        } else {
+            serverSocket.close();
+        }
+        acceptorPool.shutdownNow();
+        clientPool.shutdownNow();
+        housekeeping.shutdownNow();
+        metrics.logSummary();
+        stopped.countDown();
     }
 
-    public boolean applyClientState(PlayerHandler handler, FullGameState snapshot) {
-        if (snapshot == null) {
-            log.warn("Состояние не обновлено: snapshot null от {}", handler.getNick());
-            return false;
-        }
-        if (!gameState.isPlayersTurn(handler.getNick())) {
-            return false;
-        }
-        lastStateSnapshot = snapshot;
-        return true;
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
     }
 
-    public void handleLeave(PlayerHandler handler) {
-        log.info("Игрок сдался: {}", handler.getNick());
-        removePlayer(handler);
+    public Room joinRoom(PlayerHandler handler, ConnectPlayerMessage connectPlayerMessage) {
+        return roomManager.join(handler, connectPlayerMessage);
     }
 
-    public void broadcast(MessageEnvelope envelope) {
-        for (PlayerHandler p : players) {
-            p.sendEnvelope(envelope);
+    public void removePlayer(PlayerHandler handler) {
+        handlers.remove(handler);
+        Room room = handler.getRoom();
+        if (room != null) {
+            room.execute(() -> room.leave(handler));
         }
     }
 
@@ -1,22 +0,0 @@
-package ru.kpfu.itis.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class UnitState {
-
-    private int id;
-    private int ownerId;
-    private int hexX;
-    private int hexY;
-    private int level;
-    private int actionRadius;
-    private boolean hasActed;
-    private int upkeepCost;
-
-}
-
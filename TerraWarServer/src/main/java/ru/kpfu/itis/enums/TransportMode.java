@@ -0,0 +1,16 @@
+package ru.kpfu.itis.enums;
+
+public enum TransportMode {
+    BLOCKING,
+    VIRTUAL,
+    NIO;
+
+    public static TransportMode fromArgs(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--transport=")) {
+                return valueOf(arg.substring("--transport=".length()).toUpperCase());
+            }
+        }
+        return BLOCKING;
+    }
+}
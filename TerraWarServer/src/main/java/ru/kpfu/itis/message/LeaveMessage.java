@@ -1,18 +0,0 @@
-package ru.kpfu.itis.message;
-
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
-@NoArgsConstructor
-@AllArgsConstructor
-@Getter
-@Setter
-public class LeaveMessage {
-
-    private String reason;
-
-}
-
-
@@ -0,0 +1,93 @@
+package ru.kpfu.itis.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class ServerMetrics {
+
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder recipients = new LongAdder();
+    private final LongAdder bytesEncoded = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder savedEncodeNanos = new LongAdder();
+    private final LongAdder inboundIntents = new LongAdder();
+    private final LongAdder inboundIntentBytes = new LongAdder();
+    private final LongAdder queuedFrames = new LongAdder();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Long::max, 0);
+    private final LongAdder coalescedFrames = new LongAdder();
+    private final LongAdder evictedClients = new LongAdder();
+    private final LongAdder journalAppends = new LongAdder();
+    private final LongAdder journalAppendNanos = new LongAdder();
+    private final LongAccumulator maxJournalAppendNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder journalCommits = new LongAdder();
+
+    public void recordBroadcast(int recipientCount, int frameBytes, long frameEncodeNanos) {
+        broadcasts.increment();
+        recipients.add(recipientCount);
+        bytesEncoded.add(frameBytes);
+        encodeNanos.add(frameEncodeNanos);
+        if (recipientCount > 1) {
+            savedEncodeNanos.add(frameEncodeNanos * (recipientCount - 1));
+        }
+    }
+
+    public void recordIntent(int bytes) {
+        inboundIntents.increment();
+        inboundIntentBytes.add(bytes);
+    }
+
+    public void recordEnqueued(int queueDepth) {
+        queuedFrames.increment();
+        maxQueueDepth.accumulate(queueDepth);
+    }
+
+    public void recordDequeued(int frames) {
+        queuedFrames.add(-frames);
+    }
+
+    public void recordCoalesced(int frames) {
+        coalescedFrames.add(frames);
+    }
+
+    public void recordEviction() {
+        evictedClients.increment();
+    }
+
+    public void recordJournalAppend(long nanos) {
+        journalAppends.increment();
+        journalAppendNanos.add(nanos);
+        maxJournalAppendNanos.accumulate(nanos);
+    }
+
+    public void recordJournalCommit() {
+        journalCommits.increment();
+    }
+
+    public void logSummary() {
+        log.info("Очереди отправки: сейчас {} кадров, максимум в одной {}, отброшено устаревших {}, отключено медленных клиентов {}",
+                queuedFrames.sum(), maxQueueDepth.get(), coalescedFrames.sum(), evictedClients.sum());
+        long intents = inboundIntents.sum();
+        if (intents > 0) {
+            log.info("Входящие действия: {} (в среднем {} байт)", intents, inboundIntentBytes.sum() / intents);
+        }
+        long appends = journalAppends.sum();
+        if (appends > 0) {
+            log.info("Журнал матчей: записей {}, fsync {}, задержка записи: средняя {} мкс, максимум {} мкс",
+                    appends, journalCommits.sum(), journalAppendNanos.sum() / appends / 1_000,
+                    maxJournalAppendNanos.get() / 1_000);
+        }
+        long count = broadcasts.sum();
+        if (count == 0) {
+            return;
+        }
+        log.info("Рассылки: {}, получателей в среднем: {}, байт на рассылку: {}, кодирование: {} мкс, сэкономлено: {} мс",
+                count,
+                recipients.sum() / count,
+                bytesEncoded.sum() / count,
+                encodeNanos.sum() / count / 1_000,
+                savedEncodeNanos.sum() / 1_000_000);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.kpfu.itis.network;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class EncodedFrame {
+
+    public enum Kind {
+        CONTROL,
+        DELTA,
+        SNAPSHOT
+    }
+
+    private final byte[] bytes;
+    private final Kind kind;
+
+    private EncodedFrame(byte[] bytes, Kind kind) {
+        this.bytes = bytes;
+        this.kind = kind;
+    }
+
+    public static EncodedFrame of(byte[] bytes) {
+        return new EncodedFrame(bytes, Kind.CONTROL);
+    }
+
+    public static EncodedFrame ofLine(String line) {
+        return new EncodedFrame((line + "\n").getBytes(StandardCharsets.UTF_8), Kind.CONTROL);
+    }
+
+    public EncodedFrame withKind(Kind kind) {
+        return kind == this.kind ? this : new EncodedFrame(bytes, kind);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.kpfu.itis.network;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OutboundPolicy {
+
+    private static final int DEFAULT_MAX_QUEUED_FRAMES = 256;
+    private static final long DEFAULT_MAX_LAG_MILLIS = 5_000;
+    private static final int DEFAULT_MAX_QUEUED_STATE_FRAMES = 16;
+
+    private final int maxQueuedFrames;
+    private final long maxLagMillis;
+    private final int maxQueuedStateFrames;
+
+    public static OutboundPolicy defaults() {
+        return new OutboundPolicy(DEFAULT_MAX_QUEUED_FRAMES, DEFAULT_MAX_LAG_MILLIS, DEFAULT_MAX_QUEUED_STATE_FRAMES);
+    }
+
+    public static OutboundPolicy fromArgs(String[] args) {
+        int maxQueuedFrames = DEFAULT_MAX_QUEUED_FRAMES;
+        long maxLagMillis = DEFAULT_MAX_LAG_MILLIS;
+        int maxQueuedStateFrames = DEFAULT_MAX_QUEUED_STATE_FRAMES;
+        for (String arg : args) {
+            if (arg.startsWith("--max-queued-frames=")) {
+                maxQueuedFrames = Integer.parseInt(arg.substring("--max-queued-frames=".length()));
+            } else if (arg.startsWith("--max-lag-ms=")) {
+                maxLagMillis = Long.parseLong(arg.substring("--max-lag-ms=".length()));
+            } else if (arg.startsWith("--max-queued-state=")) {
+                maxQueuedStateFrames = Integer.parseInt(arg.substring("--max-queued-state=".length()));
+            }
+        }
+        return new OutboundPolicy(maxQueuedFrames, maxLagMillis, maxQueuedStateFrames);
+    }
+}
@@ -0,0 +1,169 @@
+package ru.kpfu.itis.network;
+
+import lombok.RequiredArgsConstructor;
+import ru.kpfu.itis.metrics.ServerMetrics;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class OutboundQueue {
+
+    private final int capacity;
+    private final long maxLagNanos;
+    private final int maxStateFrames;
+    private final ServerMetrics metrics;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private int stateFrames;
+    private boolean closed;
+
+    public OutboundQueue(OutboundPolicy policy, ServerMetrics metrics) {
+        this.capacity = policy.getMaxQueuedFrames();
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(policy.getMaxLagMillis());
+        this.maxStateFrames = policy.getMaxQueuedStateFrames();
+        this.metrics = metrics;
+    }
+
+    public boolean offer(EncodedFrame frame) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Соединение закрыто");
+            }
+            long now = System.nanoTime();
+            long lag = lagNanos(now);
+            if (lag > maxLagNanos) {
+                throw evict("клиент отстает на " + TimeUnit.NANOSECONDS.toMillis(lag) + " мс");
+            }
+            if (frame.getKind() == EncodedFrame.Kind.SNAPSHOT) {
+                dropSupersededState();
+            } else if (frame.getKind() == EncodedFrame.Kind.DELTA && stateFrames >= maxStateFrames) {
+                dropSupersededState();
+                metrics.recordCoalesced(1);
+                return false;
+            }
+            if (entries.size() >= capacity) {
+                throw evict("очередь отправки переполнена: " + entries.size() + " кадров");
+            }
+            entries.addLast(new Entry(frame, now));
+            if (frame.getKind() != EncodedFrame.Kind.CONTROL) {
+                stateFrames++;
+            }
+            metrics.recordEnqueued(entries.size());
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public EncodedFrame poll() {
+        lock.lock();
+        try {
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public EncodedFrame take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (entries.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean evictIfLagging() {
+        lock.lock();
+        try {
+            long lag = lagNanos(System.nanoTime());
+            if (closed || lag <= maxLagNanos) {
+                return false;
+            }
+            evict("клиент отстает на " + TimeUnit.NANOSECONDS.toMillis(lag) + " мс");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return entries.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closeLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeLocked() {
+        closed = true;
+        metrics.recordDequeued(entries.size());
+        entries.clear();
+        stateFrames = 0;
+        notEmpty.signalAll();
+    }
+
+    private IllegalStateException evict(String reason) {
+        closeLocked();
+        metrics.recordEviction();
+        return new IllegalStateException("Медленный клиент отключен: " + reason);
+    }
+
+    private long lagNanos(long now) {
+        Entry head = entries.peekFirst();
+        return head == null ? 0 : now - head.enqueuedAt;
+    }
+
+    private EncodedFrame next() {
+        Entry entry = entries.pollFirst();
+        if (entry == null) {
+            return null;
+        }
+        if (entry.frame.getKind() != EncodedFrame.Kind.CONTROL) {
+            stateFrames--;
+        }
+        metrics.recordDequeued(1);
+        return entry.frame;
+    }
+
+    private void dropSupersededState() {
+        int dropped = 0;
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().frame.getKind() != EncodedFrame.Kind.CONTROL) {
+                iterator.remove();
+                dropped++;
+            }
+        }
+        stateFrames = 0;
+        if (dropped > 0) {
+            metrics.recordDequeued(dropped);
+            metrics.recordCoalesced(dropped);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final EncodedFrame frame;
+        private final long enqueuedAt;
+    }
+}
@@ -0,0 +1,103 @@
+package ru.kpfu.itis.network.codec;
+
+import ru.kpfu.itis.enums.WireFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class FrameDecoder {
+
+    private static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+    private static final int INITIAL_FRAME_BYTES = 1024;
+
+    private WireFormat format;
+    private byte[] frame = new byte[INITIAL_FRAME_BYTES];
+    private int frameLength = 0;
+    private int expectedLength = -1;
+    private int lengthShift = 0;
+    private int partialLength = 0;
+
+    public WireFormat getFormat() {
+        return format;
+    }
+
+    public byte[] getFrame() {
+        return frame;
+    }
+
+    public int getFrameLength() {
+        return frameLength;
+    }
+
+    public boolean feed(ByteBuffer in) throws IOException {
+        if (format == null && in.hasRemaining()) {
+            if (in.get(in.position()) == BinaryMessageCodec.MAGIC) {
+                in.get();
+                format = WireFormat.BINARY;
+            } else {
+                format = WireFormat.JSON;
+            }
+        }
+        return format == WireFormat.BINARY ? feedBinary(in) : feedLine(in);
+    }
+
+    public void reset() {
+        frameLength = 0;
+        expectedLength = -1;
+        if (frame.length > MAX_FRAME_BYTES / 16) {
+            frame = new byte[INITIAL_FRAME_BYTES];
+        }
+    }
+
+    private boolean feedLine(ByteBuffer in) throws IOException {
+        while (in.hasRemaining()) {
+            byte b = in.get();
+            if (b == '\n') {
+                if (frameLength > 0 && frame[frameLength - 1] == '\r') {
+                    frameLength--;
+                }
+                return true;
+            }
+            ensureCapacity(frameLength + 1);
+            frame[frameLength++] = b;
+        }
+        return false;
+    }
+
+    private boolean feedBinary(ByteBuffer in) throws IOException {
+        while (expectedLength < 0) {
+            if (!in.hasRemaining()) {
+                return false;
+            }
+            int b = in.get() & 0xFF;
+            partialLength |= (b & 0x7F) << lengthShift;
+            lengthShift += 7;
+            if ((b & 0x80) == 0) {
+                expectedLength = partialLength;
+                partialLength = 0;
+                lengthShift = 0;
+                if (expectedLength > MAX_FRAME_BYTES) {
+                    throw new IOException("Слишком длинное сообщение: " + expectedLength + " байт");
+                }
+                ensureCapacity(expectedLength);
+            } else if (lengthShift > 28) {
+                throw new IOException("Некорректная длина кадра");
+            }
+        }
+        int chunk = Math.min(expectedLength - frameLength, in.remaining());
+        in.get(frame, frameLength, chunk);
+        frameLength += chunk;
+        return frameLength == expectedLength;
+    }
+
+    private void ensureCapacity(int required) throws IOException {
+        if (required <= frame.length) {
+            return;
+        }
+        if (required > MAX_FRAME_BYTES) {
+            throw new IOException("Слишком длинное сообщение");
+        }
+        frame = Arrays.copyOf(frame, Math.min(Math.max(frame.length * 2, required), MAX_FRAME_BYTES));
+    }
+}
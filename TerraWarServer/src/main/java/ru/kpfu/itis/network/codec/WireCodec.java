@@ -0,0 +1,62 @@
+package ru.kpfu.itis.network.codec;
+
+import com.google.gson.Gson;
+import ru.kpfu.itis.enums.WireFormat;
+import ru.kpfu.itis.message.ConnectPlayerMessage;
+import ru.kpfu.itis.message.IntentMessage;
+import ru.kpfu.itis.message.LeaveMessage;
+import ru.kpfu.itis.message.MessageEnvelope;
+import ru.kpfu.itis.network.EncodedFrame;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+public class WireCodec {
+
+    private final Gson gson = new Gson();
+    private final BinaryMessageCodec binary = new BinaryMessageCodec();
+    private final JsonEnvelopeDecoder json = new JsonEnvelopeDecoder(gson, WireCodec::dataClassOf);
+
+    public EncodedFrame encode(WireFormat format, MessageEnvelope envelope) {
+        EncodedFrame frame = format == WireFormat.BINARY
+                ? EncodedFrame.of(binary.encode(envelope))
+                : EncodedFrame.ofLine(gson.toJson(envelope));
+        return frame.withKind(kindOf(envelope.getType()));
+    }
+
+    public MessageEnvelope decode(WireFormat format, byte[] frame, int length) {
+        if (format == WireFormat.BINARY) {
+            return binary.decode(frame, 0, length);
+        }
+        try {
+            return json.decode(new InputStreamReader(new ByteArrayInputStream(frame, 0, length), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static EncodedFrame.Kind kindOf(String type) {
+        if ("state".equals(type)) {
+            return EncodedFrame.Kind.SNAPSHOT;
+        }
+        if ("stateDelta".equals(type)) {
+            return EncodedFrame.Kind.DELTA;
+        }
+        return EncodedFrame.Kind.CONTROL;
+    }
+
+    private static Class<?> dataClassOf(String type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case "connect" -> ConnectPlayerMessage.class;
+            case "intent" -> IntentMessage.class;
+            case "leave" -> LeaveMessage.class;
+            default -> null;
+        };
+    }
+}
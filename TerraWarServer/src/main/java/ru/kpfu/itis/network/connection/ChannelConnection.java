@@ -0,0 +1,118 @@
+package ru.kpfu.itis.network.connection;
+
+import lombok.Getter;
+import lombok.Setter;
+import ru.kpfu.itis.PlayerHandler;
+import ru.kpfu.itis.network.EncodedFrame;
+import ru.kpfu.itis.network.OutboundQueue;
+import ru.kpfu.itis.network.codec.FrameDecoder;
+import ru.kpfu.itis.network.transport.NioEventLoop;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ChannelConnection implements PlayerConnection {
+
+    private final SocketChannel channel;
+    private final NioEventLoop eventLoop;
+    private final OutboundQueue outbound;
+    private ByteBuffer inFlight;
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final FrameDecoder frames = new FrameDecoder();
+    @Getter
+    @Setter
+    private SelectionKey key;
+    @Getter
+    @Setter
+    private PlayerHandler handler;
+
+    public ChannelConnection(SocketChannel channel, NioEventLoop eventLoop, OutboundQueue outbound) {
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.outbound = outbound;
+    }
+
+    @Override
+    public boolean send(EncodedFrame frame) {
+        boolean accepted = outbound.offer(frame);
+        if (writeScheduled.compareAndSet(false, true)) {
+            eventLoop.execute(this::flush);
+        }
+        return accepted;
+    }
+
+    @Override
+    public boolean evictIfLagging() {
+        return outbound.evictIfLagging();
+    }
+
+    public void onReadable(ByteBuffer readBuffer) throws IOException {
+        readBuffer.clear();
+        int read = channel.read(readBuffer);
+        if (read < 0) {
+            throw new IOException("Клиент закрыл соединение");
+        }
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            if (frames.feed(readBuffer)) {
+                handler.handleFrame(frames.getFormat(), frames.getFrame(), frames.getFrameLength());
+                frames.reset();
+                if (closed.get()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public void flush() {
+        if (closed.get()) {
+            return;
+        }
+        writeScheduled.set(false);
+        try {
+            while (true) {
+                if (inFlight == null) {
+                    EncodedFrame frame = outbound.poll();
+                    if (frame == null) {
+                        break;
+                    }
+                    inFlight = frame.asByteBuffer();
+                }
+                channel.write(inFlight);
+                if (inFlight.hasRemaining()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+                inFlight = null;
+            }
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            handler.shutdown();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        outbound.close();
+        if (key != null) {
+            key.cancel();
+        }
+        try { channel.close(); } catch (IOException ignored) {}
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        try {
+            return String.valueOf(channel.getRemoteAddress());
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.kpfu.itis.network.connection;
+
+import ru.kpfu.itis.network.EncodedFrame;
+
+public interface PlayerConnection {
+
+    boolean send(EncodedFrame frame);
+
+    boolean evictIfLagging();
+
+    void close();
+
+    String getRemoteAddress();
+
+}
@@ -0,0 +1,126 @@
+package ru.kpfu.itis.network.connection;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.PlayerHandler;
+import ru.kpfu.itis.network.EncodedFrame;
+import ru.kpfu.itis.network.OutboundQueue;
+import ru.kpfu.itis.network.codec.FrameDecoder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+public class SocketConnection implements PlayerConnection, Runnable {
+
+    private static final int READ_CHUNK_BYTES = 8192;
+
+    private final Socket socket;
+    private final OutboundQueue outbound;
+    private final boolean writerThread;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private OutputStream writer;
+    private InputStream reader;
+    private PlayerHandler handler;
+
+    public SocketConnection(Socket socket, OutboundQueue outbound, boolean writerThread) throws IOException {
+        this.socket = socket;
+        this.outbound = outbound;
+        this.writerThread = writerThread;
+        this.reader = socket.getInputStream();
+        this.writer = new BufferedOutputStream(socket.getOutputStream());
+    }
+
+    public void attach(PlayerHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public boolean send(EncodedFrame frame) {
+        boolean accepted = outbound.offer(frame);
+        if (!writerThread) {
+            drain();
+        }
+        return accepted;
+    }
+
+    private void drain() {
+        while (!outbound.isEmpty() && writeLock.tryLock()) {
+            try {
+                EncodedFrame frame;
+                while ((frame = outbound.poll()) != null) {
+                    frame.writeTo(writer);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                log.debug("Не удалось отправить сообщение {}: {}", getRemoteAddress(), e.getMessage());
+                handler.shutdown();
+                return;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean evictIfLagging() {
+        return outbound.evictIfLagging();
+    }
+
+    public void writeLoop() {
+        try {
+            EncodedFrame frame;
+            while ((frame = outbound.take()) != null) {
+                frame.writeTo(writer);
+                if (outbound.isEmpty()) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Не удалось отправить сообщение {}: {}", getRemoteAddress(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            handler.shutdown();
+        }
+    }
+
+    @Override
+    public void close() {
+        outbound.close();
+        try { reader.close(); } catch (Exception ignored) {}
+        try { writer.close(); } catch (Exception ignored) {}
+        try { socket.close(); } catch (IOException ignored) {}
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        return String.valueOf(socket.getInetAddress());
+    }
+
+    @Override
+    public void run() {
+        try {
+            FrameDecoder frames = new FrameDecoder();
+            byte[] chunk = new byte[READ_CHUNK_BYTES];
+            int read;
+            while (handler.isRunning() && (read = reader.read(chunk)) >= 0) {
+                ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, read);
+                while (buffer.hasRemaining() && handler.isRunning()) {
+                    if (frames.feed(buffer)) {
+                        handler.handleFrame(frames.getFormat(), frames.getFrame(), frames.getFrameLength());
+                        frames.reset();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Проблемы у {}: {}", handler.getNick(), e.getMessage(), e);
+        } finally {
+            handler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.kpfu.itis.network.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.PlayerHandler;
+import ru.kpfu.itis.ServerService;
+import ru.kpfu.itis.network.connection.ChannelConnection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+@Slf4j
+public class NioEventLoop implements Runnable, Executor {
+
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    private final ServerService server;
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private volatile boolean running = true;
+
+    public NioEventLoop(ServerService server) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+    }
+
+    public void register(SocketChannel channel) {
+        execute(() -> {
+            try {
+                channel.configureBlocking(false);
+                ChannelConnection connection = new ChannelConnection(channel, this, server.createOutboundQueue());
+                PlayerHandler handler = server.createHandler(connection);
+                connection.setHandler(handler);
+                connection.setKey(channel.register(selector, SelectionKey.OP_READ, connection));
+            } catch (IOException e) {
+                log.error("Не удалось зарегистрировать соединение: {}", e.getMessage(), e);
+                try { channel.close(); } catch (IOException ignored) {}
+            }
+        });
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                runTasks();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    processKey(key);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                log.error("Цикл обработки остановлен: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void processKey(SelectionKey key) {
+        ChannelConnection connection = (ChannelConnection) key.attachment();
+        try {
+            if (key.isValid() && key.isReadable()) {
+                connection.onReadable(readBuffer);
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.flush();
+            }
+        } catch (IOException e) {
+            log.debug("Соединение {} закрыто: {}", connection.getRemoteAddress(), e.getMessage());
+            connection.getHandler().shutdown();
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Ошибка в задаче цикла обработки: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+        for (SelectionKey key : selector.keys()) {
+            Object attachment = key.attachment();
+            if (attachment instanceof ChannelConnection connection) {
+                connection.close();
+            }
+        }
+        try { selector.close(); } catch (IOException ignored) {}
+    }
+}
@@ -0,0 +1,59 @@
+package ru.kpfu.itis.network.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.ServerService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+public class NioTransport {
+
+    private final ServerService server;
+    private final NioEventLoop[] eventLoops;
+    private final ExecutorService loopThreads;
+    private ServerSocketChannel serverChannel;
+    private int nextLoop = 0;
+
+    public NioTransport(ServerService server, int loopCount) throws IOException {
+        this.server = server;
+        this.eventLoops = new NioEventLoop[loopCount];
+        this.loopThreads = Executors.newFixedThreadPool(loopCount);
+        for (int i = 0; i < loopCount; i++) {
+            eventLoops[i] = new NioEventLoop(server);
+        }
+    }
+
+    public void bind(int port) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        for (NioEventLoop eventLoop : eventLoops) {
+            loopThreads.submit(eventLoop);
+        }
+        log.info("NIO транспорт: {} циклов обработки", eventLoops.length);
+    }
+
+    public void acceptLoop() {
+        try {
+            while (serverChannel.isOpen()) {
+                SocketChannel channel = serverChannel.accept();
+                eventLoops[nextLoop].register(channel);
+                nextLoop = (nextLoop + 1) % eventLoops.length;
+            }
+        } catch (IOException e) {
+            log.error("Получение остановлено: {}", e.getMessage(), e);
+        }
+    }
+
+    public void stop() throws IOException {
+        serverChannel.close();
+        for (NioEventLoop eventLoop : eventLoops) {
+            eventLoop.stop();
+        }
+        loopThreads.shutdownNow();
+    }
+}
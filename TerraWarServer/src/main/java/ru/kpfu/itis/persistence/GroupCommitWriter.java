@@ -0,0 +1,143 @@
+package ru.kpfu.itis.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.metrics.ServerMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+@Slf4j
+public class GroupCommitWriter implements Runnable {
+
+    private static final long STOP_TIMEOUT_MILLIS = 5_000;
+    private static final PendingAppend STOP = new PendingAppend(null, null, null, 0);
+
+    private final BlockingQueue<PendingAppend> pending = new LinkedBlockingQueue<>();
+    private final ServerMetrics metrics;
+    private final Thread thread;
+
+    public GroupCommitWriter(ServerMetrics metrics) {
+        this.metrics = metrics;
+        this.thread = new Thread(this, "journal");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    CompletableFuture<Void> submit(FileChannel channel, ByteBuffer record) {
+        PendingAppend append = new PendingAppend(channel, record, null, System.nanoTime());
+        pending.add(append);
+        return append.done;
+    }
+
+    CompletableFuture<Void> execute(IoTask task) {
+        PendingAppend append = new PendingAppend(null, null, task, System.nanoTime());
+        pending.add(append);
+        return append.done;
+    }
+
+    @Override
+    public void run() {
+        List<PendingAppend> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            pending.drainTo(batch);
+            boolean stopping = batch.remove(STOP);
+            drain(batch);
+            batch.clear();
+            if (stopping) {
+                return;
+            }
+        }
+    }
+
+    private void drain(List<PendingAppend> batch) {
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            PendingAppend task = batch.get(i);
+            if (task.task == null) {
+                continue;
+            }
+            commit(batch.subList(start, i));
+            try {
+                task.task.run();
+                task.done.complete(null);
+            } catch (IOException e) {
+                log.error("Ошибка записи журнала: {}", e.getMessage(), e);
+                task.done.completeExceptionally(e);
+            }
+            start = i + 1;
+        }
+        commit(batch.subList(start, batch.size()));
+    }
+
+    private void commit(List<PendingAppend> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<FileChannel, List<PendingAppend>> byChannel = new LinkedHashMap<>();
+        for (PendingAppend append : batch) {
+            byChannel.computeIfAbsent(append.channel, channel -> new ArrayList<>()).add(append);
+        }
+        for (Map.Entry<FileChannel, List<PendingAppend>> entry : byChannel.entrySet()) {
+            List<PendingAppend> appends = entry.getValue();
+            try {
+                FileChannel channel = entry.getKey();
+                ByteBuffer[] records = new ByteBuffer[appends.size()];
+                for (int i = 0; i < records.length; i++) {
+                    records[i] = appends.get(i).record;
+                }
+                while (records[records.length - 1].hasRemaining()) {
+                    channel.write(records);
+                }
+                channel.force(false);
+                metrics.recordJournalCommit();
+                long now = System.nanoTime();
+                for (PendingAppend append : appends) {
+                    metrics.recordJournalAppend(now - append.enqueuedAt);
+                    append.done.complete(null);
+                }
+            } catch (IOException e) {
+                log.error("Ошибка записи журнала: {}", e.getMessage(), e);
+                for (PendingAppend append : appends) {
+                    append.done.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    public void stop() {
+        pending.add(STOP);
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    interface IoTask {
+        void run() throws IOException;
+    }
+
+    @RequiredArgsConstructor
+    private static class PendingAppend {
+        private final FileChannel channel;
+        private final ByteBuffer record;
+        private final IoTask task;
+        private final long enqueuedAt;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+    }
+}
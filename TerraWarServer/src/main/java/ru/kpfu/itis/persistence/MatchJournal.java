@@ -0,0 +1,141 @@
+package ru.kpfu.itis.persistence;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.message.MessageEnvelope;
+import ru.kpfu.itis.network.codec.BinaryMessageCodec;
+import ru.kpfu.itis.network.codec.BinaryReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+@Slf4j
+public class MatchJournal {
+
+    static final String LOG_FILE = "journal.log";
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String SNAPSHOT_TMP_FILE = "snapshot.tmp";
+    static final int HEADER_BYTES = 8;
+
+    @Getter
+    private final long matchId;
+    private final Path dir;
+    private final GroupCommitWriter writer;
+    private final int snapshotEvery;
+    private final BinaryMessageCodec codec = new BinaryMessageCodec();
+    private final FileChannel channel;
+    private int appendsSinceSnapshot;
+
+    MatchJournal(long matchId, Path dir, GroupCommitWriter writer, int snapshotEvery, int appendsSinceSnapshot) throws IOException {
+        this.matchId = matchId;
+        this.dir = dir;
+        this.writer = writer;
+        this.snapshotEvery = snapshotEvery;
+        this.appendsSinceSnapshot = appendsSinceSnapshot;
+        Files.createDirectories(dir);
+        this.channel = FileChannel.open(dir.resolve(LOG_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+    }
+
+    public CompletableFuture<Void> append(MessageEnvelope envelope) {
+        appendsSinceSnapshot++;
+        return writer.submit(channel, record(codec.encode(envelope)));
+    }
+
+    public boolean isSnapshotDue() {
+        return appendsSinceSnapshot >= snapshotEvery;
+    }
+
+    public CompletableFuture<Void> writeSnapshot(MessageEnvelope envelope) {
+        ByteBuffer buffer = record(codec.encode(envelope));
+        appendsSinceSnapshot = 0;
+        return writer.execute(() -> storeSnapshot(buffer));
+    }
+
+    private void storeSnapshot(ByteBuffer buffer) throws IOException {
+        Path tmp = dir.resolve(SNAPSHOT_TMP_FILE);
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(tmp, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel.truncate(0);
+        channel.force(true);
+    }
+
+    private void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Не удалось закрыть журнал матча {}: {}", matchId, e.getMessage());
+        }
+    }
+
+    public void delete() {
+        writer.execute(this::deleteFiles);
+    }
+
+    private void deleteFiles() {
+        close();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.warn("Не удалось удалить журнал матча {}: {}", matchId, e.getMessage());
+        }
+    }
+
+    static ByteBuffer record(byte[] frame) {
+        CRC32C crc = new CRC32C();
+        crc.update(frame);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + frame.length);
+        buffer.putInt(frame.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(frame);
+        return buffer.flip();
+    }
+
+    static byte[] readRecord(ByteBuffer in) {
+        if (in.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int length = in.getInt(in.position());
+        int checksum = in.getInt(in.position() + 4);
+        if (length <= 0 || in.remaining() - HEADER_BYTES < length) {
+            return null;
+        }
+        byte[] frame = new byte[length];
+        in.get(in.position() + HEADER_BYTES, frame);
+        CRC32C crc = new CRC32C();
+        crc.update(frame);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        in.position(in.position() + HEADER_BYTES + length);
+        return frame;
+    }
+
+    static MessageEnvelope decode(BinaryMessageCodec codec, byte[] frame) {
+        BinaryReader prefix = new BinaryReader(frame, 0, frame.length);
+        int length = prefix.readVarInt();
+        int offset = prefix.getPosition();
+        if (length != frame.length - offset) {
+            throw new IllegalArgumentException("Длина кадра " + length + " не совпадает с записью журнала ("
+                    + (frame.length - offset) + " байт)");
+        }
+        return codec.decode(frame, offset, length);
+    }
+}
@@ -0,0 +1,134 @@
+package ru.kpfu.itis.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.dto.StateDelta;
+import ru.kpfu.itis.dto.StateDeltas;
+import ru.kpfu.itis.message.GameStateDeltaMessage;
+import ru.kpfu.itis.message.GameStateMessage;
+import ru.kpfu.itis.message.MessageEnvelope;
+import ru.kpfu.itis.metrics.ServerMetrics;
+import ru.kpfu.itis.network.codec.BinaryMessageCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Slf4j
+public class MatchStore {
+
+    private static final String MATCH_DIR_PREFIX = "match-";
+
+    private final PersistencePolicy policy;
+    private final GroupCommitWriter writer;
+    private final BinaryMessageCodec codec = new BinaryMessageCodec();
+
+    public MatchStore(PersistencePolicy policy, ServerMetrics metrics) {
+        this.policy = policy;
+        this.writer = policy.isEnabled() ? new GroupCommitWriter(metrics) : null;
+    }
+
+    public MatchJournal open(long matchId) throws IOException {
+        if (!policy.isEnabled()) {
+            return null;
+        }
+        return new MatchJournal(matchId, matchDir(matchId), writer, policy.getSnapshotEvery(), 0);
+    }
+
+    public List<RecoveredMatch> recover() {
+        List<RecoveredMatch> recovered = new ArrayList<>();
+        if (!policy.isEnabled()) {
+            return recovered;
+        }
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(policy.getDataDir());
+            try (Stream<Path> dirs = Files.list(policy.getDataDir())) {
+                for (Path dir : (Iterable<Path>) dirs::iterator) {
+                    String name = dir.getFileName().toString();
+                    if (!Files.isDirectory(dir) || !name.startsWith(MATCH_DIR_PREFIX)) {
+                        continue;
+                    }
+                    try {
+                        RecoveredMatch match = recoverMatch(Long.parseLong(name.substring(MATCH_DIR_PREFIX.length())), dir);
+                        if (match != null) {
+                            recovered.add(match);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        log.error("Не удалось восстановить матч из {}: {}", dir, e.getMessage(), e);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Ошибка восстановления матчей из {}: {}", policy.getDataDir(), e.getMessage(), e);
+        }
+        log.info("Восстановлено матчей: {} за {} мс", recovered.size(), (System.nanoTime() - started) / 1_000_000);
+        return recovered;
+    }
+
+    private RecoveredMatch recoverMatch(long matchId, Path dir) throws IOException {
+        long started = System.nanoTime();
+        Path snapshotFile = dir.resolve(MatchJournal.SNAPSHOT_FILE);
+        byte[] snapshotFrame = Files.exists(snapshotFile)
+                ? MatchJournal.readRecord(ByteBuffer.wrap(Files.readAllBytes(snapshotFile)))
+                : null;
+        if (snapshotFrame == null) {
+            log.warn("Матч {}: нет целого снимка, журнал удален", matchId);
+            new MatchJournal(matchId, dir, writer, policy.getSnapshotEvery(), 0).delete();
+            return null;
+        }
+        GameStateMessage state = (GameStateMessage) MatchJournal.decode(codec, snapshotFrame).getData();
+
+        Path logFile = dir.resolve(MatchJournal.LOG_FILE);
+        ByteBuffer records = ByteBuffer.wrap(Files.exists(logFile) ? Files.readAllBytes(logFile) : new byte[0]);
+        int replayed = 0;
+        byte[] frame;
+        while ((frame = MatchJournal.readRecord(records)) != null) {
+            MessageEnvelope envelope = MatchJournal.decode(codec, frame);
+            GameStateDeltaMessage message = (GameStateDeltaMessage) envelope.getData();
+            StateDelta delta = message.getDelta();
+            if (delta != null && delta.getVersion() > state.getStateVersion()) {
+                if (delta.getBaseVersion() != state.getStateVersion()) {
+                    records.position(records.position() - frame.length - MatchJournal.HEADER_BYTES);
+                    break;
+                }
+                StateDeltas.apply(state.getStateSnapshot(), delta);
+                state.setStateVersion(delta.getVersion());
+            }
+            state.setPlayers(message.getPlayers());
+            state.setCurrentTurn(message.getCurrentTurn());
+            replayed++;
+        }
+        if (records.hasRemaining()) {
+            log.warn("Матч {}: отброшен поврежденный хвост журнала ({} байт)", matchId, records.remaining());
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+                channel.truncate(records.position());
+                channel.force(true);
+            }
+        }
+
+        MatchJournal journal = new MatchJournal(matchId, dir, writer, policy.getSnapshotEvery(), replayed);
+        if (state.getPlayers() == null || state.getPlayers().isEmpty()) {
+            journal.delete();
+            return null;
+        }
+        log.info("Матч {} восстановлен: версия {}, записей журнала {}, {} мс", matchId,
+                state.getStateVersion(), replayed, (System.nanoTime() - started) / 1_000_000);
+        return new RecoveredMatch(matchId, state, journal, replayed);
+    }
+
+    private Path matchDir(long matchId) {
+        return policy.getDataDir().resolve(MATCH_DIR_PREFIX + matchId);
+    }
+
+    public void stop() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+}
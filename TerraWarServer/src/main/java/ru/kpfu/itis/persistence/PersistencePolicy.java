@@ -0,0 +1,47 @@
+package ru.kpfu.itis.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+@Getter
+@AllArgsConstructor
+public class PersistencePolicy {
+
+    private static final int DEFAULT_SNAPSHOT_EVERY = 200;
+    private static final long DEFAULT_REJOIN_TIMEOUT_SECONDS = 120;
+
+    private final Path dataDir;
+    private final int snapshotEvery;
+    private final long rejoinTimeoutSeconds;
+
+    public boolean isEnabled() {
+        return dataDir != null;
+    }
+
+    public static PersistencePolicy defaults() {
+        return disabled();
+    }
+
+    public static PersistencePolicy disabled() {
+        return new PersistencePolicy(null, DEFAULT_SNAPSHOT_EVERY, DEFAULT_REJOIN_TIMEOUT_SECONDS);
+    }
+
+    public static PersistencePolicy fromArgs(String[] args) {
+        Path dataDir = null;
+        int snapshotEvery = DEFAULT_SNAPSHOT_EVERY;
+        long rejoinTimeoutSeconds = DEFAULT_REJOIN_TIMEOUT_SECONDS;
+        for (String arg : args) {
+            if (arg.startsWith("--data-dir=")) {
+                String value = arg.substring("--data-dir=".length());
+                dataDir = value.isEmpty() ? null : Path.of(value);
+            } else if (arg.startsWith("--snapshot-every=")) {
+                snapshotEvery = Integer.parseInt(arg.substring("--snapshot-every=".length()));
+            } else if (arg.startsWith("--rejoin-timeout-s=")) {
+                rejoinTimeoutSeconds = Long.parseLong(arg.substring("--rejoin-timeout-s=".length()));
+            }
+        }
+        return new PersistencePolicy(dataDir, snapshotEvery, rejoinTimeoutSeconds);
+    }
+}
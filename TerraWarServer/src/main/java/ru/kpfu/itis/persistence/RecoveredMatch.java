@@ -0,0 +1,15 @@
+package ru.kpfu.itis.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.kpfu.itis.message.GameStateMessage;
+
+@Getter
+@AllArgsConstructor
+public class RecoveredMatch {
+
+    private final long id;
+    private final GameStateMessage state;
+    private final MatchJournal journal;
+    private final int replayedRecords;
+}
@@ -0,0 +1,355 @@
+package ru.kpfu.itis.room;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.GameState;
+import ru.kpfu.itis.PlayerHandler;
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.StateDelta;
+import ru.kpfu.itis.dto.StateDeltas;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.enums.WireFormat;
+import ru.kpfu.itis.message.ConnectPlayerMessage;
+import ru.kpfu.itis.message.GameStateDeltaMessage;
+import ru.kpfu.itis.message.GameStateMessage;
+import ru.kpfu.itis.message.IntentMessage;
+import ru.kpfu.itis.message.MessageEnvelope;
+import ru.kpfu.itis.metrics.ServerMetrics;
+import ru.kpfu.itis.network.EncodedFrame;
+import ru.kpfu.itis.network.codec.WireCodec;
+import ru.kpfu.itis.persistence.MatchJournal;
+import ru.kpfu.itis.persistence.MatchStore;
+import ru.kpfu.itis.persistence.RecoveredMatch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class Room {
+
+    public static final int CAPACITY = 4;
+    private static final int STARTED = 1 << 16;
+    private static final int CLOSED = -1;
+
+    @Getter
+    private final long id;
+    private final Executor executor;
+    private final RoomManager roomManager;
+    private final ServerMetrics metrics;
+    private final MatchStore matchStore;
+    private final WireCodec codec = new WireCodec();
+    private final AtomicInteger seats = new AtomicInteger(0);
+    private final List<PlayerHandler> members = new ArrayList<>();
+    private final GameState gameState = new GameState();
+    private GameEngine engine;
+    private MatchJournal journal;
+    private FullGameState lastStateSnapshot;
+    private long stateVersion = 0;
+    private final AtomicLong durableVersion = new AtomicLong(-1);
+
+    public Room(long id, Executor executor, RoomManager roomManager, ServerMetrics metrics, MatchStore matchStore) {
+        this.id = id;
+        this.executor = executor;
+        this.roomManager = roomManager;
+        this.metrics = metrics;
+        this.matchStore = matchStore;
+    }
+
+    public Room(Executor executor, RoomManager roomManager, ServerMetrics metrics, MatchStore matchStore,
+                RecoveredMatch recovered) {
+        this(recovered.getId(), executor, roomManager, metrics, matchStore);
+        GameStateMessage state = recovered.getState();
+        engine = GameEngine.restore(state.getStateSnapshot(), state.getCurrentTurn());
+        lastStateSnapshot = engine.snapshot();
+        stateVersion = state.getStateVersion();
+        journal = recovered.getJournal();
+        durableVersion.set(stateVersion);
+        seats.set(STARTED);
+    }
+
+    public void execute(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Ошибка в комнате {}: {}", id, e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Комната {} остановлена, задача отброшена", id);
+        }
+    }
+
+    boolean tryReserveSeat() {
+        while (true) {
+            int current = seats.get();
+            if (current == CLOSED || (current & STARTED) != 0 || current >= CAPACITY) {
+                return false;
+            }
+            if (seats.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    boolean hasOpenSeat() {
+        int current = seats.get();
+        return current != CLOSED && (current & STARTED) == 0 && current < CAPACITY;
+    }
+
+    boolean tryRejoinSeat() {
+        while (true) {
+            int current = seats.get();
+            if (current == CLOSED) {
+                return false;
+            }
+            if (seats.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseSeat() {
+        while (true) {
+            int current = seats.get();
+            int count = current & ~STARTED;
+            int next = count <= 1 ? CLOSED : (current & STARTED) | (count - 1);
+            if (seats.compareAndSet(current, next)) {
+                if (next == CLOSED) {
+                    close();
+                } else if ((next & STARTED) == 0) {
+                    roomManager.onSeatReleased(this);
+                }
+                return;
+            }
+        }
+    }
+
+    private void close() {
+        if (journal != null) {
+            journal.delete();
+            journal = null;
+        }
+        roomManager.onRoomClosed(this);
+    }
+
+    public void join(PlayerHandler handler, ConnectPlayerMessage connectPlayerMessage) {
+        members.add(handler);
+        gameState.addPlayer(connectPlayerMessage.getNickName());
+        log.info("Зарегестрирован новый игрок: {} (комната {})", connectPlayerMessage.getNickName(), id);
+        if (members.size() == CAPACITY && engine == null) {
+            seats.updateAndGet(current -> current | STARTED);
+            engine = GameEngine.create(gameState.getPlayers());
+            lastStateSnapshot = engine.snapshot();
+            stateVersion++;
+            log.info("Партия в комнате {} началась", id);
+            openJournal();
+        }
+    }
+
+    public void rejoin(PlayerHandler handler) {
+        members.add(handler);
+        log.info("Игрок {} вернулся в восстановленный матч (комната {})", handler.getNick(), id);
+    }
+
+    void expireAbsentPlayers() {
+        List<String> absent = new ArrayList<>();
+        for (String nick : engine.getPlayerNames()) {
+            if (roomManager.releaseRecoveredSeat(nick, this)) {
+                absent.add(nick);
+            }
+        }
+        if (absent.isEmpty()) {
+            return;
+        }
+        for (String nick : absent) {
+            engine.removePlayer(nick);
+        }
+        log.info("Не вернулись в восстановленный матч (комната {}): {}", id, absent);
+        if (seats.compareAndSet(STARTED, CLOSED)) {
+            close();
+            return;
+        }
+        publishState();
+    }
+
+    private void openJournal() {
+        try {
+            journal = matchStore.open(id);
+        } catch (IOException e) {
+            log.error("Не удалось открыть журнал матча {}: {}", id, e.getMessage(), e);
+            journal = null;
+        }
+        if (journal != null) {
+            track(journal.writeSnapshot(fullStateEnvelope()), stateVersion);
+        }
+    }
+
+    private void persist(StateDelta delta) {
+        if (journal == null) {
+            return;
+        }
+        if (delta == null) {
+            track(journal.writeSnapshot(fullStateEnvelope()), stateVersion);
+            return;
+        }
+        track(journal.append(new MessageEnvelope("stateDelta", new GameStateDeltaMessage(
+                engine.getPlayerNames(), engine.getCurrentTurn(), delta))), stateVersion);
+        if (journal.isSnapshotDue()) {
+            track(journal.writeSnapshot(fullStateEnvelope()), stateVersion);
+        }
+    }
+
+    private void track(CompletableFuture<Void> written, long version) {
+        written.whenComplete((ignored, error) -> {
+            if (error == null) {
+                durableVersion.accumulateAndGet(version, Math::max);
+            } else {
+                log.error("Не удалось записать журнал матча {} (версия {}, сохранена до {}): {}",
+                        id, version, durableVersion.get(), error.getMessage());
+            }
+        });
+    }
+
+    public void leave(PlayerHandler handler) {
+        if (!members.remove(handler)) {
+            return;
+        }
+        String leavingPlayerNick = handler.getNick();
+
+        if (engine != null) {
+            engine.removePlayer(leavingPlayerNick);
+            publishState();
+        } else {
+            gameState.removePlayer(leavingPlayerNick);
+            broadcastGameState();
+        }
+        log.info("Удален игрок: {} (комната {})", leavingPlayerNick, id);
+        releaseSeat();
+    }
+
+    public String endTurn(PlayerHandler handler) {
+        if (engine == null) {
+            return "game not started";
+        }
+        return engine.endTurn(handler.getNick());
+    }
+
+    public String applyIntent(PlayerHandler handler, IntentMessage intent) {
+        if (engine == null) {
+            return "game not started";
+        }
+        return engine.apply(handler.getNick(), intent);
+    }
+
+    public void publishState() {
+        FullGameState snapshot = engine.snapshot();
+        StateDelta delta = StateDeltas.diff(lastStateSnapshot, snapshot);
+        lastStateSnapshot = snapshot;
+        if (delta == null) {
+            stateVersion++;
+            persist(null);
+            broadcastGameState();
+            return;
+        }
+        delta.setBaseVersion(stateVersion);
+        stateVersion++;
+        delta.setVersion(stateVersion);
+        persist(delta);
+        broadcastStateDelta(delta);
+    }
+
+    public void broadcastGameState() {
+        broadcastStateDelta(null);
+    }
+
+    public void broadcastStateDelta(StateDelta delta) {
+        long baseVersion = delta != null ? delta.getBaseVersion() : stateVersion;
+        MessageEnvelope deltaEnvelope = null;
+        MessageEnvelope fullEnvelope = null;
+        FrameBatch deltaFrames = new FrameBatch();
+        FrameBatch fullFrames = new FrameBatch();
+
+        for (PlayerHandler p : members) {
+            if (lastStateSnapshot != null && p.getLastSentVersion() == baseVersion) {
+                if (deltaEnvelope == null) {
+                    deltaEnvelope = new MessageEnvelope("stateDelta", new GameStateDeltaMessage(
+                            engine.getPlayerNames(), engine.getCurrentTurn(), delta));
+                }
+                p.setLastSentVersion(stateVersion);
+                if (p.sendFrame(deltaFrames.frameFor(p.getWireFormat(), deltaEnvelope)) || !p.isRunning()) {
+                    continue;
+                }
+                if (fullEnvelope == null) {
+                    fullEnvelope = fullStateEnvelope();
+                }
+                p.sendFrame(fullFrames.frameFor(p.getWireFormat(), fullEnvelope));
+            } else {
+                if (fullEnvelope == null) {
+                    fullEnvelope = fullStateEnvelope();
+                }
+                p.setLastSentVersion(stateVersion);
+                p.sendFrame(fullFrames.frameFor(p.getWireFormat(), fullEnvelope));
+            }
+        }
+
+        deltaFrames.record();
+        fullFrames.record();
+    }
+
+    public void sendFullState(PlayerHandler handler) {
+        handler.setLastSentVersion(stateVersion);
+        handler.sendFrame(codec.encode(handler.getWireFormat(), fullStateEnvelope()));
+    }
+
+    private MessageEnvelope fullStateEnvelope() {
+        GameStateMessage gameStateMessage = new GameStateMessage(
+                engine != null ? engine.getPlayerNames() : gameState.getPlayers(),
+                engine != null ? engine.getCurrentTurn() : 0,
+                lastStateSnapshot,
+                stateVersion
+        );
+        return new MessageEnvelope("state", gameStateMessage);
+    }
+
+    public void broadcast(MessageEnvelope envelope) {
+        FrameBatch frames = new FrameBatch();
+        for (PlayerHandler p : members) {
+            p.sendFrame(frames.frameFor(p.getWireFormat(), envelope));
+        }
+        frames.record();
+    }
+
+    private class FrameBatch {
+
+        private final EncodedFrame[] frames = new EncodedFrame[WireFormat.values().length];
+        private final long[] encodeNanos = new long[frames.length];
+        private final int[] recipients = new int[frames.length];
+
+        EncodedFrame frameFor(WireFormat format, MessageEnvelope envelope) {
+            int index = format.ordinal();
+            if (frames[index] == null) {
+                long started = System.nanoTime();
+                frames[index] = codec.encode(format, envelope);
+                encodeNanos[index] = System.nanoTime() - started;
+            }
+            recipients[index]++;
+            return frames[index];
+        }
+
+        void record() {
+            for (int i = 0; i < frames.length; i++) {
+                if (frames[i] != null) {
+                    metrics.recordBroadcast(recipients[i], frames[i].size(), encodeNanos[i]);
+                }
+            }
+        }
+    }
+}
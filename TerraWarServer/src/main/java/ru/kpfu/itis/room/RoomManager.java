@@ -0,0 +1,122 @@
+package ru.kpfu.itis.room;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.kpfu.itis.PlayerHandler;
+import ru.kpfu.itis.message.ConnectPlayerMessage;
+import ru.kpfu.itis.metrics.ServerMetrics;
+import ru.kpfu.itis.persistence.MatchStore;
+import ru.kpfu.itis.persistence.RecoveredMatch;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class RoomManager {
+
+    private final ExecutorService[] shards;
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final Map<String, Room> recoveredSeats = new ConcurrentHashMap<>();
+    private final Deque<Room> openRooms = new ConcurrentLinkedDeque<>();
+    private final AtomicLong roomIdCounter = new AtomicLong();
+    private final ServerMetrics metrics;
+    private final MatchStore matchStore;
+    private final ScheduledExecutorService scheduler;
+    private final long rejoinTimeoutSeconds;
+
+    public RoomManager(int shardCount, ServerMetrics metrics, MatchStore matchStore,
+                       ScheduledExecutorService scheduler, long rejoinTimeoutSeconds) {
+        this.metrics = metrics;
+        this.matchStore = matchStore;
+        this.scheduler = scheduler;
+        this.rejoinTimeoutSeconds = rejoinTimeoutSeconds;
+        this.shards = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = Executors.newSingleThreadExecutor();
+        }
+    }
+
+    public void recover(List<RecoveredMatch> recoveredMatches) {
+        for (RecoveredMatch recovered : recoveredMatches) {
+            long id = recovered.getId();
+            Room room = new Room(shards[(int) (id % shards.length)], this, metrics, matchStore, recovered);
+            rooms.put(id, room);
+            roomIdCounter.accumulateAndGet(id, Math::max);
+            for (String nick : recovered.getState().getPlayers()) {
+                recoveredSeats.put(nick, room);
+            }
+            scheduler.schedule(() -> room.execute(room::expireAbsentPlayers), rejoinTimeoutSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    boolean releaseRecoveredSeat(String nick, Room room) {
+        return recoveredSeats.remove(nick, room);
+    }
+
+    public Room join(PlayerHandler handler, ConnectPlayerMessage connectPlayerMessage) {
+        Room recovered = recoveredSeats.remove(connectPlayerMessage.getNickName());
+        if (recovered != null && recovered.tryRejoinSeat()) {
+            recovered.execute(() -> {
+                recovered.rejoin(handler);
+                handler.onJoined(recovered);
+            });
+            return recovered;
+        }
+        Room room = reserveSeat();
+        room.execute(() -> {
+            room.join(handler, connectPlayerMessage);
+            handler.onJoined(room);
+        });
+        return room;
+    }
+
+    private Room reserveSeat() {
+        while (true) {
+            Room current = openRooms.peekFirst();
+            if (current == null) {
+                long id = roomIdCounter.incrementAndGet();
+                Room created = new Room(id, shards[(int) (id % shards.length)], this, metrics, matchStore);
+                created.tryReserveSeat();
+                rooms.put(id, created);
+                openRooms.addLast(created);
+                log.info("Создана комната {}", id);
+                return created;
+            }
+            if (current.tryReserveSeat()) {
+                return current;
+            }
+            openRooms.remove(current);
+            onSeatReleased(current);
+        }
+    }
+
+    void onSeatReleased(Room room) {
+        if (room.hasOpenSeat() && !openRooms.contains(room)) {
+            openRooms.addFirst(room);
+        }
+    }
+
+    void onRoomClosed(Room room) {
+        rooms.remove(room.getId(), room);
+        recoveredSeats.values().removeIf(seat -> seat == room);
+        openRooms.remove(room);
+        log.info("Комната {} закрыта", room.getId());
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public void stop() {
+        for (ExecutorService shard : shards) {
+            shard.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.kpfu.itis.network;
+
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.metrics.ServerMetrics;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboundQueueTest {
+
+    private static final long MAX_LAG_MILLIS = 50;
+
+    private final OutboundQueue queue = new OutboundQueue(new OutboundPolicy(8, MAX_LAG_MILLIS, 2), new ServerMetrics());
+
+    @Test
+    void lagIsMeasuredOnHeadEntry() throws InterruptedException {
+        queue.offer(EncodedFrame.ofLine("a"));
+        queue.offer(EncodedFrame.ofLine("b"));
+        Thread.sleep(MAX_LAG_MILLIS * 2);
+        queue.poll();
+        assertTrue(queue.evictIfLagging());
+        assertThrows(IllegalStateException.class, () -> queue.offer(EncodedFrame.ofLine("c")));
+    }
+
+    @Test
+    void drainedQueueDoesNotLag() throws InterruptedException {
+        queue.offer(EncodedFrame.ofLine("a"));
+        Thread.sleep(MAX_LAG_MILLIS * 2);
+        queue.poll();
+        assertFalse(queue.evictIfLagging());
+        EncodedFrame fresh = EncodedFrame.ofLine("b");
+        assertTrue(queue.offer(fresh));
+        assertFalse(queue.evictIfLagging());
+        assertSame(fresh, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void snapshotReplacesQueuedState() {
+        EncodedFrame control = EncodedFrame.ofLine("control");
+        queue.offer(EncodedFrame.ofLine("delta").withKind(EncodedFrame.Kind.DELTA));
+        queue.offer(control);
+        EncodedFrame snapshot = EncodedFrame.ofLine("snapshot").withKind(EncodedFrame.Kind.SNAPSHOT);
+        queue.offer(snapshot);
+        assertSame(control, queue.poll());
+        assertSame(snapshot, queue.poll());
+        assertNull(queue.poll());
+    }
+}
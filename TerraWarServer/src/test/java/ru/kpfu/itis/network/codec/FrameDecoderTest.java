@@ -0,0 +1,143 @@
+package ru.kpfu.itis.network.codec;
+
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.enums.WireFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrameDecoderTest {
+
+    @Test
+    void jsonLinesSplitAtEveryByte() throws IOException {
+        byte[] stream = "{\"type\":\"sync\"}\n{\"type\":\"endTurn\"}\r\n".getBytes(StandardCharsets.UTF_8);
+        FrameDecoder decoder = new FrameDecoder();
+        List<byte[]> frames = new ArrayList<>();
+        for (byte b : stream) {
+            feedAll(decoder, ByteBuffer.wrap(new byte[]{b}), frames);
+        }
+        assertEquals(WireFormat.JSON, decoder.getFormat());
+        assertEquals(2, frames.size());
+        assertEquals("{\"type\":\"sync\"}", new String(frames.get(0), StandardCharsets.UTF_8));
+        assertEquals("{\"type\":\"endTurn\"}", new String(frames.get(1), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void jsonLinesInOneRead() throws IOException {
+        byte[] stream = "a\nbb\n\nccc".getBytes(StandardCharsets.UTF_8);
+        FrameDecoder decoder = new FrameDecoder();
+        List<byte[]> frames = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(stream);
+        feedAll(decoder, buffer, frames);
+        assertEquals(List.of("a", "bb", ""), frames.stream().map(f -> new String(f, StandardCharsets.UTF_8)).toList());
+        assertTrue(decoder.feed(ByteBuffer.wrap("\n".getBytes(StandardCharsets.UTF_8))));
+        assertEquals("ccc", new String(decoder.getFrame(), 0, decoder.getFrameLength(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void binaryFramesSplitAtRandomPoints() throws IOException {
+        Random random = new Random(7);
+        List<byte[]> payloads = new ArrayList<>();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(BinaryMessageCodec.MAGIC);
+        for (int size : new int[]{1, 127, 128, 300, 16_383, 16_384, 70_000}) {
+            byte[] payload = new byte[size];
+            random.nextBytes(payload);
+            payloads.add(payload);
+            writeFrame(stream, payload);
+        }
+        byte[] bytes = stream.toByteArray();
+        for (int run = 0; run < 50; run++) {
+            FrameDecoder decoder = new FrameDecoder();
+            List<byte[]> frames = new ArrayList<>();
+            int position = 0;
+            while (position < bytes.length) {
+                int chunk = Math.min(bytes.length - position, 1 + random.nextInt(run < 10 ? 3 : 4096));
+                feedAll(decoder, ByteBuffer.wrap(bytes, position, chunk), frames);
+                position += chunk;
+            }
+            assertEquals(WireFormat.BINARY, decoder.getFormat());
+            assertEquals(payloads.size(), frames.size());
+            for (int i = 0; i < payloads.size(); i++) {
+                assertArrayEquals(payloads.get(i), frames.get(i), "прогон " + run + ", кадр " + i);
+            }
+        }
+    }
+
+    @Test
+    void binaryLengthPrefixSplitAcrossReads() throws IOException {
+        byte[] payload = new byte[300];
+        Arrays.fill(payload, (byte) 5);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(BinaryMessageCodec.MAGIC);
+        writeFrame(stream, payload);
+        byte[] bytes = stream.toByteArray();
+        FrameDecoder decoder = new FrameDecoder();
+        assertFalse(decoder.feed(ByteBuffer.wrap(bytes, 0, 2)));
+        assertFalse(decoder.feed(ByteBuffer.wrap(bytes, 2, 1)));
+        assertTrue(decoder.feed(ByteBuffer.wrap(bytes, 3, bytes.length - 3)));
+        assertArrayEquals(payload, Arrays.copyOf(decoder.getFrame(), decoder.getFrameLength()));
+    }
+
+    @Test
+    void rejectsOversizedBinaryFrame() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(BinaryMessageCodec.MAGIC);
+        writeVarInt(stream, 17 * 1024 * 1024);
+        FrameDecoder decoder = new FrameDecoder();
+        assertThrows(IOException.class, () -> decoder.feed(ByteBuffer.wrap(stream.toByteArray())));
+    }
+
+    @Test
+    void rejectsOverlongLengthPrefix() {
+        byte[] bytes = {BinaryMessageCodec.MAGIC, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 1};
+        FrameDecoder decoder = new FrameDecoder();
+        assertThrows(IOException.class, () -> decoder.feed(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void rejectsOversizedJsonLine() {
+        FrameDecoder decoder = new FrameDecoder();
+        byte[] chunk = new byte[1024 * 1024];
+        Arrays.fill(chunk, (byte) 'x');
+        assertThrows(IOException.class, () -> {
+            for (int i = 0; i < 17; i++) {
+                decoder.feed(ByteBuffer.wrap(chunk));
+            }
+        });
+    }
+
+    private static void feedAll(FrameDecoder decoder, ByteBuffer buffer, List<byte[]> frames) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (decoder.feed(buffer)) {
+                frames.add(Arrays.copyOf(decoder.getFrame(), decoder.getFrameLength()));
+                decoder.reset();
+            }
+        }
+    }
+
+    private static void writeFrame(ByteArrayOutputStream stream, byte[] payload) {
+        writeVarInt(stream, payload.length);
+        stream.writeBytes(payload);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream stream, int value) {
+        while ((value & ~0x7F) != 0) {
+            stream.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        stream.write(value);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.kpfu.itis.network.connection;
+
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.metrics.ServerMetrics;
+import ru.kpfu.itis.network.EncodedFrame;
+import ru.kpfu.itis.network.OutboundPolicy;
+import ru.kpfu.itis.network.OutboundQueue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SocketConnectionTest {
+
+    @Test
+    void writesInlineWithoutWriterThread() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             Socket client = new Socket(server.getInetAddress(), server.getLocalPort());
+             Socket accepted = server.accept()) {
+            OutboundQueue outbound = new OutboundQueue(OutboundPolicy.defaults(), new ServerMetrics());
+            SocketConnection connection = new SocketConnection(accepted, outbound, false);
+            assertTrue(connection.send(EncodedFrame.ofLine("first")));
+            assertTrue(connection.send(EncodedFrame.ofLine("second")));
+            assertTrue(outbound.isEmpty());
+
+            client.setSoTimeout(5_000);
+            BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            assertEquals("first", in.readLine());
+            assertEquals("second", in.readLine());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ru.kpfu.itis.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.kpfu.itis.dto.FullGameState;
+import ru.kpfu.itis.dto.StateDelta;
+import ru.kpfu.itis.dto.StateDeltas;
+import ru.kpfu.itis.engine.GameEngine;
+import ru.kpfu.itis.message.GameStateDeltaMessage;
+import ru.kpfu.itis.message.GameStateMessage;
+import ru.kpfu.itis.message.MessageEnvelope;
+import ru.kpfu.itis.metrics.ServerMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchStoreTest {
+
+    private static final long MATCH_ID = 7;
+    private static final List<String> PLAYERS = List.of("alice", "bob", "carol", "dave");
+
+    @TempDir
+    Path dataDir;
+
+    private final List<MatchStore> stores = new ArrayList<>();
+    private final GameEngine engine = GameEngine.create(PLAYERS);
+    private final List<FullGameState> states = new ArrayList<>(List.of(engine.snapshot()));
+
+    @AfterEach
+    void stopStores() {
+        stores.forEach(MatchStore::stop);
+    }
+
+    @Test
+    void replaysJournalOnTopOfSnapshot() throws IOException {
+        MatchJournal journal = newStore().open(MATCH_ID);
+        journal.writeSnapshot(stateEnvelope()).join();
+        journal.append(nextDelta("alice")).join();
+        journal.append(nextDelta("bob")).join();
+
+        List<RecoveredMatch> recovered = newStore().recover();
+
+        assertEquals(1, recovered.size());
+        RecoveredMatch match = recovered.get(0);
+        assertEquals(MATCH_ID, match.getId());
+        assertEquals(2, match.getReplayedRecords());
+        assertRecovered(match.getState(), 2);
+    }
+
+    @Test
+    void truncatesCorruptTail() throws IOException {
+        MatchJournal journal = newStore().open(MATCH_ID);
+        journal.writeSnapshot(stateEnvelope()).join();
+        journal.append(nextDelta("alice")).join();
+        Path log = matchDir().resolve(MatchJournal.LOG_FILE);
+        long intact = Files.size(log);
+        journal.append(nextDelta("bob")).join();
+        flipLastByte(log);
+
+        List<RecoveredMatch> recovered = newStore().recover();
+
+        assertEquals(1, recovered.size());
+        assertEquals(1, recovered.get(0).getReplayedRecords());
+        assertRecovered(recovered.get(0).getState(), 1);
+        assertEquals(intact, Files.size(log));
+    }
+
+    @Test
+    void dropsMatchWithoutSnapshot() throws IOException {
+        MatchJournal journal = newStore().open(MATCH_ID);
+        journal.append(nextDelta("alice")).join();
+
+        MatchStore store = newStore();
+        assertTrue(store.recover().isEmpty());
+        store.stop();
+        assertFalse(Files.exists(matchDir()));
+    }
+
+    private MatchStore newStore() {
+        MatchStore store = new MatchStore(new PersistencePolicy(dataDir, 200, 120), new ServerMetrics());
+        stores.add(store);
+        return store;
+    }
+
+    private Path matchDir() {
+        return dataDir.resolve("match-" + MATCH_ID);
+    }
+
+    private MessageEnvelope stateEnvelope() {
+        return new MessageEnvelope("state", new GameStateMessage(PLAYERS, 0, states.get(0), 0));
+    }
+
+    private MessageEnvelope nextDelta(String player) {
+        FullGameState base = states.get(states.size() - 1);
+        assertNull(engine.endTurn(player));
+        FullGameState next = engine.snapshot();
+        states.add(next);
+        StateDelta delta = StateDeltas.diff(base, next);
+        delta.setBaseVersion(states.size() - 2);
+        delta.setVersion(states.size() - 1);
+        return new MessageEnvelope("stateDelta", new GameStateDeltaMessage(PLAYERS, engine.getCurrentTurn(), delta));
+    }
+
+    private void assertRecovered(GameStateMessage state, int version) {
+        assertEquals(version, state.getStateVersion());
+        assertEquals(version, state.getCurrentTurn());
+        assertEquals(PLAYERS, state.getPlayers());
+        assertEquals(states.get(version), state.getStateSnapshot());
+    }
+
+    private static void flipLastByte(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x5A;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.kpfu.itis.room;
+
+import org.junit.jupiter.api.Test;
+import ru.kpfu.itis.PlayerHandler;
+import ru.kpfu.itis.ServerService;
+import ru.kpfu.itis.enums.WireFormat;
+import ru.kpfu.itis.message.ConnectPlayerMessage;
+import ru.kpfu.itis.network.EncodedFrame;
+import ru.kpfu.itis.network.connection.PlayerConnection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RoomManagerTest {
+
+    private final ServerService server = new ServerService();
+
+    @Test
+    void fourPlayersStartOneRoom() throws Exception {
+        PlayerHandler first = connect("a");
+        Room room = first.getRoom();
+        for (String nick : new String[]{"b", "c", "d"}) {
+            assertSame(room, connect(nick).getRoom());
+        }
+        assertNull(onShard(room, () -> room.endTurn(first)));
+        assertNotSame(room, connect("e").getRoom());
+    }
+
+    @Test
+    void seatFreedBeforeLastJoinIsOfferedAgain() throws Exception {
+        PlayerHandler first = connect("a");
+        PlayerHandler second = connect("b");
+        connect("c");
+        Room room = first.getRoom();
+        CountDownLatch release = new CountDownLatch(1);
+        room.execute(() -> await(release));
+        room.execute(() -> room.leave(second));
+        assertSame(room, connect("d").getRoom());
+        release.countDown();
+        assertEquals("game not started", onShard(room, () -> room.endTurn(first)));
+
+        assertSame(room, connect("e").getRoom());
+        assertNull(onShard(room, () -> room.endTurn(first)));
+    }
+
+    @Test
+    void lastPlayerLeavingClosesRoom() throws Exception {
+        PlayerHandler first = connect("a");
+        Room room = first.getRoom();
+        room.execute(() -> room.leave(first));
+        onShard(room, () -> null);
+        assertNotSame(room, connect("b").getRoom());
+    }
+
+    private PlayerHandler connect(String nick) {
+        PlayerHandler handler = server.createHandler(new SilentConnection());
+        byte[] frame = ("{\"type\":\"connect\",\"data\":{\"nickName\":\"" + nick + "\",\"protocolVersion\":"
+                + ConnectPlayerMessage.PROTOCOL_VERSION + "}}").getBytes(StandardCharsets.UTF_8);
+        handler.handleFrame(WireFormat.JSON, frame, frame.length);
+        return handler;
+    }
+
+    private static <T> T onShard(Room room, Supplier<T> task) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        room.execute(() -> result.complete(task.get()));
+        return result.get(5, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class SilentConnection implements PlayerConnection {
+
+        @Override
+        public boolean send(EncodedFrame frame) {
+            return true;
+        }
+
+        @Override
+        public boolean evictIfLagging() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String getRemoteAddress() {
+            return "test";
+        }
+    }
+}